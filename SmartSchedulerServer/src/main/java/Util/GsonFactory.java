@@ -2,6 +2,7 @@ package Util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.ToNumberPolicy;
 import java.time.Instant;
 
 /**
@@ -11,6 +12,8 @@ public class GsonFactory {
     // TypeAdapter must be in your codebase (as you כבר יצרת).
     private static final Gson gson = new GsonBuilder()
             .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+            // Whole numbers in untyped maps (request bodies) stay exact longs, e.g. 63-bit entity versions
+            .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
             .create();
 
     /** Get the singleton Gson instance. */
@@ -16,9 +16,9 @@ public class Main {
     public static void main(String[] args) throws Exception {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.print("Choose backend [file/sqlite]: ");
+        System.out.print("Choose backend [file/sqlite/memory]: ");
         String backend = scanner.nextLine().trim().toLowerCase();
-        if (!backend.equals("file") && !backend.equals("sqlite")) {
+        if (!backend.equals("file") && !backend.equals("sqlite") && !backend.equals("memory")) {
             System.out.println("Invalid backend. Exiting.");
             return;
         }
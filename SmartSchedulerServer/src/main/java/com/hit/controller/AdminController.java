@@ -0,0 +1,77 @@
+package com.hit.controller;
+
+import com.hit.dao.DaoMetrics;
+import com.hit.dao.SQLiteBackupManager;
+import com.hit.server.Request;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Handles server administration actions (not tied to a workspace).
+ */
+public class AdminController {
+    private static final Pattern BACKUP_NAME = Pattern.compile("[A-Za-z0-9_.-]{1,100}\\.db");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final SQLiteBackupManager backups;
+    private final Path backupDirectory;
+    private final DaoMetrics metrics;
+
+    /**
+     * @param backups         Backup manager of the database to back up.
+     * @param backupDirectory Directory backup files are written to.
+     */
+    public AdminController(SQLiteBackupManager backups, String backupDirectory) {
+        this(backups, backupDirectory, DaoMetrics.global());
+    }
+
+    /**
+     * @param backups         Backup manager of the database to back up.
+     * @param backupDirectory Directory backup files are written to.
+     * @param metrics         DAO metrics reported by admin/daoMetrics.
+     */
+    public AdminController(SQLiteBackupManager backups, String backupDirectory, DaoMetrics metrics) {
+        this.backups = backups;
+        this.backupDirectory = Path.of(backupDirectory);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Start an online backup in the background. Optional body field "name" (file name ending in .db);
+     * defaults to a timestamped name. Poll admin/backupStatus for progress.
+     */
+    public ApiResponse<SQLiteBackupManager.Status> startBackup(Request req) {
+        try {
+            Object nameObj = (req.getBody() != null) ? req.getBody().get("name") : null;
+            String name = (nameObj != null) ? nameObj.toString()
+                    : "DataSource-" + LocalDateTime.now().format(TIMESTAMP) + ".db";
+            if (!BACKUP_NAME.matcher(name).matches())
+                return ApiResponse.error("Invalid backup name (letters, digits, '.', '-', '_', ending in .db).");
+            backups.start(backupDirectory.resolve(name));
+            return ApiResponse.success(backups.getStatus(), "Backup started.");
+        } catch (IllegalStateException e) {
+            return ApiResponse.error(e.getMessage(), 409);
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to start backup: " + e.getMessage());
+        }
+    }
+
+    public ApiResponse<SQLiteBackupManager.Status> getBackupStatus(Request req) {
+        return ApiResponse.success(backups.getStatus(), "Backup status.");
+    }
+
+    /**
+     * Snapshot of the DAO metrics: latency per entity and method, rows read/written,
+     * connection acquisition time and transaction counts. Optional body field "reset" (true)
+     * starts counting from zero after taking the snapshot.
+     */
+    public ApiResponse<DaoMetrics.Snapshot> getDaoMetrics(Request req) {
+        DaoMetrics.Snapshot snapshot = metrics.snapshot();
+        Object reset = (req.getBody() != null) ? req.getBody().get("reset") : null;
+        if (Boolean.TRUE.equals(reset) || "true".equals(reset)) metrics.reset();
+        return ApiResponse.success(snapshot, "DAO metrics.");
+    }
+}
@@ -1,10 +1,25 @@
 package com.hit.controller;
 
+import Util.GsonFactory;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
 import com.hit.server.Request;
+import com.hit.service.AssignmentJobManager;
+import com.hit.service.AssignmentPreview;
 import com.hit.service.TaskAssignmentService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Handles API logic for Assignment-related actions.
@@ -12,10 +27,27 @@ import java.util.List;
  */
 public class AssignmentController {
     private final TaskAssignmentService service;
+    private final AssignmentJobManager jobs;
     private static final int MAX_ID_LENGTH = 40;
+    private static final int IO_TIMEOUT_SECONDS = 10;
+    private static final Gson gson = GsonFactory.get();
+
+    /** Looks up the stored entity an override applies to. */
+    @FunctionalInterface
+    private interface Lookup<T> {
+        T find(String id) throws Exception;
+    }
 
     public AssignmentController(TaskAssignmentService service) {
+        this(service, service.getAssignmentJobs());
+    }
+
+    /**
+     * @param jobs Background assignment jobs (assignment/submit, jobStatus, jobResult).
+     */
+    public AssignmentController(TaskAssignmentService service, AssignmentJobManager jobs) {
         this.service = service;
+        this.jobs = jobs;
     }
 
     /**
@@ -34,6 +66,53 @@ public class AssignmentController {
         }
     }
 
+    /**
+     * Start recalculating all assignments in the background and return the job right away.
+     * Optional "strategy" in the request body. Poll assignment/jobStatus with the returned id.
+     * @return ApiResponse with the job status (503 if too many jobs are queued)
+     */
+    public ApiResponse<AssignmentJobManager.JobStatus> submitAssignmentJob(Request req) {
+        try {
+            return ApiResponse.success(jobs.submit(getStrategyFromBody(req)), "Assignment job submitted.");
+        } catch (RejectedExecutionException e) {
+            return ApiResponse.error("Too many assignment jobs queued, please retry.", 503);
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to submit assignment job: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Phase and percent complete of an assignment job.
+     * Requires "jobId" in the request body.
+     */
+    public ApiResponse<AssignmentJobManager.JobStatus> getJobStatus(Request req) {
+        String jobId = getJobIdFromBody(req);
+        if (jobId == null || jobId.isBlank())
+            return ApiResponse.error("Missing jobId.");
+        AssignmentJobManager.JobStatus status = jobs.getStatus(jobId);
+        return status != null
+                ? ApiResponse.success(status, "Job " + status.phase() + ".")
+                : ApiResponse.error("Job not found or expired.");
+    }
+
+    /**
+     * Assignments stored by a completed job.
+     * Requires "jobId" in the request body; a job that is still running answers 409.
+     */
+    public ApiResponse<List<Assignment>> getJobResult(Request req) {
+        String jobId = getJobIdFromBody(req);
+        if (jobId == null || jobId.isBlank())
+            return ApiResponse.error("Missing jobId.");
+        AssignmentJobManager.JobStatus status = jobs.getStatus(jobId);
+        if (status == null)
+            return ApiResponse.error("Job not found or expired.");
+        return switch (status.phase()) {
+            case COMPLETED -> ApiResponse.success(jobs.getResult(jobId), "Job result.");
+            case FAILED -> ApiResponse.error("Assignment job failed: " + status.error());
+            default -> ApiResponse.error("Job is still running (" + status.phase() + ", " + status.percent() + "%).", 409);
+        };
+    }
+
     /**
      * Assign tasks to a single team member using a specified strategy.
      * Requires "memberId" and "strategy" in the request body.
@@ -94,7 +173,8 @@ public class AssignmentController {
 
     /**
      * Get all assignments for a specific team member.
-     * Validates memberId before filtering.
+     * Validates memberId before filtering. Served from the service's in-memory state, without
+     * touching the DAO or blocking the request thread.
      */
     public ApiResponse<List<Assignment>> getAssignmentsForTeamMember(Request req) {
         try {
@@ -102,19 +182,87 @@ public class AssignmentController {
             if (!isValidId(memberId))
                 return ApiResponse.error("Missing or invalid memberId.");
 
+            List<Assignment> filtered = service.getAssignmentsForTeamMember(memberId);
             // Defensive: check member exists (avoid confusion)
-            if (service.getTeamMemberById(memberId) == null)
+            if (filtered == null)
                 return ApiResponse.error("Member not found.");
-
-            List<Assignment> filtered = service.getAllAssignments().stream()
-                    .filter(a -> memberId.equals(a.getMemberId()))
-                    .toList();
             return ApiResponse.success(filtered, "Assignments for member.");
         } catch (Exception e) {
             return ApiResponse.error("Failed to get assignments for member: " + e.getMessage());
         }
     }
 
+    /**
+     * Get all assignments for a specific task (who works on it, and for how long).
+     * Served like {@link #getAssignmentsForTeamMember(Request)}.
+     */
+    public ApiResponse<List<Assignment>> getAssignmentsForTask(Request req) {
+        try {
+            String taskId = getTaskIdFromBody(req);
+            if (!isValidId(taskId))
+                return ApiResponse.error("Missing or invalid taskId.");
+
+            List<Assignment> assignments = service.getAssignmentsForTask(taskId);
+            if (assignments == null)
+                return ApiResponse.error("Task not found.");
+            return ApiResponse.success(assignments, "Assignments for task.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to get assignments for task: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Preview the plan a strategy would produce, without storing anything ("what if Alice only had 4h/day?").
+     * Optional "strategy", and optional "tasks" / "members" lists of overrides: an item with the id of an
+     * existing entity changes only the fields it lists (e.g. {"id": "M1", "maxHoursPerDay": 4}); other items
+     * are hypothetical new entities and need all fields.
+     * @return ApiResponse with the previewed plan and its summary
+     */
+    public ApiResponse<AssignmentPreview> previewAssignments(Request req) {
+        try {
+            List<Task> tasks = parseOverrides(req, "tasks", Task.class, service::getTaskById);
+            for (int i = 0; i < tasks.size(); i++) {
+                String error = TaskController.validateTaskFields(tasks.get(i));
+                if (error != null) return ApiResponse.error("tasks[" + i + "]: " + error);
+            }
+            List<TeamMember> members = parseOverrides(req, "members", TeamMember.class, service::getTeamMemberById);
+            for (int i = 0; i < members.size(); i++) {
+                String error = TeamMemberController.validateMemberFields(members.get(i));
+                if (error != null) return ApiResponse.error("members[" + i + "]: " + error);
+            }
+            AssignmentPreview preview = service.previewAssignments(getStrategyFromBody(req), tasks, members);
+            return ApiResponse.success(preview, "Preview only, nothing was saved.");
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to preview assignments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Wait until the background recalculation includes the caller's changes.
+     * Optional "planVersion" in the body waits for that version; without it, for every change made so far.
+     * @return ApiResponse with the computed plan version (503 if it is not ready within the timeout)
+     */
+    public ApiResponse<Long> awaitPlan(Request req) {
+        try {
+            Object obj = req.getBody().get("planVersion");
+            long version = (obj instanceof Number n) ? n.longValue()
+                    : (obj != null) ? Long.parseLong(obj.toString()) : -1;
+            long plan = (version < 0 ? service.awaitLatestPlan() : service.awaitPlan(version))
+                    .get(IO_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return ApiResponse.success(plan, "Assignments are up to date.");
+        } catch (ExecutionException e) {
+            return ApiResponse.error("Recalculating assignments failed: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            return ApiResponse.error("Assignments are still being recalculated, please retry.", 503);
+        } catch (NumberFormatException e) {
+            return ApiResponse.error("Invalid planVersion.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to wait for assignments: " + e.getMessage());
+        }
+    }
+
     // --- Helpers ---
 
     /** Checks if a string id is valid (non-null, non-blank, and not too long). */
@@ -122,6 +270,33 @@ public class AssignmentController {
         return id != null && !id.isBlank() && id.length() <= MAX_ID_LENGTH;
     }
 
+    /**
+     * Overrides in body field {@code field} (missing = none), each laid over the stored entity with its id.
+     * @throws IllegalArgumentException If the field or an item is malformed, or the list is too long.
+     */
+    private static <T> List<T> parseOverrides(Request req, String field, Class<T> type, Lookup<T> stored) throws Exception {
+        if (req.getBody() == null || req.getBody().get(field) == null) return List.of();
+        List<?> items = TaskController.getBatchItems(req, field);
+        if (items == null)
+            throw new IllegalArgumentException("'" + field + "' must be a list of at most " + TaskController.MAX_BATCH_SIZE + " items.");
+        List<T> result = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (!(items.get(i) instanceof Map<?, ?> item))
+                throw new IllegalArgumentException(field + "[" + i + "]: expected an object.");
+            try {
+                Object id = item.get("id");
+                T base = (id == null) ? null : stored.find(id.toString());
+                JsonObject merged = (base == null) ? new JsonObject() : gson.toJsonTree(base).getAsJsonObject();
+                for (Map.Entry<String, JsonElement> e : gson.toJsonTree(item).getAsJsonObject().entrySet())
+                    merged.add(e.getKey(), e.getValue());
+                result.add(gson.fromJson(merged, type));
+            } catch (JsonParseException | IllegalStateException e) {
+                throw new IllegalArgumentException(field + "[" + i + "]: malformed: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
     private String validateAssignmentIds(String taskId, String memberId) {
         if (!isValidId(taskId))
             return "Missing or invalid taskId.";
@@ -140,6 +315,11 @@ public class AssignmentController {
         return obj != null ? obj.toString() : null;
     }
 
+    protected String getJobIdFromBody(Request req) {
+        Object obj = req.getBody().get("jobId");
+        return obj != null ? obj.toString() : null;
+    }
+
     protected String getStrategyFromBody(Request req) {
         Object obj = req.getBody().get("strategy");
         return obj != null ? obj.toString() : null;
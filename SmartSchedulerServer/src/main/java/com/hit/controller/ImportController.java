@@ -0,0 +1,336 @@
+package com.hit.controller;
+
+import Util.GsonFactory;
+import com.google.gson.Gson;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.server.Request;
+import com.hit.service.TaskAssignmentService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of tasks and team members from newline-delimited JSON or CSV.
+ * <p>
+ * Rows come either from the connection itself (the lines after the request line, up to a line
+ * containing only "." or the end of the stream) or from a file in the import directory
+ * (body field "file"). Lines are read as a stream in chunks; chunks are parsed and validated
+ * in parallel (with the same rules as task/create and member/create) while earlier chunks are
+ * written, each chunk in one transaction with a block of ids. Invalid rows are skipped and
+ * reported with their line number; assignments are not recalculated (call assignment/assignAll).
+ * <p>
+ * CSV needs a header row. Tasks: name, durationHours, priority, requiredSkills.
+ * Members: name, skills, maxHoursPerDay, efficiency. Skills are separated by ';'.
+ * Fields may be quoted ("..." with "" for a quote); other columns (such as id) are ignored.
+ */
+public class ImportController {
+    public static final String DEFAULT_IMPORT_DIRECTORY = "src/main/resources/imports";
+
+    static final int CHUNK_SIZE = 10_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private static final String END_OF_STREAM = ".";
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_.-]{1,100}\\.(ndjson|jsonl|csv)");
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService validators = Executors.newFixedThreadPool(PARALLELISM, r -> {
+        Thread t = new Thread(r, "import-validate");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Gson gson = GsonFactory.get();
+
+    private final TaskAssignmentService service;
+    private final Path importDirectory;
+
+    public enum Format { NDJSON, CSV }
+
+    /** A rejected row. @param line Line number in the input (1-based, header included). */
+    public record RowError(long line, String message) {}
+
+    /**
+     * Outcome of an import.
+     * @param errors          Rejected rows, at most {@link #MAX_REPORTED_ERRORS} of them.
+     * @param errorsTruncated True if more rows failed than are listed.
+     */
+    public record ImportReport(int imported, int failed, List<RowError> errors, boolean errorsTruncated,
+                               long millis) {}
+
+    public ImportController(TaskAssignmentService service) {
+        this(service, DEFAULT_IMPORT_DIRECTORY);
+    }
+
+    /**
+     * @param service         Service the rows are imported into.
+     * @param importDirectory Directory that body field "file" is resolved in.
+     */
+    public ImportController(TaskAssignmentService service, String importDirectory) {
+        this.service = service;
+        this.importDirectory = Path.of(importDirectory);
+    }
+
+    /**
+     * Import tasks. Body: "format" ("ndjson" or "csv", default from the file extension, else ndjson)
+     * and optionally "file"; without "file" the rows follow the request on the connection.
+     */
+    public ApiResponse<ImportReport> importTasks(Request req) {
+        return runImport(req, "tasks", new RowType<>(
+                line -> Task.fromRaw(gson.fromJson(line, Task.class)),
+                row -> new Task(null, row.get("name"), row.getInt("durationHours"), row.getInt("priority"),
+                        row.getList("requiredSkills")),
+                List.of("name", "durationHours", "priority", "requiredSkills"),
+                TaskController::validateTaskFields,
+                service::importTasks));
+    }
+
+    /** Import team members; same body fields as {@link #importTasks(Request)}. */
+    public ApiResponse<ImportReport> importTeamMembers(Request req) {
+        return runImport(req, "members", new RowType<>(
+                line -> TeamMember.fromRaw(gson.fromJson(line, TeamMember.class)),
+                row -> new TeamMember(null, row.get("name"), row.getList("skills"), row.getInt("maxHoursPerDay"),
+                        row.getDouble("efficiency")),
+                List.of("name", "skills", "maxHoursPerDay", "efficiency"),
+                TeamMemberController::validateMemberFields,
+                service::importTeamMembers));
+    }
+
+    // --- Pipeline ---
+
+    /** Writes one validated chunk (one transaction). */
+    @FunctionalInterface
+    interface BatchWriter<T> {
+        List<T> write(List<T> batch) throws Exception;
+    }
+
+    /** How to parse, validate and store one entity type. */
+    record RowType<T>(Function<String, T> fromJson, Function<CsvRow, T> fromCsv, List<String> csvColumns,
+                      Function<T, String> validator, BatchWriter<T> writer) {}
+
+    /** Input lines with their line numbers. */
+    private record Chunk(long firstLine, List<String> lines) {}
+
+    /** Valid entities (with their line numbers) and rejected rows of one chunk. */
+    private record Validated<T>(List<T> valid, List<Long> validLines, List<RowError> errors) {}
+
+    private <T> ApiResponse<ImportReport> runImport(Request req, String what, RowType<T> type) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> body = (req.getBody() != null) ? req.getBody() : Map.of();
+        Object fileObj = body.get("file");
+        Object formatObj = body.get("format");
+        try {
+            BufferedReader in;
+            boolean fromConnection = (fileObj == null);
+            String fileName = fromConnection ? null : fileObj.toString();
+            if (fromConnection) {
+                in = req.getStream();
+                if (in == null) return ApiResponse.error("No rows: send them after the request, or give a \"file\".");
+            } else {
+                if (!FILE_NAME.matcher(fileName).matches())
+                    return ApiResponse.error("Invalid import file name (letters, digits, '.', '-', '_', ending in .ndjson, .jsonl or .csv).");
+                Path file = importDirectory.resolve(fileName);
+                if (!Files.isRegularFile(file)) return ApiResponse.error("Import file not found: " + fileName);
+                in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            }
+            Format format;
+            try {
+                format = (formatObj != null) ? Format.valueOf(formatObj.toString().toUpperCase(Locale.ROOT))
+                        : (fileName != null && fileName.endsWith(".csv")) ? Format.CSV : Format.NDJSON;
+            } catch (IllegalArgumentException e) {
+                return ApiResponse.error("Unknown format: " + formatObj + " (use ndjson or csv).");
+            }
+            try {
+                ImportReport report = importRows(in, fromConnection, format, type, start);
+                return ApiResponse.success(report, "Imported " + report.imported() + " " + what + ", "
+                        + report.failed() + " rejected.");
+            } finally {
+                if (!fromConnection) in.close();
+            }
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to import " + what + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read chunks, validate them on the validator pool (a bounded number ahead of the writer,
+     * so memory stays flat for any input size) and write them in input order.
+     */
+    <T> ImportReport importRows(BufferedReader in, boolean fromConnection, Format format, RowType<T> type,
+                                long start) throws Exception {
+        long lineNo = 0;
+        Map<String, Integer> csvHeader = null;
+        if (format == Format.CSV) {
+            String header = nextLine(in, fromConnection);
+            if (header == null) return new ImportReport(0, 0, List.of(), false, System.currentTimeMillis() - start);
+            lineNo++;
+            csvHeader = parseHeader(header, type.csvColumns());
+        }
+        Map<String, Integer> columns = csvHeader;
+
+        Deque<Future<Validated<T>>> pending = new ArrayDeque<>();
+        Totals totals = new Totals();
+        boolean more = true;
+        while (more) {
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long first = lineNo + 1;
+            String line;
+            while (lines.size() < CHUNK_SIZE && (line = nextLine(in, fromConnection)) != null) lines.add(line);
+            more = lines.size() == CHUNK_SIZE;
+            lineNo += lines.size();
+            if (!lines.isEmpty()) {
+                Chunk chunk = new Chunk(first, lines);
+                pending.add(validators.submit(() -> validate(chunk, format, columns, type)));
+            }
+            // Keep at most PARALLELISM chunks validating ahead of the writer
+            while (pending.size() > PARALLELISM || (!more && !pending.isEmpty())) {
+                write(pending.poll().get(), type, totals);
+            }
+        }
+        return new ImportReport(totals.imported, totals.failed, totals.errors, totals.failed > totals.errors.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private static final class Totals {
+        int imported;
+        int failed;
+        final List<RowError> errors = new ArrayList<>();
+
+        void reject(RowError error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(error);
+        }
+    }
+
+    private static String nextLine(BufferedReader in, boolean fromConnection) throws IOException {
+        String line = in.readLine();
+        if (fromConnection && END_OF_STREAM.equals(line)) return null;
+        return line;
+    }
+
+    private <T> Validated<T> validate(Chunk chunk, Format format, Map<String, Integer> columns, RowType<T> type) {
+        List<T> valid = new ArrayList<>(chunk.lines().size());
+        List<Long> validLines = new ArrayList<>(chunk.lines().size());
+        List<RowError> errors = new ArrayList<>();
+        long lineNo = chunk.firstLine();
+        for (String line : chunk.lines()) {
+            long current = lineNo++;
+            if (line.isBlank()) continue;
+            try {
+                T entity = (format == Format.CSV)
+                        ? type.fromCsv().apply(new CsvRow(parseCsvLine(line), columns))
+                        : type.fromJson().apply(line);
+                String error = (entity == null) ? "Empty row." : type.validator().apply(entity);
+                if (error != null) {
+                    errors.add(new RowError(current, error));
+                } else {
+                    valid.add(entity);
+                    validLines.add(current);
+                }
+            } catch (Exception e) {
+                errors.add(new RowError(current, "Unreadable row: " + e.getMessage()));
+            }
+        }
+        return new Validated<>(valid, validLines, errors);
+    }
+
+    private <T> void write(Validated<T> chunk, RowType<T> type, Totals totals) {
+        for (RowError error : chunk.errors()) totals.reject(error);
+        if (chunk.valid().isEmpty()) return;
+        try {
+            type.writer().write(chunk.valid());
+            totals.imported += chunk.valid().size();
+        } catch (Exception e) {
+            // The chunk's transaction rolled back, so none of its rows were stored
+            for (long line : chunk.validLines()) totals.reject(new RowError(line, "Write failed: " + e.getMessage()));
+        }
+    }
+
+    // --- CSV ---
+
+    private static Map<String, Integer> parseHeader(String header, List<String> required) {
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) columns.put(names.get(i).trim(), i);
+        for (String column : required) {
+            if (!columns.containsKey(column))
+                throw new IllegalArgumentException("CSV header is missing column \"" + column + "\" (expected "
+                        + String.join(",", required) + ")");
+        }
+        return columns;
+    }
+
+    /** Split one CSV line; supports quoted fields with "" as an escaped quote. */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quoted field");
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /** One parsed CSV row, accessed by header name. */
+    record CsvRow(List<String> fields, Map<String, Integer> columns) {
+        String get(String column) {
+            int i = columns.get(column);
+            return (i < fields.size()) ? fields.get(i).trim() : "";
+        }
+
+        int getInt(String column) {
+            try {
+                return Integer.parseInt(get(column));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " is not a whole number");
+            }
+        }
+
+        double getDouble(String column) {
+            try {
+                return Double.parseDouble(get(column));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " is not a number");
+            }
+        }
+
+        List<String> getList(String column) {
+            String value = get(column);
+            if (value.isEmpty()) return new ArrayList<>();
+            return new ArrayList<>(Arrays.stream(value.split(";")).map(String::trim).toList());
+        }
+    }
+}
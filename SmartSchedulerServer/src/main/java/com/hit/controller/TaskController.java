@@ -2,13 +2,22 @@ package com.hit.controller;
 
 import Util.GsonFactory;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.hit.model.Task;
 import com.hit.server.Request;
+import com.hit.service.BatchResult;
 import com.hit.service.TaskAssignmentService;
+import com.hit.service.VersionConflictException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Handles API logic for Task-related actions.
@@ -24,6 +33,11 @@ public class TaskController {
     private static final int MAX_TASK_DURATION = 1000;
     private static final int MAX_PRIORITY = 4;
 
+    /** Longest wait for the recalculated plan when an update asks for "waitForPlan". */
+    private static final int PLAN_TIMEOUT_SECONDS = 10;
+    /** Most items accepted by one batch request. */
+    static final int MAX_BATCH_SIZE = 1000;
+
     public TaskController(TaskAssignmentService service) {
         this.service = service;
     }
@@ -59,7 +73,9 @@ public class TaskController {
     /**
      * Update an existing Task and re-assign all tasks using a user-supplied strategy.
      * Will only update if the task already exists (by id).
-     * @param req Request containing Task data, id, and "strategy"
+     * Assignments are recalculated in the background; with "waitForPlan": true the response waits for them.
+     * @param req Request containing Task data, id, "strategy" and optionally "version" (conflict = 409)
+     *            and "waitForPlan"
      * @return ApiResponse with success flag or error
      */
     public ApiResponse<Boolean> updateTask(Request req) {
@@ -86,15 +102,36 @@ public class TaskController {
 
             String strategy = getStrategyFromBody(req);
 
-            boolean updated = service.updateTask(id, task, strategy);
-            return updated
-                    ? ApiResponse.success(true, "Task updated and assignments recalculated.")
-                    : ApiResponse.error("Task not found.");
+            boolean updated = service.updateTask(id, task, strategy, getVersionFromBody(req));
+            if (!updated)
+                return ApiResponse.error("Task not found.");
+            return ApiResponse.success(true, "Task updated" + awaitPlan(req));
+        } catch (VersionConflictException e) {
+            return ApiResponse.error(e.getMessage() + ". Reload the task and retry.", 409);
         } catch (Exception e) {
             return ApiResponse.error("Failed to update task: " + e.getMessage());
         }
     }
 
+    /**
+     * Current version of a task, to send back as "version" with task/update.
+     * @param req Request containing the task id
+     * @return ApiResponse with the version or error
+     */
+    public ApiResponse<Long> getTaskVersion(Request req) {
+        try {
+            String id = getIdFromBody(req);
+            if (id == null || id.isBlank())
+                return ApiResponse.error("Missing task id.");
+            Long version = service.getTaskVersion(id);
+            return version != null
+                    ? ApiResponse.success(version, "Task version.")
+                    : ApiResponse.error("Task not found.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to get task version: " + e.getMessage());
+        }
+    }
+
     public ApiResponse<Boolean> deleteTask(Request req) {
         try {
             String id = getIdFromBody(req);
@@ -109,6 +146,99 @@ public class TaskController {
         }
     }
 
+    /**
+     * Create several tasks at once (ids are always generated). Every item is validated like task/create;
+     * invalid items are reported and skipped, the valid ones are written in one transaction.
+     * @param req Request with "tasks": a list of task objects
+     * @return ApiResponse with per-item results (CREATED with the new id, or INVALID)
+     */
+    public ApiResponse<BatchResult> createTasks(Request req) {
+        try {
+            List<?> raw = getBatchItems(req, "tasks");
+            if (raw == null)
+                return ApiResponse.error("Missing \"tasks\" list (at most " + MAX_BATCH_SIZE + " items).");
+            List<BatchResult.Item> items = new ArrayList<>();
+            List<Task> valid = new ArrayList<>();
+            List<Integer> validIndexes = new ArrayList<>();
+            for (int i = 0; i < raw.size(); i++) {
+                try {
+                    Task task = parseTask(raw.get(i));
+                    String validationError = validateTaskFields(task);
+                    if (validationError != null)
+                        throw new IllegalArgumentException(validationError);
+                    valid.add(task);
+                    validIndexes.add(i);
+                } catch (IllegalArgumentException e) {
+                    items.add(new BatchResult.Item(i, null, BatchResult.Status.INVALID, e.getMessage()));
+                }
+            }
+            List<Task> created = service.importTasks(valid);
+            for (int j = 0; j < created.size(); j++)
+                items.add(new BatchResult.Item(validIndexes.get(j), created.get(j).getId(), BatchResult.Status.CREATED, null));
+            items.sort(Comparator.comparingInt(BatchResult.Item::index));
+            BatchResult result = BatchResult.of(items, 0);
+            return ApiResponse.success(result, "Created " + result.succeeded() + " of " + raw.size() + " tasks.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to create tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Update several tasks at once and recalculate assignments once for the whole batch.
+     * Items need an "id" and may carry a "version" (a changed task is reported as CONFLICT, not failed).
+     * @param req Request with "tasks": a list of task objects, "strategy" and optionally "waitForPlan"
+     * @return ApiResponse with per-item results (UPDATED, NOT_FOUND, CONFLICT or INVALID)
+     */
+    public ApiResponse<BatchResult> updateTasks(Request req) {
+        try {
+            List<?> raw = getBatchItems(req, "tasks");
+            if (raw == null)
+                return ApiResponse.error("Missing \"tasks\" list (at most " + MAX_BATCH_SIZE + " items).");
+            List<BatchResult.Item> items = new ArrayList<>();
+            List<BatchResult.Update<Task>> updates = new ArrayList<>();
+            for (int i = 0; i < raw.size(); i++) {
+                String id = null;
+                try {
+                    Task task = parseTask(raw.get(i));
+                    id = (task != null) ? task.getId() : null;
+                    String validationError = (id == null || id.isBlank()) ? "Missing task id." : validateTaskFields(task);
+                    if (validationError != null)
+                        throw new IllegalArgumentException(validationError);
+                    updates.add(new BatchResult.Update<>(i, id, task, getVersion(raw.get(i))));
+                } catch (IllegalArgumentException e) {
+                    items.add(new BatchResult.Item(i, id, BatchResult.Status.INVALID, e.getMessage()));
+                }
+            }
+            BatchResult updated = service.updateTasks(updates, getStrategyFromBody(req));
+            items.addAll(updated.items());
+            items.sort(Comparator.comparingInt(BatchResult.Item::index));
+            BatchResult result = BatchResult.of(items, updated.planVersion());
+            return ApiResponse.success(result, "Updated " + result.succeeded() + " of " + raw.size() + " tasks"
+                    + (result.succeeded() > 0 ? awaitPlan(req) : "."));
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to update tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete several tasks (and their assignments) in one transaction.
+     * @param req Request with "ids": a list of task ids
+     * @return ApiResponse with per-item results (DELETED or NOT_FOUND)
+     */
+    public ApiResponse<BatchResult> deleteTasks(Request req) {
+        try {
+            List<?> raw = getBatchItems(req, "ids");
+            if (raw == null)
+                return ApiResponse.error("Missing \"ids\" list (at most " + MAX_BATCH_SIZE + " items).");
+            List<String> ids = new ArrayList<>(raw.size());
+            for (Object id : raw) ids.add(id != null ? id.toString() : null);
+            BatchResult result = service.deleteTasks(ids);
+            return ApiResponse.success(result, "Deleted " + result.succeeded() + " of " + raw.size() + " tasks.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to delete tasks: " + e.getMessage());
+        }
+    }
+
     public ApiResponse<List<Task>> getAllTasks(Request req) {
         try {
             return ApiResponse.success(service.getAllTasks(), "All tasks.");
@@ -146,7 +276,7 @@ public class TaskController {
 
     // --- Helpers ---
 
-    private String validateTaskFields(Task task) {
+    static String validateTaskFields(Task task) {
         if (task == null)
             return "Task data is missing.";
 
@@ -184,6 +314,44 @@ public class TaskController {
         return gson.fromJson(gson.toJson(req.getBody()), Task.class);
     }
 
+    /**
+     * One item of a batch (null if it is not a JSON object).
+     * @throws IllegalArgumentException If a field has the wrong type.
+     */
+    private static Task parseTask(Object item) {
+        if (!(item instanceof Map<?, ?>)) return null;
+        try {
+            return Task.fromRaw(gson.fromJson(gson.toJson(item), Task.class));
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed task: " + e.getMessage());
+        }
+    }
+
+    /** @return The list in body field {@code field}, or null if it is missing, not a list or too long. */
+    static List<?> getBatchItems(Request req, String field) {
+        Object obj = (req.getBody() != null) ? req.getBody().get(field) : null;
+        if (!(obj instanceof List<?> list) || list.size() > MAX_BATCH_SIZE) return null;
+        return list;
+    }
+
+    /**
+     * Optional "version" of a request body or batch item. Whole numbers arrive as Long (see GsonFactory);
+     * a double is only accepted while it is exact, since versions can use all 63 bits.
+     * @throws NumberFormatException If it is not a whole number, or a double too large to be exact.
+     */
+    static Long getVersion(Object item) {
+        Object obj = (item instanceof Map<?, ?> map) ? map.get("version") : null;
+        if (obj == null) return null;
+        if (obj instanceof Long || obj instanceof Integer) return ((Number) obj).longValue();
+        if (obj instanceof Number n) {
+            double d = n.doubleValue();
+            if (d != Math.rint(d) || Math.abs(d) >= 0x1p53)
+                throw new NumberFormatException("Inexact version: " + obj + "; send it as a string or integer");
+            return (long) d;
+        }
+        return Long.valueOf(obj.toString());
+    }
+
     protected String getIdFromBody(Request req) {
         Object obj = req.getBody().get("id");
         return obj != null ? obj.toString() : null;
@@ -198,4 +366,29 @@ public class TaskController {
         Object obj = req.getBody().get("strategy");
         return obj != null ? obj.toString() : null;
     }
+
+    /** Optional "version" for optimistic updates (see {@link #getVersion(Object)}). */
+    protected Long getVersionFromBody(Request req) {
+        return getVersion(req.getBody());
+    }
+
+    /**
+     * Wait for the background recalculation if the request has "waitForPlan": true.
+     * The update itself has succeeded either way, so the outcome only goes into the message.
+     */
+    private String awaitPlan(Request req) {
+        if (!Boolean.TRUE.equals(req.getBody().get("waitForPlan")))
+            return "; assignments are being recalculated.";
+        try {
+            long plan = service.awaitLatestPlan().get(PLAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return " and assignments recalculated (plan " + plan + ").";
+        } catch (ExecutionException e) {
+            return ", but recalculating assignments failed: " + e.getCause().getMessage();
+        } catch (TimeoutException e) {
+            return "; assignments are still being recalculated.";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "; assignments are being recalculated.";
+        }
+    }
 }
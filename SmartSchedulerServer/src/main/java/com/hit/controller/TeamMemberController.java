@@ -2,13 +2,22 @@ package com.hit.controller;
 
 import Util.GsonFactory;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.hit.model.TeamMember;
 import com.hit.server.Request;
+import com.hit.service.BatchResult;
 import com.hit.service.TaskAssignmentService;
+import com.hit.service.VersionConflictException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Handles API logic for TeamMember-related actions.
@@ -25,6 +34,9 @@ public class TeamMemberController {
     private static final double MIN_EFFICIENCY = 1.0;
     private static final double MAX_EFFICIENCY = 6.0;
 
+    /** Longest wait for the recalculated plan when an update asks for "waitForPlan". */
+    private static final int PLAN_TIMEOUT_SECONDS = 10;
+
     public TeamMemberController(TaskAssignmentService service) {
         this.service = service;
     }
@@ -64,7 +76,9 @@ public class TeamMemberController {
     /**
      * Update an existing TeamMember and re-assign all tasks using a user-supplied strategy.
      * Requires "strategy" in request body.
-     * @param req Request containing TeamMember data, id, and "strategy"
+     * Assignments are recalculated in the background; with "waitForPlan": true the response waits for them.
+     * @param req Request containing TeamMember data, id, "strategy" and optionally "version" (conflict = 409)
+     *            and "waitForPlan"
      * @return ApiResponse with success flag or error
      */
     public ApiResponse<Boolean> updateTeamMember(Request req) {
@@ -91,15 +105,73 @@ public class TeamMemberController {
 
             String strategy = getStrategyFromBody(req);
 
-            boolean updated = service.updateTeamMember(id, m, strategy);
-            return updated
-                    ? ApiResponse.success(true, "Member updated and assignments recalculated.")
-                    : ApiResponse.error("Member not found."); // This should almost never happen here
+            boolean updated = service.updateTeamMember(id, m, strategy, getVersionFromBody(req));
+            if (!updated)
+                return ApiResponse.error("Member not found."); // This should almost never happen here
+            return ApiResponse.success(true, "Member updated" + awaitPlan(req));
+        } catch (VersionConflictException e) {
+            return ApiResponse.error(e.getMessage() + ". Reload the member and retry.", 409);
         } catch (Exception e) {
             return ApiResponse.error("Failed to update member: " + e.getMessage());
         }
     }
 
+    /**
+     * Update several team members at once and recalculate assignments once for the whole batch.
+     * Items need an "id" and may carry a "version" (a changed member is reported as CONFLICT, not failed).
+     * @param req Request with "members": a list of member objects, "strategy" and optionally "waitForPlan"
+     * @return ApiResponse with per-item results (UPDATED, NOT_FOUND, CONFLICT or INVALID)
+     */
+    public ApiResponse<BatchResult> updateTeamMembers(Request req) {
+        try {
+            List<?> raw = TaskController.getBatchItems(req, "members");
+            if (raw == null)
+                return ApiResponse.error("Missing \"members\" list (at most " + TaskController.MAX_BATCH_SIZE + " items).");
+            List<BatchResult.Item> items = new ArrayList<>();
+            List<BatchResult.Update<TeamMember>> updates = new ArrayList<>();
+            for (int i = 0; i < raw.size(); i++) {
+                String id = null;
+                try {
+                    TeamMember member = parseMember(raw.get(i));
+                    id = (member != null) ? member.getId() : null;
+                    String validationError = (id == null || id.isBlank()) ? "Missing member id." : validateMemberFields(member);
+                    if (validationError != null)
+                        throw new IllegalArgumentException(validationError);
+                    updates.add(new BatchResult.Update<>(i, id, member, TaskController.getVersion(raw.get(i))));
+                } catch (IllegalArgumentException e) {
+                    items.add(new BatchResult.Item(i, id, BatchResult.Status.INVALID, e.getMessage()));
+                }
+            }
+            BatchResult updated = service.updateTeamMembers(updates, getStrategyFromBody(req));
+            items.addAll(updated.items());
+            items.sort(Comparator.comparingInt(BatchResult.Item::index));
+            BatchResult result = BatchResult.of(items, updated.planVersion());
+            return ApiResponse.success(result, "Updated " + result.succeeded() + " of " + raw.size() + " members"
+                    + (result.succeeded() > 0 ? awaitPlan(req) : "."));
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to update members: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Current version of a member, to send back as "version" with member/update.
+     * @param req Request containing the member id
+     * @return ApiResponse with the version or error
+     */
+    public ApiResponse<Long> getTeamMemberVersion(Request req) {
+        try {
+            String id = getIdFromBody(req);
+            if (id == null || id.isBlank())
+                return ApiResponse.error("Missing member id.");
+            Long version = service.getTeamMemberVersion(id);
+            return version != null
+                    ? ApiResponse.success(version, "Member version.")
+                    : ApiResponse.error("Member not found.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to get member version: " + e.getMessage());
+        }
+    }
+
     /**
      * Delete a TeamMember by id.
      * @param req Request containing TeamMember id
@@ -138,6 +210,17 @@ public class TeamMemberController {
         }
     }
 
+    public ApiResponse<List<TeamMember>> findTeamMembersBySkill(Request req) {
+        try {
+            Object skill = req.getBody().get("skill");
+            if (skill == null || skill.toString().isBlank())
+                return ApiResponse.error("Missing skill.");
+            return ApiResponse.success(service.findTeamMembersBySkill(skill.toString()), "Members with skill.");
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to search members: " + e.getMessage());
+        }
+    }
+
     public ApiResponse<Integer> countTeamMembers(Request req) {
         try {
             return ApiResponse.success(service.countTeamMembers(), "Member count.");
@@ -156,7 +239,7 @@ public class TeamMemberController {
 
     // --- Helpers ---
 
-    private String validateMemberFields(TeamMember m) {
+    static String validateMemberFields(TeamMember m) {
         if (m == null)
             return "Member data is missing.";
 
@@ -195,6 +278,19 @@ public class TeamMemberController {
         return gson.fromJson(gson.toJson(req.getBody()), TeamMember.class);
     }
 
+    /**
+     * One item of a batch (null if it is not a JSON object).
+     * @throws IllegalArgumentException If a field has the wrong type.
+     */
+    private static TeamMember parseMember(Object item) {
+        if (!(item instanceof Map<?, ?>)) return null;
+        try {
+            return TeamMember.fromRaw(gson.fromJson(gson.toJson(item), TeamMember.class));
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed member: " + e.getMessage());
+        }
+    }
+
     protected String getIdFromBody(Request req) {
         Object obj = req.getBody().get("id");
         return obj != null ? obj.toString() : null;
@@ -209,4 +305,29 @@ public class TeamMemberController {
         Object obj = req.getBody().get("strategy");
         return obj != null ? obj.toString() : null;
     }
+
+    /** Optional "version" for optimistic updates (see TaskController.getVersion). */
+    protected Long getVersionFromBody(Request req) {
+        return TaskController.getVersion(req.getBody());
+    }
+
+    /**
+     * Wait for the background recalculation if the request has "waitForPlan": true.
+     * The update itself has succeeded either way, so the outcome only goes into the message.
+     */
+    private String awaitPlan(Request req) {
+        if (!Boolean.TRUE.equals(req.getBody().get("waitForPlan")))
+            return "; assignments are being recalculated.";
+        try {
+            long plan = service.awaitLatestPlan().get(PLAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return " and assignments recalculated (plan " + plan + ").";
+        } catch (ExecutionException e) {
+            return ", but recalculating assignments failed: " + e.getCause().getMessage();
+        } catch (TimeoutException e) {
+            return "; assignments are still being recalculated.";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "; assignments are being recalculated.";
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.hit.dao;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Asynchronous companion of {@link IDao}: the same operations, returning futures instead of blocking.
+ * The calling thread stays free while the I/O is pending; the work runs on a bounded
+ * {@link DaoExecutor}. Failures (including a full executor queue) complete the future exceptionally.
+ *
+ * @param <T> Entity type (Task, TeamMember, Assignment, etc.)
+ */
+public interface AsyncDao<T> {
+    /** @return The synchronous DAO the calls run against. */
+    IDao<T> sync();
+
+    CompletableFuture<Void> saveAsync(T entity);
+
+    CompletableFuture<Void> saveAsync(List<T> entities);
+
+    CompletableFuture<List<T>> loadAsync();
+
+    CompletableFuture<List<T>> loadInScheduleOrderAsync();
+
+    CompletableFuture<List<T>> findBySkillAsync(String skill);
+
+    /** @return Future of the member's assignments (empty for other entity types). */
+    CompletableFuture<List<T>> findByMemberAsync(String memberId);
+
+    /** @return Future of the task's assignments (empty for other entity types). */
+    CompletableFuture<List<T>> findByTaskAsync(String taskId);
+
+    /** @return Future of the entity, or of null if not found. */
+    CompletableFuture<T> findByIdAsync(String id);
+
+    /** @return Future of the entity and its version, or of null if not found. */
+    CompletableFuture<Versioned<T>> findVersionedByIdAsync(String id);
+
+    CompletableFuture<Void> updateAsync(T entity);
+
+    /** @return Future of true if updated, false on a version mismatch or missing entity. */
+    CompletableFuture<Boolean> updateIfVersionAsync(T entity, long expectedVersion);
+
+    CompletableFuture<Boolean> deleteByIdAsync(String id);
+
+    CompletableFuture<Void> deleteAllAsync();
+
+    CompletableFuture<Boolean> deleteIfAsync(Predicate<T> predicate);
+
+    /** @return Future of the number of entities inserted, updated or deleted. */
+    CompletableFuture<Integer> replaceMatchingAsync(Predicate<T> scope, List<T> replacement);
+}
@@ -0,0 +1,122 @@
+package com.hit.dao;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * {@link AsyncDao} over any IDao<T>: reads go to the executor's reader pool,
+ * writes to its single writer thread.
+ *
+ * @param <T> Entity type.
+ */
+public class AsyncDaoImpl<T> implements AsyncDao<T> {
+    private final IDao<T> delegate;
+    private final DaoExecutor executor;
+
+    /**
+     * @param delegate The (thread-safe) DAO to run calls against.
+     * @param executor Where the calls run (see {@link DaoExecutor#shared()}).
+     */
+    public AsyncDaoImpl(IDao<T> delegate, DaoExecutor executor) {
+        this.delegate = Objects.requireNonNull(delegate, "DAO cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+
+    @Override
+    public IDao<T> sync() {
+        return delegate;
+    }
+
+    // --- Reads ---
+
+    @Override
+    public CompletableFuture<List<T>> loadAsync() {
+        return executor.read(delegate::load);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> loadInScheduleOrderAsync() {
+        return executor.read(delegate::loadInScheduleOrder);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findBySkillAsync(String skill) {
+        return executor.read(() -> delegate.findBySkill(skill));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findByMemberAsync(String memberId) {
+        return executor.read(() -> delegate.findByMember(memberId));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findByTaskAsync(String taskId) {
+        return executor.read(() -> delegate.findByTask(taskId));
+    }
+
+    @Override
+    public CompletableFuture<T> findByIdAsync(String id) {
+        return executor.read(() -> delegate.findById(id));
+    }
+
+    @Override
+    public CompletableFuture<Versioned<T>> findVersionedByIdAsync(String id) {
+        return executor.read(() -> delegate.findVersionedById(id));
+    }
+
+    // --- Writes ---
+
+    @Override
+    public CompletableFuture<Void> saveAsync(T entity) {
+        return executor.write(() -> {
+            delegate.save(entity);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(List<T> entities) {
+        return executor.write(() -> {
+            delegate.save(entities);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAsync(T entity) {
+        return executor.write(() -> {
+            delegate.update(entity);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateIfVersionAsync(T entity, long expectedVersion) {
+        return executor.write(() -> delegate.updateIfVersion(entity, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteByIdAsync(String id) {
+        return executor.write(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllAsync() {
+        return executor.write(() -> {
+            delegate.deleteAll();
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteIfAsync(Predicate<T> predicate) {
+        return executor.write(() -> delegate.deleteIf(predicate));
+    }
+
+    @Override
+    public CompletableFuture<Integer> replaceMatchingAsync(Predicate<T> scope, List<T> replacement) {
+        return executor.write(() -> delegate.replaceMatching(scope, replacement));
+    }
+}
@@ -0,0 +1,263 @@
+package com.hit.dao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe file implementation of IDao<T> using a compact binary format ({@link EntityCodec})
+ * read through a memory-mapped FileChannel.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ * header   : int magic, byte formatVersion, byte entityType, byte schemaVersion,
+ *            int recordCount, int skillTableOffset, int indexOffset, int recordsOffset
+ * records  : encoded entities in insertion order
+ * skills   : shared skill string table
+ * index    : recordCount x (int idPos, int idLength, int recordPos, int recordLength), sorted by id
+ * ids      : UTF-8 id bytes referenced by the index
+ * </pre>
+ * Point lookups binary-search the mapped index and decode exactly one record.
+ * Full scans decode records sequentially without reflection.
+ * Writes rewrite the file into a temp file and atomically swap it in (like FileDaoImpl).
+ *
+ * @param <T> Entity type.
+ */
+public class BinaryFileDaoImpl<T> implements IDao<T> {
+    private static final int MAGIC = 0x53534246; // "SSBF"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 23;
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    private final Path path;
+    private final byte type;
+
+    // Current mapped view of the file (null when the file is empty)
+    private MappedByteBuffer data;
+    private byte schemaVersion;
+    private int recordCount;
+    private int indexOffset;
+    private int recordsOffset;
+    private EntityCodec.SkillTable skills;
+
+    /**
+     * @param clazz The entity class type.
+     */
+    public BinaryFileDaoImpl(Class<T> clazz) {
+        this(clazz, switch (clazz.getSimpleName()) {
+            case "Task" -> "src/main/resources/tasks.bin";
+            case "TeamMember" -> "src/main/resources/members.bin";
+            case "Assignment" -> "src/main/resources/assignments.bin";
+            default -> throw new IllegalArgumentException("Unsupported type: " + clazz);
+        });
+    }
+
+    /**
+     * @param clazz    The entity class type.
+     * @param filePath Path of the data file (created on first write).
+     */
+    public BinaryFileDaoImpl(Class<T> clazz, String filePath) {
+        this.type = EntityCodec.typeOf(clazz);
+        this.path = Path.of(filePath);
+        synchronized (this) {
+            try {
+                remap();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open binary data file", e);
+            }
+        }
+    }
+
+    // --- Reads ---
+
+    @Override
+    public synchronized List<T> load() throws Exception {
+        List<T> result = new ArrayList<>(recordCount);
+        if (recordCount == 0) return result;
+        ByteBuffer in = data.duplicate().position(recordsOffset);
+        for (int i = 0; i < recordCount; i++) {
+            result.add(EntityCodec.decode(type, schemaVersion, in, skills));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized T findById(String id) throws Exception {
+        int recordPos = lookup(id);
+        if (recordPos < 0) return null;
+        return EntityCodec.decode(type, schemaVersion, data.duplicate().position(recordPos), skills);
+    }
+
+    // --- Writes ---
+
+    @Override
+    public synchronized void save(T entity) throws Exception {
+        save(List.of(entity));
+    }
+
+    /** Upsert: the batch is merged into the stored rows by id (new ones appended) and written once. */
+    @Override
+    public synchronized void save(List<T> entities) throws Exception {
+        if (entities == null || entities.isEmpty()) return;
+        writeAll(DaoUtils.apply(load(), new DaoUtils.Diff<>(entities, List.of())));
+    }
+
+    @Override
+    public synchronized void update(T entity) throws Exception {
+        String id = DaoUtils.getId(entity);
+        if (lookup(id) < 0) {
+            throw new IllegalArgumentException("Entity not found for update: " + id);
+        }
+        save(entity);
+    }
+
+    @Override
+    public synchronized boolean deleteById(String id) throws Exception {
+        if (lookup(id) < 0) return false;
+        List<T> all = load();
+        all.removeIf(obj -> DaoUtils.getId(obj).equals(id));
+        writeAll(all);
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteAll() throws Exception {
+        writeAll(List.of());
+    }
+
+    @Override
+    public synchronized boolean deleteIf(Predicate<T> predicate) throws Exception {
+        List<T> all = load();
+        boolean changed = all.removeIf(predicate);
+        if (changed) writeAll(all);
+        return changed;
+    }
+
+    /**
+     * The whole file is rewritten on every write, so the diff is applied in memory
+     * and written once (and not at all if nothing changed).
+     */
+    @Override
+    public synchronized int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        List<T> all = load();
+        DaoUtils.Diff<T> diff = DaoUtils.diff(all, scope, replacement);
+        if (diff.size() > 0) writeAll(DaoUtils.apply(all, diff));
+        return diff.size();
+    }
+
+    // --- Format internals ---
+
+    /**
+     * Binary search in the mapped id index.
+     * @return Absolute position of the record, or -1 if not found.
+     */
+    private int lookup(String id) {
+        if (recordCount == 0 || id == null) return -1;
+        byte[] target = id.getBytes(StandardCharsets.UTF_8);
+        int lo = 0, hi = recordCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int entry = indexOffset + mid * INDEX_ENTRY_SIZE;
+            int cmp = compareId(data.getInt(entry), data.getInt(entry + 4), target);
+            if (cmp == 0) return data.getInt(entry + 8);
+            if (cmp < 0) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return -1;
+    }
+
+    private int compareId(int idPos, int idLength, byte[] target) {
+        int n = Math.min(idLength, target.length);
+        for (int i = 0; i < n; i++) {
+            int c = Integer.compare(data.get(idPos + i) & 0xFF, target[i] & 0xFF);
+            if (c != 0) return c;
+        }
+        return Integer.compare(idLength, target.length);
+    }
+
+    private void writeAll(List<T> entities) throws IOException {
+        EntityCodec.Writer out = new EntityCodec.Writer();
+        EntityCodec.SkillTable table = new EntityCodec.SkillTable();
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(type);
+        out.writeByte(EntityCodec.SCHEMA_VERSION);
+        out.writeInt(entities.size());
+        out.writeInt(0); // skill table offset, patched below
+        out.writeInt(0); // index offset, patched below
+        out.writeInt(HEADER_SIZE);
+
+        // Records, in the caller's order
+        int n = entities.size();
+        byte[][] ids = new byte[n][];
+        int[] positions = new int[n];
+        int[] lengths = new int[n];
+        for (int i = 0; i < n; i++) {
+            T entity = entities.get(i);
+            ids[i] = DaoUtils.getId(entity).getBytes(StandardCharsets.UTF_8);
+            positions[i] = out.size();
+            EntityCodec.encode(entity, out, table);
+            lengths[i] = out.size() - positions[i];
+        }
+
+        int skillTableOffset = out.size();
+        table.write(out);
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(ids[a], ids[b]));
+
+        int indexStart = out.size();
+        int idPos = indexStart + n * INDEX_ENTRY_SIZE;
+        for (int i : order) {
+            out.writeInt(idPos);
+            out.writeInt(ids[i].length);
+            out.writeInt(positions[i]);
+            out.writeInt(lengths[i]);
+            idPos += ids[i].length;
+        }
+        for (int i : order) out.writeBytes(ids[i]);
+
+        out.setInt(11, skillTableOffset);
+        out.setInt(15, indexStart);
+
+        // Write-then-rename so readers never see a half-written file.
+        // Note: on Windows a file cannot be replaced while it is still mapped by this JVM.
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, out.toByteArray());
+        data = null;
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        remap();
+    }
+
+    private void remap() throws IOException {
+        data = null;
+        recordCount = 0;
+        skills = new EntityCodec.SkillTable();
+        if (!Files.exists(path) || Files.size(path) == 0) return;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.getInt(0) != MAGIC) throw new IOException("Not a binary data file: " + path);
+        if (data.get(4) != FORMAT_VERSION) throw new IOException("Unsupported format version: " + data.get(4));
+        if (data.get(5) != type) throw new IOException("Data file holds a different entity type: " + path);
+        schemaVersion = data.get(6);
+        recordCount = data.getInt(7);
+        int skillTableOffset = data.getInt(11);
+        indexOffset = data.getInt(15);
+        recordsOffset = data.getInt(19);
+        skills = EntityCodec.SkillTable.read(data.duplicate().position(skillTableOffset));
+    }
+}
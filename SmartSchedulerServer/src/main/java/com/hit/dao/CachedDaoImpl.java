@@ -0,0 +1,312 @@
+package com.hit.dao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Caching decorator for any IDao<T>.
+ * Keeps a size-bounded LRU map of entities by id, so repeated findById calls on hot
+ * entities skip the underlying data source entirely.
+ * Every write goes through this decorator and invalidates the affected ids.
+ * Entities are copied in and out of the cache, so callers may freely mutate what they get.
+ *
+ * @param <T> Entity type.
+ */
+public class CachedDaoImpl<T> implements IDao<T> {
+    public static final int DEFAULT_MAX_SIZE = 1_000;
+
+    private final IDao<T> delegate;
+    private final int maxSize;
+    private final ITransactionManager transactions;
+    private final Map<String, T> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    /** Bumped on every invalidation (guarded by the cache lock); a miss only caches if it did not change. */
+    private long invalidations;
+
+    /**
+     * @param delegate The DAO to cache (usually SQLiteDaoImpl).
+     */
+    public CachedDaoImpl(IDao<T> delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param delegate The DAO to cache.
+     * @param maxSize  Maximum number of cached entities (least recently used are evicted first).
+     */
+    public CachedDaoImpl(IDao<T> delegate, int maxSize) {
+        this(delegate, maxSize, new DirectTransactionManager());
+    }
+
+    /**
+     * @param delegate     The DAO to cache.
+     * @param maxSize      Maximum number of cached entities (least recently used are evicted first).
+     * @param transactions Units of work the delegate's writes may run in: values read inside one are
+     *                     not cached, and ids written inside one are invalidated again when it completes.
+     */
+    public CachedDaoImpl(IDao<T> delegate, int maxSize, ITransactionManager transactions) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Cache size must be positive");
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.transactions = transactions;
+        // Access-ordered LinkedHashMap = LRU
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                if (size() > CachedDaoImpl.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // --- Reads ---
+
+    /**
+     * Cached point lookup. Hits only take the cache lock; misses load from the delegate without
+     * holding any decorator lock, so one slow miss does not hold up reads of other ids. A loaded
+     * value is only cached if no invalidation happened while it was loading, so a concurrent write
+     * cannot be overwritten by a stale value.
+     */
+    @Override
+    public T findById(String id) throws Exception {
+        T cached = getCached(id);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return DaoUtils.copy(cached);
+        }
+        misses.incrementAndGet();
+        long before;
+        synchronized (cache) {
+            before = invalidations;
+        }
+        T loaded = delegate.findById(id);
+        // Inside a unit of work the value may not be committed yet (and may be rolled back)
+        if (loaded != null && !transactions.isInUnitOfWork()) {
+            synchronized (cache) {
+                if (invalidations == before) cache.put(id, DaoUtils.copy(loaded));
+            }
+        }
+        return loaded;
+    }
+
+    // Uncached reads go straight to the delegate, which is thread-safe on its own
+
+    @Override
+    public List<T> load() throws Exception {
+        return delegate.load();
+    }
+
+    @Override
+    public List<T> loadInScheduleOrder() throws Exception {
+        return delegate.loadInScheduleOrder();
+    }
+
+    @Override
+    public List<T> findBySkill(String skill) throws Exception {
+        return delegate.findBySkill(skill);
+    }
+
+    @Override
+    public List<T> findByMember(String memberId) throws Exception {
+        return delegate.findByMember(memberId);
+    }
+
+    @Override
+    public List<T> findByTask(String taskId) throws Exception {
+        return delegate.findByTask(taskId);
+    }
+
+    /** Versions must be current, so versioned reads always go to the delegate. */
+    @Override
+    public Versioned<T> findVersionedById(String id) throws Exception {
+        return delegate.findVersionedById(id);
+    }
+
+    // --- Writes (always invalidate) ---
+
+    @Override
+    public synchronized boolean updateIfVersion(T entity, long expectedVersion) throws Exception {
+        try {
+            return delegate.updateIfVersion(entity, expectedVersion);
+        } finally {
+            invalidate(DaoUtils.getId(entity));
+        }
+    }
+
+    @Override
+    public synchronized void save(T entity) throws Exception {
+        delegate.save(entity);
+        invalidate(DaoUtils.getId(entity));
+    }
+
+    @Override
+    public synchronized void save(List<T> entities) throws Exception {
+        delegate.save(entities);
+        if (entities == null) return;
+        for (T e : entities) invalidate(DaoUtils.getId(e));
+    }
+
+    @Override
+    public synchronized void update(T entity) throws Exception {
+        try {
+            delegate.update(entity);
+        } finally {
+            invalidate(DaoUtils.getId(entity));
+        }
+    }
+
+    @Override
+    public synchronized boolean deleteById(String id) throws Exception {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll() throws Exception {
+        try {
+            delegate.deleteAll();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Delegates the deletion and invalidates exactly the ids the predicate matched.
+     */
+    @Override
+    public synchronized boolean deleteIf(Predicate<T> predicate) throws Exception {
+        List<String> matched = new ArrayList<>();
+        try {
+            return delegate.deleteIf(e -> {
+                if (predicate.test(e)) {
+                    matched.add(DaoUtils.getId(e));
+                    return true;
+                }
+                return false;
+            });
+        } finally {
+            for (String id : matched) invalidate(id);
+        }
+    }
+
+    /**
+     * Delegates the indexed deletion and invalidates the ids it is about to remove.
+     */
+    @Override
+    public synchronized boolean deleteByMember(String memberId) throws Exception {
+        List<T> matched = delegate.findByMember(memberId);
+        try {
+            return delegate.deleteByMember(memberId);
+        } finally {
+            for (T e : matched) invalidate(DaoUtils.getId(e));
+        }
+    }
+
+    /**
+     * Delegates the indexed deletion and invalidates the ids it is about to remove.
+     */
+    @Override
+    public synchronized boolean deleteByTask(String taskId) throws Exception {
+        List<T> matched = delegate.findByTask(taskId);
+        try {
+            return delegate.deleteByTask(taskId);
+        } finally {
+            for (T e : matched) invalidate(DaoUtils.getId(e));
+        }
+    }
+
+    /**
+     * Delegates the diff-based replace and invalidates the ids in scope and in the replacement.
+     */
+    @Override
+    public synchronized int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        List<String> touched = new ArrayList<>();
+        try {
+            return delegate.replaceMatching(e -> {
+                if (scope.test(e)) {
+                    touched.add(DaoUtils.getId(e));
+                    return true;
+                }
+                return false;
+            }, replacement);
+        } finally {
+            for (String id : touched) invalidate(id);
+            for (T e : replacement) invalidate(DaoUtils.getId(e));
+        }
+    }
+
+    // --- Cache management & metrics ---
+
+    /**
+     * Remove a single id from the cache. Inside a unit of work the id is removed again when it
+     * completes, in case a concurrent reader cached the pre-commit value in the meantime.
+     */
+    public void invalidate(String id) {
+        synchronized (cache) {
+            invalidations++;
+            cache.remove(id);
+        }
+        if (transactions.isInUnitOfWork()) {
+            transactions.afterCompletion(() -> {
+                synchronized (cache) {
+                    invalidations++;
+                    cache.remove(id);
+                }
+            });
+        }
+    }
+
+    /** Remove all entries from the cache (again when the current unit of work completes, if any). */
+    public void invalidateAll() {
+        synchronized (cache) {
+            invalidations++;
+            cache.clear();
+        }
+        if (transactions.isInUnitOfWork()) {
+            transactions.afterCompletion(() -> {
+                synchronized (cache) {
+                    invalidations++;
+                    cache.clear();
+                }
+            });
+        }
+    }
+
+    /** @return Number of entities currently cached. */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+
+    /** @return Ratio of findById calls served from the cache (0.0 if none yet). */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private T getCached(String id) {
+        synchronized (cache) {
+            return cache.get(id);
+        }
+    }
+}
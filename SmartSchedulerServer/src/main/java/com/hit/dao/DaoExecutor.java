@@ -0,0 +1,104 @@
+package com.hit.dao;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for DAO I/O, shaped like SQLite's concurrency model:
+ * a small pool of reader threads (WAL lets readers run in parallel) and a single writer thread
+ * (SQLite has one writer at a time anyway, so more writer threads would only wait on the lock).
+ * <p>
+ * Both sides have bounded queues. When a queue is full the call fails fast with a
+ * {@link RejectedExecutionException} in the returned future instead of piling up work,
+ * so the number of concurrent database calls is capped explicitly.
+ * <p>
+ * Work runs on the executor's threads, so it is never part of a unit of work opened by the caller.
+ */
+public final class DaoExecutor implements AutoCloseable {
+    public static final int DEFAULT_READERS = 4;
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private static DaoExecutor shared;
+
+    private final ThreadPoolExecutor readers;
+    private final ThreadPoolExecutor writer;
+
+    /**
+     * @param readerThreads Number of reader threads.
+     * @param queueCapacity Maximum queued calls per side (reads and writes) before calls are rejected.
+     */
+    public DaoExecutor(int readerThreads, int queueCapacity) {
+        if (readerThreads <= 0) throw new IllegalArgumentException("Reader threads must be positive");
+        if (queueCapacity <= 0) throw new IllegalArgumentException("Queue capacity must be positive");
+        this.readers = new ThreadPoolExecutor(readerThreads, readerThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("dao-read"));
+        this.writer = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("dao-write"));
+    }
+
+    /** Process-wide executor with the default sizes, created on first use. */
+    public static synchronized DaoExecutor shared() {
+        if (shared == null) shared = new DaoExecutor(DEFAULT_READERS, DEFAULT_QUEUE_CAPACITY);
+        return shared;
+    }
+
+    /**
+     * Run a read on one of the reader threads.
+     * @return Future completed with the result, or exceptionally with the call's exception.
+     */
+    public <R> CompletableFuture<R> read(Callable<R> call) {
+        return submit(readers, call);
+    }
+
+    /**
+     * Run a write on the writer thread (writes submitted here run one at a time, in order).
+     * @return Future completed with the result, or exceptionally with the call's exception.
+     */
+    public <R> CompletableFuture<R> write(Callable<R> call) {
+        return submit(writer, call);
+    }
+
+    /** @return Reads waiting for a reader thread. */
+    public int getQueuedReads() { return readers.getQueue().size(); }
+
+    /** @return Writes waiting for the writer thread. */
+    public int getQueuedWrites() { return writer.getQueue().size(); }
+
+    /** Stop accepting calls; already queued calls still run. */
+    @Override
+    public void close() {
+        readers.shutdown();
+        writer.shutdown();
+    }
+
+    private static <R> CompletableFuture<R> submit(ThreadPoolExecutor executor, Callable<R> call) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
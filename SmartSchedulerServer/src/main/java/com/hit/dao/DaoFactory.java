@@ -11,6 +11,18 @@ public class DaoFactory {
     private static SQLiteDaoImpl<Task> taskDaoInstance;
     private static SQLiteDaoImpl<TeamMember> memberDaoInstance;
     private static SQLiteDaoImpl<Assignment> assignmentDaoInstance;
+    private static CachedDaoImpl<Task> cachedTaskDaoInstance;
+    private static CachedDaoImpl<TeamMember> cachedMemberDaoInstance;
+    private static CachedDaoImpl<Assignment> cachedAssignmentDaoInstance;
+    private static LogFileDaoImpl<Task> logTaskDaoInstance;
+    private static LogFileDaoImpl<TeamMember> logMemberDaoInstance;
+    private static LogFileDaoImpl<Assignment> logAssignmentDaoInstance;
+    private static BinaryFileDaoImpl<Task> binTaskDaoInstance;
+    private static BinaryFileDaoImpl<TeamMember> binMemberDaoInstance;
+    private static BinaryFileDaoImpl<Assignment> binAssignmentDaoInstance;
+    private static MemoryDaoImpl<Task> memoryTaskDaoInstance;
+    private static MemoryDaoImpl<TeamMember> memoryMemberDaoInstance;
+    private static MemoryDaoImpl<Assignment> memoryAssignmentDaoInstance;
 
     @SuppressWarnings("unchecked")
     public static synchronized <T> IDao<T> create(String type, Class<T> clazz) {
@@ -33,8 +45,125 @@ public class DaoFactory {
                 }
                 throw new IllegalArgumentException("Unsupported model class: " + clazz);
             }
+            case "binfile" -> {
+                // Memory-mapped binary format: one instance per file, since it owns the mapping
+                if (clazz == Task.class) {
+                    if (binTaskDaoInstance == null)
+                        binTaskDaoInstance = new BinaryFileDaoImpl<>(Task.class);
+                    yield (IDao<T>) binTaskDaoInstance;
+                }
+                if (clazz == TeamMember.class) {
+                    if (binMemberDaoInstance == null)
+                        binMemberDaoInstance = new BinaryFileDaoImpl<>(TeamMember.class);
+                    yield (IDao<T>) binMemberDaoInstance;
+                }
+                if (clazz == Assignment.class) {
+                    if (binAssignmentDaoInstance == null)
+                        binAssignmentDaoInstance = new BinaryFileDaoImpl<>(Assignment.class);
+                    yield (IDao<T>) binAssignmentDaoInstance;
+                }
+                throw new IllegalArgumentException("Unsupported model class: " + clazz);
+            }
+            case "cached" -> {
+                // LRU read cache in front of the SQLite singletons (one cache per table,
+                // so all writers go through the same decorator and invalidate it)
+                if (clazz == Task.class) {
+                    if (cachedTaskDaoInstance == null)
+                        cachedTaskDaoInstance = new CachedDaoImpl<>(create("sqlite", Task.class),
+                                CachedDaoImpl.DEFAULT_MAX_SIZE, new SQLiteTransactionManager());
+                    yield (IDao<T>) cachedTaskDaoInstance;
+                }
+                if (clazz == TeamMember.class) {
+                    if (cachedMemberDaoInstance == null)
+                        cachedMemberDaoInstance = new CachedDaoImpl<>(create("sqlite", TeamMember.class),
+                                CachedDaoImpl.DEFAULT_MAX_SIZE, new SQLiteTransactionManager());
+                    yield (IDao<T>) cachedMemberDaoInstance;
+                }
+                if (clazz == Assignment.class) {
+                    if (cachedAssignmentDaoInstance == null)
+                        cachedAssignmentDaoInstance = new CachedDaoImpl<>(create("sqlite", Assignment.class),
+                                CachedDaoImpl.DEFAULT_MAX_SIZE, new SQLiteTransactionManager());
+                    yield (IDao<T>) cachedAssignmentDaoInstance;
+                }
+                throw new IllegalArgumentException("Unsupported model class: " + clazz);
+            }
+            case "memory" -> {
+                // I/O-free store shared by everyone in this JVM (no snapshots)
+                if (clazz == Task.class) {
+                    if (memoryTaskDaoInstance == null)
+                        memoryTaskDaoInstance = new MemoryDaoImpl<>(Task.class);
+                    yield (IDao<T>) memoryTaskDaoInstance;
+                }
+                if (clazz == TeamMember.class) {
+                    if (memoryMemberDaoInstance == null)
+                        memoryMemberDaoInstance = new MemoryDaoImpl<>(TeamMember.class);
+                    yield (IDao<T>) memoryMemberDaoInstance;
+                }
+                if (clazz == Assignment.class) {
+                    if (memoryAssignmentDaoInstance == null)
+                        memoryAssignmentDaoInstance = new MemoryDaoImpl<>(Assignment.class);
+                    yield (IDao<T>) memoryAssignmentDaoInstance;
+                }
+                throw new IllegalArgumentException("Unsupported model class: " + clazz);
+            }
             case "file" -> new FileDaoImpl<>(clazz);
+            case "filelog" -> {
+                // Append-only log: one instance per file, since it owns the in-memory index
+                if (clazz == Task.class) {
+                    if (logTaskDaoInstance == null)
+                        logTaskDaoInstance = new LogFileDaoImpl<>(Task.class);
+                    yield (IDao<T>) logTaskDaoInstance;
+                }
+                if (clazz == TeamMember.class) {
+                    if (logMemberDaoInstance == null)
+                        logMemberDaoInstance = new LogFileDaoImpl<>(TeamMember.class);
+                    yield (IDao<T>) logMemberDaoInstance;
+                }
+                if (clazz == Assignment.class) {
+                    if (logAssignmentDaoInstance == null)
+                        logAssignmentDaoInstance = new LogFileDaoImpl<>(Assignment.class);
+                    yield (IDao<T>) logAssignmentDaoInstance;
+                }
+                throw new IllegalArgumentException("Unsupported model class: " + clazz);
+            }
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
+
+    /**
+     * Create the aggregate query DAO matching a storage backend.
+     * SQLite answers with SQL aggregates; every other backend computes them from its entity DAOs.
+     */
+    public static synchronized IStatsDao createStats(String type) {
+        IDao<Task> taskDao = create(type, Task.class);
+        IDao<TeamMember> memberDao = create(type, TeamMember.class);
+        IDao<Assignment> assignmentDao = create(type, Assignment.class);
+        return switch (type) {
+            case "sqlite", "cached" -> new SQLiteStatsDaoImpl();
+            default -> new InMemoryStatsDaoImpl(taskDao, memberDao, assignmentDao);
+        };
+    }
+
+    /**
+     * Create the unit-of-work manager matching a storage backend.
+     * SQLite runs each unit of work as one transaction across all tables; other backends run it directly.
+     */
+    public static ITransactionManager createTransactionManager(String type) {
+        return switch (type) {
+            case "sqlite", "cached" -> new SQLiteTransactionManager();
+            default -> new DirectTransactionManager();
+        };
+    }
+
+    /**
+     * Create the id sequence store matching a storage backend.
+     * SQLite persists the sequences, so generated ids stay unique across restarts; other backends
+     * keep them in memory and rely on the service skipping past the ids it loads at startup.
+     */
+    public static IIdBlockDao createIdBlocks(String type) {
+        return switch (type) {
+            case "sqlite", "cached" -> new SQLiteIdBlockDaoImpl();
+            default -> new InMemoryIdBlockDaoImpl();
+        };
+    }
 }
@@ -0,0 +1,151 @@
+package com.hit.dao;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters for DAO cost: a latency histogram per entity type and method,
+ * rows read and written per entity type, connection acquisition time and transaction counts.
+ * <p>
+ * Recording is lock-free (striped adders and fixed power-of-two buckets), so it can stay on
+ * in production. Percentiles are bucket upper bounds, i.e. accurate to within a factor of two,
+ * which is enough to tell a 1 ms call from a 100 ms one.
+ */
+public final class DaoMetrics {
+    private static final DaoMetrics global = new DaoMetrics();
+
+    private final Map<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rowsRead = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rowsWritten = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+
+    /** Latency summary of one operation, in milliseconds. */
+    public record OperationStats(long count, double meanMillis, double p50Millis, double p95Millis,
+                                 double p99Millis, double maxMillis) {}
+
+    /**
+     * Point-in-time copy of all counters.
+     * @param operations        Latency per "Entity.method" (e.g. "Task.load"), sorted by name.
+     * @param connectionAcquire Time to get a SQLite connection from the pool (or open one).
+     * @param commits           Explicit transactions committed.
+     * @param rollbacks         Explicit transactions rolled back.
+     */
+    public record Snapshot(Map<String, OperationStats> operations, Map<String, Long> rowsRead,
+                           Map<String, Long> rowsWritten, OperationStats connectionAcquire,
+                           long commits, long rollbacks) {}
+
+    /** @return The process-wide metrics that the DAO layer records into. */
+    public static DaoMetrics global() {
+        return global;
+    }
+
+    // --- Recording ---
+
+    /** Record one call of {@code method} on entity type {@code entity}. */
+    public void recordOperation(String entity, String method, long nanos) {
+        operations.computeIfAbsent(entity + "." + method, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    public void recordRowsRead(String entity, long rows) {
+        if (rows > 0) rowsRead.computeIfAbsent(entity, k -> new LongAdder()).add(rows);
+    }
+
+    public void recordRowsWritten(String entity, long rows) {
+        if (rows > 0) rowsWritten.computeIfAbsent(entity, k -> new LongAdder()).add(rows);
+    }
+
+    public void recordConnectionAcquire(long nanos) {
+        connectionAcquire.record(nanos);
+    }
+
+    public void recordCommit() {
+        commits.increment();
+    }
+
+    public void recordRollback() {
+        rollbacks.increment();
+    }
+
+    // --- Reading ---
+
+    public Snapshot snapshot() {
+        Map<String, OperationStats> ops = new TreeMap<>();
+        operations.forEach((name, h) -> ops.put(name, h.stats()));
+        return new Snapshot(ops, sums(rowsRead), sums(rowsWritten), connectionAcquire.stats(),
+                commits.sum(), rollbacks.sum());
+    }
+
+    /** Start counting from zero again. Calls in progress may still land in the old counters. */
+    public void reset() {
+        operations.clear();
+        rowsRead.clear();
+        rowsWritten.clear();
+        connectionAcquire.reset();
+        commits.reset();
+        rollbacks.reset();
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> adders) {
+        Map<String, Long> result = new TreeMap<>();
+        adders.forEach((k, v) -> result.put(k, v.sum()));
+        return result;
+    }
+
+    /**
+     * Histogram with power-of-two microsecond buckets: bucket i holds durations below 2^i µs
+     * (bucket 0 is under 1 µs, the last bucket everything from about 18 minutes up).
+     */
+    static final class LatencyHistogram {
+        private static final int BUCKETS = 31;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos) {
+            long micros = Math.max(0, nanos) / 1_000;
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            buckets.incrementAndGet(bucket);
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        OperationStats stats() {
+            long[] counts = new long[BUCKETS];
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                n += counts[i];
+            }
+            if (n == 0) return new OperationStats(0, 0, 0, 0, 0, 0);
+            double max = maxNanos.get() / 1e6;
+            return new OperationStats(n, totalNanos.sum() / 1e6 / n,
+                    Math.min(max, percentile(counts, n, 0.50)),
+                    Math.min(max, percentile(counts, n, 0.95)),
+                    Math.min(max, percentile(counts, n, 0.99)), max);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+
+        /** Upper bound (ms) of the bucket containing the given quantile. */
+        private static double percentile(long[] counts, long n, double quantile) {
+            long rank = (long) Math.ceil(quantile * n);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return (1L << i) / 1e3;
+            }
+            return (1L << (counts.length - 1)) / 1e3;
+        }
+    }
+}
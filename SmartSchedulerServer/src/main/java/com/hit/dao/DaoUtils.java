@@ -0,0 +1,170 @@
+package com.hit.dao;
+
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Shared helpers for DAO implementations and decorators.
+ * Knows how to extract the id of every supported entity and how to copy it defensively.
+ */
+final class DaoUtils {
+
+    /** Schedule order used by the strategies: priority, then creation time, then id as a stable tie-break. */
+    static final Comparator<Task> SCHEDULE_ORDER = Comparator
+            .comparingInt(Task::getPriority)
+            .thenComparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.<Instant>naturalOrder()))
+            .thenComparing(Task::getId, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+    private DaoUtils() {}
+
+    /**
+     * Extract the unique id of an entity.
+     * Assignments use the composite key "taskId-memberId", same as findById/deleteById.
+     */
+    static String getId(Object obj) {
+        if (obj instanceof Task t) return t.getId();
+        if (obj instanceof TeamMember m) return m.getId();
+        if (obj instanceof Assignment a) return a.getTaskId() + "-" + a.getMemberId();
+        throw new IllegalArgumentException("Unknown type");
+    }
+
+    /**
+     * Writes needed to turn the stored entities in scope into a replacement set.
+     * @param changed Entities to insert or update.
+     * @param removed Ids to delete.
+     */
+    record Diff<T>(List<T> changed, List<String> removed) {
+        int size() { return changed.size() + removed.size(); }
+    }
+
+    /**
+     * Diff the stored entities matching {@code scope} against {@code replacement}, by id.
+     * Unchanged entities appear in neither list; the last replacement entity wins for duplicate ids.
+     */
+    static <T> Diff<T> diff(List<T> stored, Predicate<T> scope, List<T> replacement) {
+        Map<String, T> desired = new LinkedHashMap<>();
+        for (T entity : replacement) desired.put(getId(entity), entity);
+
+        Map<String, T> current = new HashMap<>();
+        List<String> removed = new ArrayList<>();
+        for (T entity : stored) {
+            if (!scope.test(entity)) continue;
+            String id = getId(entity);
+            current.put(id, entity);
+            if (!desired.containsKey(id)) removed.add(id);
+        }
+        List<T> changed = new ArrayList<>();
+        for (Map.Entry<String, T> e : desired.entrySet()) {
+            if (!sameState(current.get(e.getKey()), e.getValue())) changed.add(e.getValue());
+        }
+        return new Diff<>(changed, removed);
+    }
+
+    /**
+     * Apply a diff to a full in-memory list (for backends that rewrite the whole file anyway):
+     * removed ids are dropped, changed entities replace their stored version in place, new ones are appended.
+     */
+    static <T> List<T> apply(List<T> stored, Diff<T> diff) {
+        Map<String, T> pending = new LinkedHashMap<>();
+        for (T entity : diff.changed()) pending.put(getId(entity), entity);
+        Set<String> removed = new HashSet<>(diff.removed());
+        List<T> result = new ArrayList<>(stored.size() + pending.size());
+        for (T entity : stored) {
+            String id = getId(entity);
+            if (removed.contains(id)) continue;
+            T replacement = pending.remove(id);
+            result.add(replacement != null ? replacement : entity);
+        }
+        result.addAll(pending.values());
+        return result;
+    }
+
+    /**
+     * True if both entities hold the same persisted state (same id and field values).
+     * The models do not implement equals, so diff-based writes use this instead.
+     */
+    static boolean sameState(Object a, Object b) {
+        if (a instanceof Task x && b instanceof Task y) {
+            return Objects.equals(x.getId(), y.getId()) && Objects.equals(x.getName(), y.getName())
+                    && x.getDurationHours() == y.getDurationHours() && x.getPriority() == y.getPriority()
+                    && x.getRemainingHours() == y.getRemainingHours()
+                    && Objects.equals(x.getRequiredSkills(), y.getRequiredSkills())
+                    && Objects.equals(x.getCreatedAt(), y.getCreatedAt());
+        }
+        if (a instanceof TeamMember x && b instanceof TeamMember y) {
+            return Objects.equals(x.getId(), y.getId()) && Objects.equals(x.getName(), y.getName())
+                    && Objects.equals(x.getSkills(), y.getSkills())
+                    && x.getMaxHoursPerDay() == y.getMaxHoursPerDay()
+                    && x.getRemainingHours() == y.getRemainingHours()
+                    && Double.compare(x.getEfficiency(), y.getEfficiency()) == 0;
+        }
+        if (a instanceof Assignment x && b instanceof Assignment y) {
+            return Objects.equals(x.getTaskId(), y.getTaskId()) && Objects.equals(x.getMemberId(), y.getMemberId())
+                    && x.getAssignedHours() == y.getAssignedHours();
+        }
+        return false;
+    }
+
+    /**
+     * Version derived from an entity's persisted state, for backends without a version column.
+     * Covers the same fields as {@link #sameState}, so equal states give equal versions.
+     */
+    static long stateVersion(Object obj) {
+        Object[] fields;
+        if (obj instanceof Task t) {
+            fields = new Object[]{t.getId(), t.getName(), t.getDurationHours(), t.getPriority(),
+                    t.getRemainingHours(), t.getRequiredSkills(), t.getCreatedAt()};
+        } else if (obj instanceof TeamMember m) {
+            fields = new Object[]{m.getId(), m.getName(), m.getSkills(), m.getMaxHoursPerDay(),
+                    m.getRemainingHours(), m.getEfficiency()};
+        } else if (obj instanceof Assignment a) {
+            fields = new Object[]{a.getTaskId(), a.getMemberId(), a.getAssignedHours()};
+        } else {
+            throw new IllegalArgumentException("Unknown type");
+        }
+        // Spread the 32-bit hash over 64 bits and keep it non-negative, like real versions
+        long h = Arrays.deepHashCode(fields) * 0x9E3779B97F4A7C15L;
+        return h & Long.MAX_VALUE;
+    }
+
+    /**
+     * Create a detached copy of an entity, so callers can mutate what they get
+     * (strategies change remainingHours in place) without touching cached state.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T obj) {
+        if (obj == null) return null;
+        if (obj instanceof Task t) {
+            Task c = new Task(t.getId(), t.getName(), t.getDurationHours(), t.getPriority(),
+                    t.getRequiredSkills() == null ? null : new ArrayList<>(t.getRequiredSkills()));
+            c.setRemainingHours(t.getRemainingHours());
+            c.setCreatedAt(t.getCreatedAt());
+            return (T) c;
+        }
+        if (obj instanceof TeamMember m) {
+            TeamMember c = new TeamMember(m.getId(), m.getName(),
+                    m.getSkills() == null ? null : new ArrayList<>(m.getSkills()),
+                    m.getMaxHoursPerDay(), m.getEfficiency());
+            c.setRemainingHours(m.getRemainingHours());
+            return (T) c;
+        }
+        if (obj instanceof Assignment a) {
+            return (T) new Assignment(a.getTaskId(), a.getMemberId(), a.getAssignedHours());
+        }
+        throw new IllegalArgumentException("Unknown type");
+    }
+}
@@ -0,0 +1,12 @@
+package com.hit.dao;
+
+/**
+ * Unit of work for backends without cross-table transactions (file, memory, ...).
+ * Runs the work directly: each DAO call stays individually durable, with no rollback.
+ */
+public class DirectTransactionManager implements ITransactionManager {
+    @Override
+    public <R> R inTransaction(UnitOfWork<R> work) throws Exception {
+        return work.run();
+    }
+}
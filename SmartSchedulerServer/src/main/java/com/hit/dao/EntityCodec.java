@@ -0,0 +1,268 @@
+package com.hit.dao;
+
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary codec for Task, TeamMember and Assignment.
+ * Replaces Java serialization for the binary file backend: no reflection, no class descriptors.
+ * <ul>
+ *     <li>Integers are zig-zag varints (1 byte for typical hours/priorities).</li>
+ *     <li>Strings are varint length + UTF-8 bytes (length 0 = null).</li>
+ *     <li>Skills are varint indexes into a {@link SkillTable} shared by the whole file.</li>
+ *     <li>Timestamps are epoch seconds + nanos, both varints.</li>
+ * </ul>
+ * Field order for each type is fixed per {@link #SCHEMA_VERSION}; readers reject unknown versions.
+ */
+final class EntityCodec {
+    static final byte SCHEMA_VERSION = 1;
+
+    static final byte TYPE_TASK = 1;
+    static final byte TYPE_MEMBER = 2;
+    static final byte TYPE_ASSIGNMENT = 3;
+
+    private EntityCodec() {}
+
+    /** @return The type tag stored in the file header for an entity class. */
+    static byte typeOf(Class<?> clazz) {
+        if (clazz == Task.class) return TYPE_TASK;
+        if (clazz == TeamMember.class) return TYPE_MEMBER;
+        if (clazz == Assignment.class) return TYPE_ASSIGNMENT;
+        throw new IllegalArgumentException("Unsupported type: " + clazz);
+    }
+
+    // --- Encoding ---
+
+    static void encode(Object entity, Writer out, SkillTable skills) {
+        if (entity instanceof Task t) {
+            out.writeString(t.getId());
+            out.writeString(t.getName());
+            out.writeVarInt(t.getDurationHours());
+            out.writeVarInt(t.getRemainingHours());
+            out.writeVarInt(t.getPriority());
+            writeSkills(t.getRequiredSkills(), out, skills);
+            writeInstant(t.getCreatedAt(), out);
+        } else if (entity instanceof TeamMember m) {
+            out.writeString(m.getId());
+            out.writeString(m.getName());
+            writeSkills(m.getSkills(), out, skills);
+            out.writeVarInt(m.getMaxHoursPerDay());
+            out.writeVarInt(m.getRemainingHours());
+            out.writeDouble(m.getEfficiency());
+        } else if (entity instanceof Assignment a) {
+            out.writeString(a.getTaskId());
+            out.writeString(a.getMemberId());
+            out.writeVarInt(a.getAssignedHours());
+        } else {
+            throw new IllegalArgumentException("Unknown type");
+        }
+    }
+
+    private static void writeSkills(List<String> list, Writer out, SkillTable skills) {
+        if (list == null) {
+            out.writeVarInt(-1);
+            return;
+        }
+        out.writeVarInt(list.size());
+        for (String s : list) out.writeVarInt(skills.indexOf(s));
+    }
+
+    private static void writeInstant(Instant instant, Writer out) {
+        if (instant == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        out.writeVarLong(instant.getEpochSecond());
+        out.writeVarInt(instant.getNano());
+    }
+
+    // --- Decoding ---
+
+    @SuppressWarnings("unchecked")
+    static <T> T decode(byte type, byte schemaVersion, ByteBuffer in, SkillTable skills) {
+        if (schemaVersion != SCHEMA_VERSION)
+            throw new IllegalStateException("Unsupported schema version: " + schemaVersion);
+        return switch (type) {
+            case TYPE_TASK -> {
+                String id = readString(in);
+                String name = readString(in);
+                int duration = readVarInt(in);
+                int remaining = readVarInt(in);
+                int priority = readVarInt(in);
+                List<String> required = readSkills(in, skills);
+                Task t = new Task(id, name, duration, priority, required);
+                t.setRemainingHours(remaining);
+                t.setCreatedAt(readInstant(in));
+                yield (T) t;
+            }
+            case TYPE_MEMBER -> {
+                String id = readString(in);
+                String name = readString(in);
+                List<String> memberSkills = readSkills(in, skills);
+                int maxHours = readVarInt(in);
+                int remaining = readVarInt(in);
+                double efficiency = in.getDouble();
+                TeamMember m = new TeamMember(id, name, memberSkills, maxHours, efficiency);
+                m.setRemainingHours(remaining);
+                yield (T) m;
+            }
+            case TYPE_ASSIGNMENT -> (T) new Assignment(readString(in), readString(in), readVarInt(in));
+            default -> throw new IllegalStateException("Unknown record type: " + type);
+        };
+    }
+
+    private static List<String> readSkills(ByteBuffer in, SkillTable skills) {
+        int count = readVarInt(in);
+        if (count < 0) return null;
+        List<String> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) list.add(skills.get(readVarInt(in)));
+        return list;
+    }
+
+    private static Instant readInstant(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        long seconds = readVarLong(in);
+        return Instant.ofEpochSecond(seconds, readVarInt(in));
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = readVarInt(in);
+        if (length == 0) return null;
+        byte[] bytes = new byte[length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long raw = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            raw |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (raw >>> 1) ^ -(raw & 1); // zig-zag decode
+    }
+
+    /**
+     * Growable byte buffer with varint/string helpers.
+     */
+    static final class Writer {
+        private byte[] buf = new byte[256];
+        private int size;
+
+        int size() { return size; }
+
+        byte[] toByteArray() { return Arrays.copyOf(buf, size); }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeInt(int v) {
+            ensure(4);
+            buf[size++] = (byte) (v >>> 24);
+            buf[size++] = (byte) (v >>> 16);
+            buf[size++] = (byte) (v >>> 8);
+            buf[size++] = (byte) v;
+        }
+
+        void setInt(int pos, int v) {
+            buf[pos] = (byte) (v >>> 24);
+            buf[pos + 1] = (byte) (v >>> 16);
+            buf[pos + 2] = (byte) (v >>> 8);
+            buf[pos + 3] = (byte) v;
+        }
+
+        void writeDouble(double d) {
+            long v = Double.doubleToLongBits(d);
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+
+        void writeVarInt(int v) {
+            writeVarLong(v);
+        }
+
+        void writeVarLong(long v) {
+            long zz = (v << 1) ^ (v >> 63); // zig-zag encode
+            while ((zz & ~0x7FL) != 0) {
+                writeByte((int) ((zz & 0x7F) | 0x80));
+                zz >>>= 7;
+            }
+            writeByte((int) zz);
+        }
+
+        void writeString(String s) {
+            if (s == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            writeBytes(bytes);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * File-wide table of distinct skill names, referenced by index from every record.
+     */
+    static final class SkillTable {
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        int indexOf(String skill) {
+            return indexes.computeIfAbsent(skill, s -> {
+                names.add(s);
+                return names.size() - 1;
+            });
+        }
+
+        String get(int index) { return names.get(index); }
+
+        void write(Writer out) {
+            out.writeVarInt(names.size());
+            for (String s : names) out.writeString(s);
+        }
+
+        static SkillTable read(ByteBuffer in) {
+            SkillTable table = new SkillTable();
+            int count = readVarInt(in);
+            for (int i = 0; i < count; i++) {
+                String s = readString(in);
+                table.names.add(s);
+                table.indexes.put(s, i);
+            }
+            return table;
+        }
+    }
+}
@@ -29,29 +29,14 @@ public class FileDaoImpl<T> implements IDao<T> {
 
     @Override
     public synchronized void save(T entity) throws Exception {
-        List<T> all = new ArrayList<>(load());
-        String entityId = getId(entity);
-        boolean updated = false;
-        for (int i = 0; i < all.size(); i++) {
-            if (getId(all.get(i)).equals(entityId)) {
-                all.set(i, entity);
-                updated = true;
-                break;
-            }
-        }
-        if (!updated) {
-            all.add(entity);
-        }
-        save(all);
+        save(List.of(entity));
     }
 
+    /** Upsert: the batch is merged into the stored rows by id (new ones appended) and written once. */
     @Override
     public synchronized void save(List<T> entities) throws Exception {
-        // Always write a mutable copy to file to avoid immutability bugs!
-        List<T> mutable = (entities == null) ? new ArrayList<>() : new ArrayList<>(entities);
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
-            oos.writeObject(mutable);
-        }
+        if (entities == null || entities.isEmpty()) return;
+        writeAll(DaoUtils.apply(load(), new DaoUtils.Diff<>(entities, List.of())));
     }
 
     @Override
@@ -89,7 +74,7 @@ public class FileDaoImpl<T> implements IDao<T> {
             }
         }
         if (updated) {
-            save(all);
+            writeAll(all);
         } else {
             throw new IllegalArgumentException("Entity not found for update: " + entityId);
         }
@@ -100,7 +85,7 @@ public class FileDaoImpl<T> implements IDao<T> {
         List<T> all = new ArrayList<>(load());
         boolean changed = all.removeIf(obj -> getId(obj).equals(id));
         if (changed) {
-            save(all);
+            writeAll(all);
         }
         return changed;
     }
@@ -117,10 +102,30 @@ public class FileDaoImpl<T> implements IDao<T> {
     public synchronized boolean deleteIf(Predicate<T> predicate) throws Exception {
         List<T> all = new ArrayList<>(load());
         boolean changed = all.removeIf(predicate);
-        if (changed) save(all);
+        if (changed) writeAll(all);
         return changed;
     }
 
+    /**
+     * The whole file is rewritten on every write, so the diff is applied in memory
+     * and written once (and not at all if nothing changed).
+     */
+    @Override
+    public synchronized int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        List<T> all = load();
+        DaoUtils.Diff<T> diff = DaoUtils.diff(all, scope, replacement);
+        if (diff.size() > 0) writeAll(DaoUtils.apply(all, diff));
+        return diff.size();
+    }
+
+    /** Replace the file's contents with the given rows. */
+    private void writeAll(List<T> entities) throws IOException {
+        // Always write a mutable copy to file to avoid immutability bugs!
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
+            oos.writeObject(new ArrayList<>(entities));
+        }
+    }
+
     // Helper to extract ID for all supported types
     private String getId(T obj) {
         if (obj instanceof com.hit.model.Task t) return t.getId();
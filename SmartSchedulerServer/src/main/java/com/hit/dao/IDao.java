@@ -1,6 +1,13 @@
 package com.hit.dao;
 
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -31,6 +38,89 @@ public interface IDao<T> {
      */
     List<T> load() throws Exception;
 
+    /**
+     * Load all entities in schedule order: tasks by priority, then creation time (then id),
+     * which is the order the assignment strategies process them in.
+     * Other entity types keep the {@link #load()} order.
+     * The default sorts in memory; indexed backends return rows already ordered.
+     * @return List of loaded objects, in schedule order.
+     * @throws Exception On I/O or format error.
+     */
+    default List<T> loadInScheduleOrder() throws Exception {
+        List<T> all = load();
+        if (!all.isEmpty() && all.getFirst() instanceof Task) {
+            all.sort((a, b) -> DaoUtils.SCHEDULE_ORDER.compare((Task) a, (Task) b));
+        }
+        return all;
+    }
+
+    /**
+     * Find tasks requiring, or team members having, the given skill.
+     * Assignments have no skills, so the result is always empty for them.
+     * The default filters {@link #load()} in memory; indexed backends look the skill up directly.
+     * @param skill The skill name (exact match).
+     * @return Matching entities.
+     * @throws Exception On I/O or database error.
+     */
+    default List<T> findBySkill(String skill) throws Exception {
+        List<T> result = new ArrayList<>();
+        for (T entity : load()) {
+            List<String> skills = (entity instanceof Task t) ? t.getRequiredSkills()
+                    : (entity instanceof TeamMember m) ? m.getSkills() : null;
+            if (skills != null && skills.contains(skill)) result.add(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Find the assignments of a team member. Only assignments have a member, so the result is
+     * always empty for other types. The default filters {@link #load()} in memory; indexed backends
+     * look the member up directly, at a cost proportional to the member's assignments.
+     * @param memberId The member's id.
+     * @return Matching assignments.
+     * @throws Exception On I/O or database error.
+     */
+    default List<T> findByMember(String memberId) throws Exception {
+        List<T> result = new ArrayList<>();
+        for (T entity : load()) {
+            if (entity instanceof Assignment a && a.getMemberId().equals(memberId)) result.add(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Find the assignments of a task; same contract as {@link #findByMember(String)}.
+     * @param taskId The task's id.
+     * @return Matching assignments.
+     * @throws Exception On I/O or database error.
+     */
+    default List<T> findByTask(String taskId) throws Exception {
+        List<T> result = new ArrayList<>();
+        for (T entity : load()) {
+            if (entity instanceof Assignment a && a.getTaskId().equals(taskId)) result.add(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Delete the assignments of a team member. The default is a {@link #deleteIf(Predicate)} scan;
+     * indexed backends delete through the index.
+     * @return True if any were deleted.
+     * @throws Exception On I/O or database error.
+     */
+    default boolean deleteByMember(String memberId) throws Exception {
+        return deleteIf(entity -> entity instanceof Assignment a && a.getMemberId().equals(memberId));
+    }
+
+    /**
+     * Delete the assignments of a task; same contract as {@link #deleteByMember(String)}.
+     * @return True if any were deleted.
+     * @throws Exception On I/O or database error.
+     */
+    default boolean deleteByTask(String taskId) throws Exception {
+        return deleteIf(entity -> entity instanceof Assignment a && a.getTaskId().equals(taskId));
+    }
+
     /**
      * Find an entity by its unique string ID.
      * @param id The entity's ID.
@@ -39,6 +129,38 @@ public interface IDao<T> {
      */
     T findById(String id) throws Exception;
 
+    /**
+     * Find an entity by id together with its current version, for optimistic concurrency.
+     * Backends without a version column derive the version from the entity's state,
+     * so any change to a persisted field yields a different version.
+     * @param id The entity's ID.
+     * @return The entity and its version, or null if not found.
+     * @throws Exception On error.
+     */
+    default Versioned<T> findVersionedById(String id) throws Exception {
+        T entity = findById(id);
+        return (entity == null) ? null : new Versioned<>(entity, DaoUtils.stateVersion(entity));
+    }
+
+    /**
+     * Update an entity only if its stored version still equals {@code expectedVersion}
+     * (as returned by {@link #findVersionedById}). Nothing is written on a mismatch.
+     * The default checks and writes while holding this DAO's monitor; transactional backends
+     * do the check and the write atomically in the data source.
+     * @param entity          The updated entity (must contain the correct ID).
+     * @param expectedVersion The version the caller read the entity at.
+     * @return True if the entity was updated, false if it is missing or was changed in the meantime.
+     * @throws Exception On I/O or database error.
+     */
+    default boolean updateIfVersion(T entity, long expectedVersion) throws Exception {
+        synchronized (this) {
+            Versioned<T> current = findVersionedById(DaoUtils.getId(entity));
+            if (current == null || current.version() != expectedVersion) return false;
+            update(entity);
+            return true;
+        }
+    }
+
     /**
      * Update an existing entity by ID.
      * @param entity The updated entity (must contain the correct ID).
@@ -66,4 +188,24 @@ public interface IDao<T> {
      * @throws Exception On error.
      */
     boolean deleteIf(Predicate<T> predicate) throws Exception;
+
+    /**
+     * Make the stored entities matching {@code scope} equal to {@code replacement}, writing only the difference:
+     * entities in scope but missing from the replacement are deleted, new or changed ones are saved,
+     * and unchanged ones are not touched. Entities are matched by id.
+     * The default is built on load/save/deleteIf; transactional backends apply the diff atomically.
+     * @param scope       Which stored entities the replacement covers (e.g. all, or one member's assignments).
+     * @param replacement The new set of entities for that scope.
+     * @return Number of entities inserted, updated or deleted.
+     * @throws Exception On I/O or database error.
+     */
+    default int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        DaoUtils.Diff<T> diff = DaoUtils.diff(load(), scope, replacement);
+        if (!diff.removed().isEmpty()) {
+            Set<String> ids = new HashSet<>(diff.removed());
+            deleteIf(entity -> ids.contains(DaoUtils.getId(entity)));
+        }
+        if (!diff.changed().isEmpty()) save(diff.changed());
+        return diff.size();
+    }
 }
@@ -0,0 +1,19 @@
+package com.hit.dao;
+
+/**
+ * Durable id sequences for block-wise (hi/lo) id allocation.
+ * A caller reserves a block of consecutive values in one storage round trip and then hands them
+ * out from memory; a reserved block is never returned again, even after a restart.
+ */
+public interface IIdBlockDao {
+    /**
+     * Reserve {@code size} consecutive values of a named sequence.
+     * @param sequence Sequence name (e.g. the id prefix).
+     * @param size     Number of values to reserve.
+     * @param atLeast  Lowest acceptable first value; the sequence is raised to it first
+     *                 (so values already used by existing rows are skipped).
+     * @return The first reserved value; the block is [first, first + size).
+     * @throws Exception On I/O or database error.
+     */
+    long reserveBlock(String sequence, int size, long atLeast) throws Exception;
+}
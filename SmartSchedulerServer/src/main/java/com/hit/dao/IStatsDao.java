@@ -0,0 +1,31 @@
+package com.hit.dao;
+
+/**
+ * Aggregate (read-only) queries used by the statistics dashboard.
+ * Implementations answer without materializing whole tables on the heap where the backend allows it.
+ */
+public interface IStatsDao {
+    /**
+     * @return Number of stored tasks.
+     * @throws Exception On I/O or database error.
+     */
+    int countTasks() throws Exception;
+
+    /**
+     * @return Number of stored team members.
+     * @throws Exception On I/O or database error.
+     */
+    int countTeamMembers() throws Exception;
+
+    /**
+     * @return Number of tasks that have no assignment at all.
+     * @throws Exception On I/O or database error.
+     */
+    int countUnassignedTasks() throws Exception;
+
+    /**
+     * @return Average number of assignments per team member (0.0 when there are no members).
+     * @throws Exception On I/O or database error.
+     */
+    double averageLoad() throws Exception;
+}
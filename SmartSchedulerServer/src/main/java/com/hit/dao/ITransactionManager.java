@@ -0,0 +1,43 @@
+package com.hit.dao;
+
+/**
+ * Unit of work spanning the task, member and assignment DAOs.
+ * Everything the work does through the DAOs is committed once at the end, or not at all
+ * if it throws. Nested calls on the same thread join the outer unit of work.
+ */
+public interface ITransactionManager {
+
+    /**
+     * A piece of work to run inside a transaction.
+     * @param <R> Result type.
+     */
+    @FunctionalInterface
+    interface UnitOfWork<R> {
+        R run() throws Exception;
+    }
+
+    /**
+     * Run the work as a single transaction.
+     * @param work The work (usually a service method body).
+     * @return The work's result.
+     * @throws Exception Whatever the work threw, after rolling back.
+     */
+    <R> R inTransaction(UnitOfWork<R> work) throws Exception;
+
+    /**
+     * @return True if the calling thread is inside one of this manager's units of work,
+     *         i.e. its writes are not committed yet (and may still roll back).
+     */
+    default boolean isInUnitOfWork() {
+        return false;
+    }
+
+    /**
+     * Run the callback once the calling thread's unit of work commits or rolls back
+     * (immediately if there is none). Used by caches to drop entries written inside it.
+     * @param callback The callback.
+     */
+    default void afterCompletion(Runnable callback) {
+        callback.run();
+    }
+}
@@ -0,0 +1,20 @@
+package com.hit.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Non-durable IIdBlockDao for backends without a sequence table (file, memory).
+ * Those backends rely on the service skipping past the ids of the rows it loads at startup.
+ */
+public class InMemoryIdBlockDaoImpl implements IIdBlockDao {
+    private final Map<String, Long> next = new HashMap<>();
+
+    @Override
+    public synchronized long reserveBlock(String sequence, int size, long atLeast) {
+        if (size <= 0) throw new IllegalArgumentException("Block size must be positive");
+        long first = Math.max(next.getOrDefault(sequence, 1L), atLeast);
+        next.put(sequence, first + size);
+        return first;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hit.dao;
+
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * IStatsDao for backends without a query engine (file, binary file, log, memory).
+ * Computes the same results as the SQL version from the three DAOs.
+ */
+public class InMemoryStatsDaoImpl implements IStatsDao {
+    private final IDao<Task> taskDao;
+    private final IDao<TeamMember> memberDao;
+    private final IDao<Assignment> assignmentDao;
+
+    public InMemoryStatsDaoImpl(IDao<Task> taskDao, IDao<TeamMember> memberDao, IDao<Assignment> assignmentDao) {
+        this.taskDao = taskDao;
+        this.memberDao = memberDao;
+        this.assignmentDao = assignmentDao;
+    }
+
+    @Override
+    public int countTasks() throws Exception {
+        return taskDao.load().size();
+    }
+
+    @Override
+    public int countTeamMembers() throws Exception {
+        return memberDao.load().size();
+    }
+
+    @Override
+    public int countUnassignedTasks() throws Exception {
+        Set<String> assignedTaskIds = new HashSet<>();
+        for (Assignment a : assignmentDao.load()) assignedTaskIds.add(a.getTaskId());
+        int count = 0;
+        for (Task t : taskDao.load()) {
+            if (!assignedTaskIds.contains(t.getId())) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public double averageLoad() throws Exception {
+        int members = memberDao.load().size();
+        if (members == 0) return 0.0;
+        return assignmentDao.load().size() / (double) members;
+    }
+}
@@ -0,0 +1,175 @@
+package com.hit.dao;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Instrumentation decorator for any IDao<T>: records the latency of every call and the
+ * rows it read or wrote into a {@link DaoMetrics} (the global one by default), keyed by
+ * entity type and method name, e.g. "Task.load". Failed calls are timed too.
+ *
+ * @param <T> Entity type.
+ */
+public class InstrumentedDaoImpl<T> implements IDao<T> {
+    private final IDao<T> delegate;
+    private final String entity;
+    private final DaoMetrics metrics;
+
+    /**
+     * @param delegate The DAO to measure.
+     * @param clazz    Entity class (its simple name is the metrics key).
+     */
+    public InstrumentedDaoImpl(IDao<T> delegate, Class<T> clazz) {
+        this(delegate, clazz, DaoMetrics.global());
+    }
+
+    public InstrumentedDaoImpl(IDao<T> delegate, Class<T> clazz, DaoMetrics metrics) {
+        this.delegate = delegate;
+        this.entity = clazz.getSimpleName();
+        this.metrics = metrics;
+    }
+
+    /** A DAO call that may throw, so it can be timed. */
+    @FunctionalInterface
+    private interface Call<R> {
+        R run() throws Exception;
+    }
+
+    private <R> R timed(String method, Call<R> call) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return call.run();
+        } finally {
+            metrics.recordOperation(entity, method, System.nanoTime() - start);
+        }
+    }
+
+    private List<T> read(List<T> rows) {
+        metrics.recordRowsRead(entity, rows == null ? 0 : rows.size());
+        return rows;
+    }
+
+    // --- Reads ---
+
+    @Override
+    public List<T> load() throws Exception {
+        return read(timed("load", delegate::load));
+    }
+
+    @Override
+    public List<T> loadInScheduleOrder() throws Exception {
+        return read(timed("loadInScheduleOrder", delegate::loadInScheduleOrder));
+    }
+
+    @Override
+    public List<T> findBySkill(String skill) throws Exception {
+        return read(timed("findBySkill", () -> delegate.findBySkill(skill)));
+    }
+
+    @Override
+    public List<T> findByMember(String memberId) throws Exception {
+        return read(timed("findByMember", () -> delegate.findByMember(memberId)));
+    }
+
+    @Override
+    public List<T> findByTask(String taskId) throws Exception {
+        return read(timed("findByTask", () -> delegate.findByTask(taskId)));
+    }
+
+    @Override
+    public T findById(String id) throws Exception {
+        T found = timed("findById", () -> delegate.findById(id));
+        if (found != null) metrics.recordRowsRead(entity, 1);
+        return found;
+    }
+
+    @Override
+    public Versioned<T> findVersionedById(String id) throws Exception {
+        Versioned<T> found = timed("findVersionedById", () -> delegate.findVersionedById(id));
+        if (found != null) metrics.recordRowsRead(entity, 1);
+        return found;
+    }
+
+    // --- Writes ---
+
+    @Override
+    public void save(T entity) throws Exception {
+        timed("save", () -> {
+            delegate.save(entity);
+            return null;
+        });
+        metrics.recordRowsWritten(this.entity, 1);
+    }
+
+    @Override
+    public void save(List<T> entities) throws Exception {
+        timed("saveAll", () -> {
+            delegate.save(entities);
+            return null;
+        });
+        metrics.recordRowsWritten(entity, entities == null ? 0 : entities.size());
+    }
+
+    @Override
+    public void update(T entity) throws Exception {
+        timed("update", () -> {
+            delegate.update(entity);
+            return null;
+        });
+        metrics.recordRowsWritten(this.entity, 1);
+    }
+
+    @Override
+    public boolean updateIfVersion(T entity, long expectedVersion) throws Exception {
+        boolean updated = timed("updateIfVersion", () -> delegate.updateIfVersion(entity, expectedVersion));
+        if (updated) metrics.recordRowsWritten(this.entity, 1);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(String id) throws Exception {
+        boolean deleted = timed("deleteById", () -> delegate.deleteById(id));
+        if (deleted) metrics.recordRowsWritten(entity, 1);
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll() throws Exception {
+        timed("deleteAll", () -> {
+            delegate.deleteAll();
+            return null;
+        });
+    }
+
+    /** Timed only: the delegate reports whether rows were deleted, not how many. */
+    @Override
+    public boolean deleteByMember(String memberId) throws Exception {
+        return timed("deleteByMember", () -> delegate.deleteByMember(memberId));
+    }
+
+    /** Timed only: the delegate reports whether rows were deleted, not how many. */
+    @Override
+    public boolean deleteByTask(String taskId) throws Exception {
+        return timed("deleteByTask", () -> delegate.deleteByTask(taskId));
+    }
+
+    /** Counts the rows the predicate matched as written (the delegate only reports whether any were deleted). */
+    @Override
+    public boolean deleteIf(Predicate<T> predicate) throws Exception {
+        long[] matched = new long[1];
+        boolean deleted = timed("deleteIf", () -> delegate.deleteIf(e -> {
+            boolean match = predicate.test(e);
+            if (match) matched[0]++;
+            return match;
+        }));
+        metrics.recordRowsWritten(entity, matched[0]);
+        return deleted;
+    }
+
+    @Override
+    public int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        int changed = timed("replaceMatching", () -> delegate.replaceMatching(scope, replacement));
+        metrics.recordRowsWritten(entity, changed);
+        return changed;
+    }
+}
@@ -0,0 +1,435 @@
+package com.hit.dao;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Thread-safe, log-structured file implementation of IDao<T>.
+ * Every upsert or delete is appended to the end of the file as a single record,
+ * so a single-entity write costs O(record size) instead of rewriting the whole list.
+ * <p>
+ * An in-memory id → offset index is rebuilt by scanning the log on open.
+ * A torn record at the tail (crash during append) is detected by length/CRC and truncated.
+ * Once enough garbage (overwritten or deleted records) accumulates, the log is compacted
+ * in the background into a fresh file holding only live records; reads and writes continue
+ * during the copy and only wait for the final swap.
+ * <p>
+ * Record layout: [int payloadLength][byte op][int crc32(op + payload)][payload]
+ *
+ * @param <T> Entity type.
+ */
+public class LogFileDaoImpl<T> implements IDao<T> {
+    private static final int MAGIC = 0x53534C47; // "SSLG"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    private static final int RECORD_HEADER_SIZE = 9;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+
+    /** Compact once garbage exceeds this many bytes AND half of the file. */
+    private static final long COMPACTION_MIN_GARBAGE = 64 * 1024;
+
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "log-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path path;
+    private RandomAccessFile file;
+
+    /** id → offset of the latest PUT record; insertion order = first creation order. */
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    private long liveBytes;
+    private boolean compactionScheduled;
+    private boolean closed;
+    /** Bumped by deleteAll(), which truncates the log underneath a running compaction. */
+    private long generation;
+    /** Serializes compactions (without blocking readers and writers). */
+    private final Object compactionLock = new Object();
+
+    /**
+     * @param clazz The entity class type.
+     */
+    public LogFileDaoImpl(Class<T> clazz) {
+        this(switch (clazz.getSimpleName()) {
+            case "Task" -> "src/main/resources/tasks.log";
+            case "TeamMember" -> "src/main/resources/members.log";
+            case "Assignment" -> "src/main/resources/assignments.log";
+            default -> throw new IllegalArgumentException("Unsupported type: " + clazz);
+        });
+    }
+
+    /**
+     * @param filePath Path of the log file (created if missing).
+     */
+    public LogFileDaoImpl(String filePath) {
+        this.path = Path.of(filePath);
+        synchronized (this) {
+            try {
+                open();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open log file", e);
+            }
+        }
+    }
+
+    // --- Reads ---
+
+    @Override
+    public synchronized List<T> load() throws Exception {
+        List<T> result = new ArrayList<>(index.size());
+        for (long offset : index.values()) {
+            result.add(readEntity(offset));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized T findById(String id) throws Exception {
+        Long offset = index.get(id);
+        return offset == null ? null : readEntity(offset);
+    }
+
+    // --- Writes ---
+
+    @Override
+    public synchronized void save(T entity) throws Exception {
+        save(List.of(entity));
+    }
+
+    @Override
+    public synchronized void save(List<T> entities) throws Exception {
+        if (entities == null || entities.isEmpty()) return;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        List<String> ids = new ArrayList<>(entities.size());
+        List<Integer> positions = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            ids.add(DaoUtils.getId(entity));
+            positions.add(buffer.size());
+            writeRecord(buffer, OP_PUT, serialize(entity));
+        }
+        long base = append(buffer.toByteArray());
+        for (int i = 0; i < ids.size(); i++) {
+            long end = (i + 1 < positions.size()) ? positions.get(i + 1) : buffer.size();
+            putIndex(ids.get(i), base + positions.get(i), end - positions.get(i));
+        }
+        maybeCompact();
+    }
+
+    @Override
+    public synchronized void update(T entity) throws Exception {
+        String id = DaoUtils.getId(entity);
+        if (!index.containsKey(id)) {
+            throw new IllegalArgumentException("Entity not found for update: " + id);
+        }
+        save(entity);
+    }
+
+    @Override
+    public synchronized boolean deleteById(String id) throws Exception {
+        if (!index.containsKey(id)) return false;
+        appendDeletes(List.of(id));
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteAll() throws Exception {
+        file.setLength(HEADER_SIZE);
+        index.clear();
+        liveBytes = 0;
+        generation++;
+    }
+
+    @Override
+    public synchronized boolean deleteIf(Predicate<T> predicate) throws Exception {
+        List<String> toDelete = new ArrayList<>();
+        for (Map.Entry<String, Long> e : index.entrySet()) {
+            if (predicate.test(readEntity(e.getValue()))) toDelete.add(e.getKey());
+        }
+        if (toDelete.isEmpty()) return false;
+        appendDeletes(toDelete);
+        return true;
+    }
+
+    /** Release the underlying file handle. */
+    public synchronized void close() throws IOException {
+        closed = true;
+        file.close();
+    }
+
+    /** @return Bytes in the log that no longer belong to a live record. */
+    public synchronized long getGarbageBytes() throws IOException {
+        return file.length() - HEADER_SIZE - liveBytes;
+    }
+
+    // --- Log internals ---
+
+    private void open() throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        file = new RandomAccessFile(path.toFile(), "rw");
+        index.clear();
+        liveBytes = 0;
+        if (file.length() < HEADER_SIZE) {
+            file.setLength(0);
+            file.writeInt(MAGIC);
+            file.writeByte(FORMAT_VERSION);
+            return;
+        }
+        file.seek(0);
+        if (file.readInt() != MAGIC) throw new IOException("Not a log file: " + path);
+        byte version = file.readByte();
+        if (version != FORMAT_VERSION) throw new IOException("Unsupported log version: " + version);
+        recover();
+    }
+
+    /**
+     * Scan all records, rebuild the index and truncate a torn/corrupt tail.
+     */
+    private void recover() throws IOException {
+        long length = file.length();
+        long pos = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (pos < length) {
+            if (pos + RECORD_HEADER_SIZE > length) break;
+            file.seek(pos);
+            int payloadLength = file.readInt();
+            byte op = file.readByte();
+            int expectedCrc = file.readInt();
+            long end = pos + RECORD_HEADER_SIZE + payloadLength;
+            if (payloadLength < 0 || end > length || (op != OP_PUT && op != OP_DELETE)) break;
+            byte[] payload = new byte[payloadLength];
+            file.readFully(payload);
+            crc.reset();
+            crc.update(op);
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) break;
+
+            if (op == OP_PUT) {
+                putIndex(idOf(payload), pos, end - pos);
+            } else {
+                removeIndex(new String(payload, StandardCharsets.UTF_8));
+            }
+            pos = end;
+        }
+        if (pos < length) {
+            System.err.println("Truncating torn log tail of " + path + " at offset " + pos);
+            file.setLength(pos);
+        }
+    }
+
+    private void appendDeletes(List<String> ids) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (String id : ids) {
+            writeRecord(buffer, OP_DELETE, id.getBytes(StandardCharsets.UTF_8));
+        }
+        append(buffer.toByteArray());
+        for (String id : ids) removeIndex(id);
+        maybeCompact();
+    }
+
+    /** Appends raw bytes at the end of the log and returns the offset they start at. */
+    private long append(byte[] bytes) throws IOException {
+        long offset = file.length();
+        file.seek(offset);
+        file.write(bytes);
+        return offset;
+    }
+
+    private void putIndex(String id, long offset, long recordLength) throws IOException {
+        Long previous = index.put(id, offset);
+        if (previous != null) liveBytes -= recordLengthAt(previous);
+        liveBytes += recordLength;
+    }
+
+    private void removeIndex(String id) throws IOException {
+        Long previous = index.remove(id);
+        if (previous != null) liveBytes -= recordLengthAt(previous);
+    }
+
+    private long recordLengthAt(long offset) throws IOException {
+        file.seek(offset);
+        return RECORD_HEADER_SIZE + file.readInt();
+    }
+
+    private T readEntity(long offset) throws IOException, ClassNotFoundException {
+        file.seek(offset);
+        int payloadLength = file.readInt();
+        file.skipBytes(5); // op + crc
+        byte[] payload = new byte[payloadLength];
+        file.readFully(payload);
+        return deserialize(payload);
+    }
+
+    private static void writeRecord(ByteArrayOutputStream out, byte op, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(payload);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(payload.length);
+        data.writeByte(op);
+        data.writeInt((int) crc.getValue());
+        data.write(payload);
+        data.flush();
+    }
+
+    private static byte[] serialize(Object entity) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(entity);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (T) ois.readObject();
+        }
+    }
+
+    private String idOf(byte[] payload) throws IOException {
+        try {
+            return DaoUtils.getId(deserialize(payload));
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Corrupt log record in " + path, e);
+        }
+    }
+
+    // --- Compaction ---
+
+    private void maybeCompact() throws IOException {
+        long garbage = getGarbageBytes();
+        if (compactionScheduled || garbage < COMPACTION_MIN_GARBAGE || garbage < liveBytes) return;
+        compactionScheduled = true;
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("Log compaction failed for " + path + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Copy all live records into a new file and atomically swap it in. Records are moved as raw bytes
+     * (no deserialization). The copy runs without the DAO lock, from a snapshot of the index: the log is
+     * append-only, so the records it points at never change. Only the swap holds the lock, and it carries
+     * over whatever was appended during the copy.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            Map<String, Long> live;
+            long copyEnd;
+            long startGeneration;
+            synchronized (this) {
+                compactionScheduled = false;
+                if (closed) return;
+                live = new LinkedHashMap<>(index);
+                copyEnd = file.length();
+                startGeneration = generation;
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+            try {
+                Map<Long, Long> moved;
+                try {
+                    moved = copyRecords(live.values(), tmp);
+                } catch (IOException e) {
+                    synchronized (this) {
+                        if (closed || generation != startGeneration) return; // truncated underneath the copy
+                    }
+                    throw e;
+                }
+                synchronized (this) {
+                    if (closed || generation != startGeneration) return; // deleteAll() made the copy stale
+                    swap(tmp, copyEnd, moved);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    /**
+     * Write the records at the given offsets to {@code target}, through a channel of its own
+     * (the shared file handle belongs to the lock holder), and sync it.
+     * @return New offset by old offset.
+     */
+    private Map<Long, Long> copyRecords(Collection<Long> offsets, Path target) throws IOException {
+        Map<Long, Long> moved = new HashMap<>();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+             FileOutputStream fos = new FileOutputStream(target.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            long pos = HEADER_SIZE;
+            ByteBuffer length = ByteBuffer.allocate(4);
+            for (long offset : offsets) {
+                readFully(in, length.clear(), offset);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length.getInt(0));
+                readFully(in, record, offset);
+                out.write(record.array());
+                moved.put(offset, pos);
+                pos += record.capacity();
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+        return moved;
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = in.read(buffer, position + buffer.position());
+            if (n < 0) throw new EOFException("Log shrank during compaction");
+        }
+    }
+
+    /**
+     * Append the records written since {@code copyEnd} to the compacted file and swap it in.
+     * Caller holds the DAO lock. If the move fails, the original log is reopened unchanged.
+     */
+    private void swap(Path tmp, long copyEnd, Map<Long, Long> moved) throws IOException {
+        long tailBase;
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile(), true)) {
+            tailBase = fos.getChannel().size();
+            byte[] tail = new byte[Math.toIntExact(file.length() - copyEnd)];
+            file.seek(copyEnd);
+            file.readFully(tail);
+            fos.write(tail);
+            fos.getFD().sync();
+        }
+        // Entries below copyEnd were in the snapshot; newer ones point into the tail
+        Map<String, Long> newIndex = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> e : index.entrySet()) {
+            long offset = e.getValue();
+            newIndex.put(e.getKey(), offset >= copyEnd ? tailBase + (offset - copyEnd) : moved.get(offset));
+        }
+        file.close();
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            file = new RandomAccessFile(path.toFile(), "rw");
+        }
+        index.clear();
+        index.putAll(newIndex);
+        // liveBytes is unchanged: exactly the live records were kept
+    }
+}
@@ -0,0 +1,266 @@
+package com.hit.dao;
+
+import com.hit.model.Assignment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe in-memory implementation of IDao<T>, with no I/O on any call.
+ * Intended for load tests and ephemeral planning sessions.
+ * <p>
+ * Entities live in a ConcurrentHashMap; every read returns copies and every write stores copies,
+ * so callers can never mutate the stored state. Reads are lock-free; writers are serialized.
+ * Assignments are also indexed by member and by task, so per-member and per-task lookups and
+ * deletes touch only the matching entries.
+ * <p>
+ * Optionally, the store can be restored from and snapshotted to a binary file
+ * (same format as {@link BinaryFileDaoImpl}). Snapshots are taken asynchronously and
+ * replace the file atomically; readers are never blocked.
+ *
+ * @param <T> Entity type.
+ */
+public class MemoryDaoImpl<T> implements IDao<T> {
+    private static final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "memory-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Stored entity plus its creation sequence (load() keeps creation order, like the file backend)
+     * and its version (1 on insert, incremented on every write).
+     */
+    private record Entry<T>(long seq, long version, T entity) {}
+
+    private final Map<String, Entry<T>> store = new ConcurrentHashMap<>();
+    /** Assignment ids by memberId and by taskId (null for other types); maintained by the writers. */
+    private final Map<String, Set<String>> byMember;
+    private final Map<String, Set<String>> byTask;
+    private final BinaryFileDaoImpl<T> snapshotFile;
+    private long nextSeq;
+
+    /**
+     * Pure in-memory store (no snapshotting).
+     * @param clazz The entity class type.
+     */
+    public MemoryDaoImpl(Class<T> clazz) {
+        this(clazz, null);
+    }
+
+    /**
+     * In-memory store restored from (and snapshotted to) the given file.
+     * @param clazz        The entity class type.
+     * @param snapshotPath Snapshot file, or null to disable snapshots.
+     */
+    public MemoryDaoImpl(Class<T> clazz, String snapshotPath) {
+        EntityCodec.typeOf(clazz); // rejects unsupported types early
+        boolean indexed = clazz == Assignment.class;
+        this.byMember = indexed ? new ConcurrentHashMap<>() : null;
+        this.byTask = indexed ? new ConcurrentHashMap<>() : null;
+        this.snapshotFile = (snapshotPath == null) ? null : new BinaryFileDaoImpl<>(clazz, snapshotPath);
+        if (snapshotFile != null) {
+            try {
+                for (T entity : snapshotFile.load()) put(entity);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to restore snapshot", e);
+            }
+        }
+    }
+
+    // --- Reads (lock-free, copy-on-read) ---
+
+    @Override
+    public List<T> load() {
+        List<Entry<T>> entries = new ArrayList<>(store.values());
+        entries.sort(Comparator.comparingLong(Entry::seq));
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> e : entries) result.add(DaoUtils.copy(e.entity()));
+        return result;
+    }
+
+    @Override
+    public T findById(String id) {
+        if (id == null) return null;
+        Entry<T> e = store.get(id);
+        return e == null ? null : DaoUtils.copy(e.entity());
+    }
+
+    @Override
+    public Versioned<T> findVersionedById(String id) {
+        if (id == null) return null;
+        Entry<T> e = store.get(id);
+        return e == null ? null : new Versioned<>(DaoUtils.copy(e.entity()), e.version());
+    }
+
+    @Override
+    public List<T> findByMember(String memberId) {
+        return lookup(byMember, memberId);
+    }
+
+    @Override
+    public List<T> findByTask(String taskId) {
+        return lookup(byTask, taskId);
+    }
+
+    // --- Writes (serialized, copy-on-write) ---
+
+    @Override
+    public synchronized void save(T entity) {
+        put(entity);
+    }
+
+    @Override
+    public synchronized void save(List<T> entities) {
+        if (entities == null) return;
+        for (T entity : entities) put(entity);
+    }
+
+    @Override
+    public synchronized void update(T entity) {
+        String id = DaoUtils.getId(entity);
+        if (!store.containsKey(id)) {
+            throw new IllegalArgumentException("Entity not found for update: " + id);
+        }
+        put(entity);
+    }
+
+    @Override
+    public synchronized boolean updateIfVersion(T entity, long expectedVersion) {
+        Entry<T> current = store.get(DaoUtils.getId(entity));
+        if (current == null || current.version() != expectedVersion) return false;
+        put(entity);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deleteById(String id) {
+        return id != null && remove(id);
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        store.clear();
+        if (byMember != null) {
+            byMember.clear();
+            byTask.clear();
+        }
+    }
+
+    @Override
+    public synchronized boolean deleteIf(Predicate<T> predicate) {
+        boolean deleted = false;
+        for (Iterator<Map.Entry<String, Entry<T>>> it = store.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Entry<T>> e = it.next();
+            if (predicate.test(DaoUtils.copy(e.getValue().entity()))) {
+                it.remove();
+                unindex(e.getKey(), e.getValue().entity());
+                deleted = true;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized boolean deleteByMember(String memberId) {
+        return removeIndexed(byMember, memberId);
+    }
+
+    @Override
+    public synchronized boolean deleteByTask(String taskId) {
+        return removeIndexed(byTask, taskId);
+    }
+
+    /** Applies the diff under the writer lock, so no other write can interleave with it. */
+    @Override
+    public synchronized int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        return IDao.super.replaceMatching(scope, replacement);
+    }
+
+    // --- Snapshots ---
+
+    /**
+     * Write a consistent snapshot of the store to the snapshot file in the background.
+     * The copy is taken under the writer lock (readers are unaffected); encoding and the
+     * atomic file replace happen on the snapshot thread.
+     * @return Future completed when the snapshot is durable on disk.
+     */
+    public CompletableFuture<Void> snapshotAsync() {
+        if (snapshotFile == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("Snapshots are not enabled"));
+        List<T> copy;
+        synchronized (this) {
+            copy = load();
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                snapshotFile.save(copy);
+            } catch (Exception e) {
+                throw new RuntimeException("Snapshot failed: " + e.getMessage(), e);
+            }
+        }, snapshotExecutor);
+    }
+
+    /** @return Number of stored entities. */
+    public int size() {
+        return store.size();
+    }
+
+    private void put(T entity) {
+        String id = DaoUtils.getId(entity);
+        Entry<T> previous = store.get(id);
+        long seq = (previous != null) ? previous.seq() : nextSeq++;
+        long version = (previous != null) ? previous.version() + 1 : 1;
+        store.put(id, new Entry<>(seq, version, DaoUtils.copy(entity)));
+        // An assignment's id is its task and member, so an existing entry is already indexed
+        if (previous == null && entity instanceof Assignment a && byMember != null) {
+            byMember.computeIfAbsent(a.getMemberId(), _ -> ConcurrentHashMap.newKeySet()).add(id);
+            byTask.computeIfAbsent(a.getTaskId(), _ -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private boolean remove(String id) {
+        Entry<T> removed = store.remove(id);
+        if (removed == null) return false;
+        unindex(id, removed.entity());
+        return true;
+    }
+
+    private void unindex(String id, T entity) {
+        if (!(entity instanceof Assignment a) || byMember == null) return;
+        byMember.computeIfPresent(a.getMemberId(), (_, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+        byTask.computeIfPresent(a.getTaskId(), (_, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+    }
+
+    /** Entries listed under {@code key} in an index, in creation order (empty for unindexed types). */
+    private List<T> lookup(Map<String, Set<String>> index, String key) {
+        Set<String> ids = (index == null || key == null) ? null : index.get(key);
+        if (ids == null) return new ArrayList<>();
+        List<Entry<T>> entries = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Entry<T> e = store.get(id);
+            if (e != null) entries.add(e);
+        }
+        entries.sort(Comparator.comparingLong(Entry::seq));
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> e : entries) result.add(DaoUtils.copy(e.entity()));
+        return result;
+    }
+
+    private boolean removeIndexed(Map<String, Set<String>> index, String key) {
+        Set<String> ids = (index == null || key == null) ? null : index.get(key);
+        if (ids == null) return false;
+        boolean deleted = false;
+        for (String id : List.copyOf(ids)) deleted |= remove(id);
+        return deleted;
+    }
+}
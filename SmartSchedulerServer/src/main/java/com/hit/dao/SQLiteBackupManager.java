@@ -0,0 +1,161 @@
+package com.hit.dao;
+
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Online backup of a SQLite database while the server keeps serving requests.
+ * <p>
+ * The copy uses SQLite's backup API from a dedicated connection that first pins a read snapshot,
+ * so the result is the database exactly as of the start of the backup. In WAL mode (which
+ * SQLiteDaoImpl enables) that snapshot does not block writers, and their commits do not restart
+ * the copy. Pages are copied in small steps with a pause between steps, so a large database is
+ * copied gradually instead of saturating the disk. The file is written next to the target and
+ * renamed into place only when complete, so a backup file is never torn.
+ * One backup runs at a time; progress is available through {@link #getStatus()}.
+ */
+public class SQLiteBackupManager {
+    public static final int DEFAULT_PAGES_PER_STEP = 256;
+    public static final long DEFAULT_PAUSE_MILLIS = 5;
+
+    private static final int BUSY_RETRY_MILLIS = 100;
+    private static final int BUSY_RETRIES = 600;
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * Progress of the current (or last) backup.
+     * @param copiedPages Pages copied so far, out of totalPages (0 until the first step).
+     * @param percent     Completion in percent.
+     * @param error       Failure message, for FAILED only.
+     */
+    public record Status(State state, String target, int totalPages, int copiedPages, double percent, String error) {}
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sqlite-backup");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String dbUrl;
+    private final int pagesPerStep;
+    private final long pauseMillis;
+    private volatile Status status = new Status(State.IDLE, null, 0, 0, 0.0, null);
+
+    /** Backs up the default database (DataSource.db). */
+    public SQLiteBackupManager() {
+        this(SQLiteDaoImpl.DB_URL);
+    }
+
+    /**
+     * @param dbUrl JDBC URL of the database to back up.
+     */
+    public SQLiteBackupManager(String dbUrl) {
+        this(dbUrl, DEFAULT_PAGES_PER_STEP, DEFAULT_PAUSE_MILLIS);
+    }
+
+    /**
+     * @param dbUrl        JDBC URL of the database to back up.
+     * @param pagesPerStep Pages copied per step.
+     * @param pauseMillis  Pause between steps (throttling).
+     */
+    public SQLiteBackupManager(String dbUrl, int pagesPerStep, long pauseMillis) {
+        if (pagesPerStep <= 0) throw new IllegalArgumentException("Pages per step must be positive");
+        if (pauseMillis < 0) throw new IllegalArgumentException("Pause cannot be negative");
+        this.dbUrl = dbUrl;
+        this.pagesPerStep = pagesPerStep;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * Start a backup in the background. The read snapshot is pinned before this method returns,
+     * so the backup contains exactly the commits made before the call.
+     * @param target Backup file to create (replaced if it exists).
+     * @return Future completed with the final status (COMPLETED or FAILED).
+     * @throws IllegalStateException If a backup is already running.
+     */
+    public synchronized CompletableFuture<Status> start(Path target) {
+        if (status.state() == State.RUNNING)
+            throw new IllegalStateException("A backup is already running: " + status.target());
+        status = new Status(State.RUNNING, target.toString(), 0, 0, 0.0, null);
+        Connection conn;
+        try {
+            conn = openSnapshot();
+        } catch (SQLException e) {
+            status = new Status(State.FAILED, target.toString(), 0, 0, 0.0, e.getMessage());
+            return CompletableFuture.completedFuture(status);
+        }
+        return CompletableFuture.supplyAsync(() -> run(conn, target), executor);
+    }
+
+    /** @return Progress of the current or last backup. */
+    public Status getStatus() {
+        return status;
+    }
+
+    /** Open a dedicated connection holding a read snapshot: the backup reads it, and concurrent commits don't restart the copy. */
+    private Connection openSnapshot() throws SQLException {
+        Connection conn = DriverManager.getConnection(dbUrl);
+        try {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master").close();
+            }
+            return conn;
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    private Status run(Connection snapshot, Path target) {
+        String name = target.toString();
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        try (Connection conn = snapshot) {
+            if (target.getParent() != null) Files.createDirectories(target.getParent());
+            Files.deleteIfExists(part);
+
+            int rc = conn.unwrap(SQLiteConnection.class).getDatabase().backup("main", part.toString(),
+                    (remaining, pageCount) -> {
+                        int copied = pageCount - remaining;
+                        double percent = (pageCount == 0) ? 100.0 : 100.0 * copied / pageCount;
+                        status = new Status(State.RUNNING, name, pageCount, copied, percent, null);
+                        if (remaining > 0) pause();
+                    }, BUSY_RETRY_MILLIS, BUSY_RETRIES, pagesPerStep);
+            if (rc != SQLiteErrorCode.SQLITE_OK.code)
+                throw new SQLException("Backup failed with SQLite code " + rc);
+            conn.rollback();
+
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Status s = status;
+            status = new Status(State.COMPLETED, name, s.totalPages(), s.totalPages(), 100.0, null);
+        } catch (Exception e) {
+            try {
+                Files.deleteIfExists(part);
+            } catch (Exception ignored) {}
+            status = new Status(State.FAILED, name, status.totalPages(), status.copiedPages(), status.percent(),
+                    e.getMessage());
+        }
+        return status;
+    }
+
+    private void pause() {
+        if (pauseMillis == 0) return;
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
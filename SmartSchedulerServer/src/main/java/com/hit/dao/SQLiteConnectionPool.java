@@ -0,0 +1,112 @@
+package com.hit.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Small per-database pool of SQLite connections (one pool per JDBC URL).
+ * Connections handed out are views whose close() returns the connection to the pool
+ * (rolled back and back in auto-commit mode), so DAO code keeps its try-with-resources style.
+ * At most {@link #MAX_IDLE} idle connections are kept; extra ones are really closed.
+ * Acquisition time and explicit commits/rollbacks are recorded in {@link DaoMetrics#global()}.
+ */
+final class SQLiteConnectionPool {
+    static final int MAX_IDLE = 4;
+
+    private static final Map<String, SQLiteConnectionPool> pools = new ConcurrentHashMap<>();
+
+    private final String url;
+    private final BlockingQueue<Connection> idle = new ArrayBlockingQueue<>(MAX_IDLE);
+    private volatile boolean closed;
+
+    private SQLiteConnectionPool(String url) {
+        this.url = url;
+    }
+
+    /** @return The pool for the given database (created on first use). */
+    static SQLiteConnectionPool forUrl(String url) {
+        return pools.computeIfAbsent(url, SQLiteConnectionPool::new);
+    }
+
+    /** Close the pool of the given database and its idle connections (connections in use close on release). */
+    static void close(String url) {
+        SQLiteConnectionPool pool = pools.remove(url);
+        if (pool == null) return;
+        pool.closed = true;
+        Connection conn;
+        while ((conn = pool.idle.poll()) != null) closeQuietly(conn);
+    }
+
+    /** @return A pooled connection; closing it returns it to the pool. Acquisition time goes to DaoMetrics. */
+    Connection acquire() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = idle.poll();
+        while (conn != null && conn.isClosed()) conn = idle.poll();
+        if (conn == null) conn = DriverManager.getConnection(url);
+        DaoMetrics.global().recordConnectionAcquire(System.nanoTime() - start);
+        return pooled(conn);
+    }
+
+    /** @return Number of idle connections currently kept. */
+    int idleCount() {
+        return idle.size();
+    }
+
+    private void release(Connection conn) {
+        try {
+            if (!conn.getAutoCommit()) {
+                conn.rollback(); // never hand out a connection with a pending transaction
+                conn.setAutoCommit(true);
+            }
+            if (closed || !idle.offer(conn)) conn.close();
+        } catch (SQLException e) {
+            closeQuietly(conn);
+        }
+    }
+
+    private Connection pooled(Connection conn) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        if (released.compareAndSet(false, true)) release(conn);
+                        yield null;
+                    }
+                    case "isClosed" -> released.get() || conn.isClosed();
+                    case "commit", "rollback" -> {
+                        if (released.get()) throw new SQLException("Connection already returned to the pool");
+                        try {
+                            method.invoke(conn, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        // Explicit transactions; a unit of work commits once, on the pooled connection
+                        if (method.getName().equals("commit")) DaoMetrics.global().recordCommit();
+                        else if (args == null) DaoMetrics.global().recordRollback();
+                        yield null;
+                    }
+                    default -> {
+                        if (released.get()) throw new SQLException("Connection already returned to the pool");
+                        try {
+                            yield method.invoke(conn, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {}
+    }
+}
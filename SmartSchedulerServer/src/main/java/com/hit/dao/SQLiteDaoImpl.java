@@ -2,8 +2,14 @@ package com.hit.dao;
 
 import com.hit.model.*;
 import java.sql.*;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -13,20 +19,30 @@ import java.util.function.Predicate;
  * @param <T> Entity type.
  */
 public class SQLiteDaoImpl<T> implements IDao<T> {
-    private static final String DB_URL = "jdbc:sqlite:src/main/resources/DataSource.db";
+    static final String DB_URL = "jdbc:sqlite:src/main/resources/DataSource.db";
     private final Class<T> clazz;
+    private final String dbUrl;
 
     /**
      * @param clazz The entity class type.
      */
     public SQLiteDaoImpl(Class<T> clazz) {
+        this(clazz, DB_URL);
+    }
+
+    /**
+     * @param clazz The entity class type.
+     * @param dbUrl JDBC URL of the database file (e.g. one file per workspace).
+     */
+    public SQLiteDaoImpl(Class<T> clazz, String dbUrl) {
         this.clazz = clazz;
+        this.dbUrl = dbUrl;
         createTableIfNotExists();
     }
 
     private void createTableIfNotExists() {
         synchronized (this) {
-            try (Connection conn = DriverManager.getConnection(DB_URL);
+            try (Connection conn = connect(dbUrl);
                  Statement stmt = conn.createStatement()) {
                 String sql = switch (clazz.getSimpleName()) {
                     case "Task" -> """
@@ -36,7 +52,9 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
                             durationHours INTEGER,
                             priority INTEGER,
                             remainingHours INTEGER,
-                            requiredSkill TEXT
+                            requiredSkill TEXT,
+                            createdAt INTEGER,
+                            version INTEGER NOT NULL DEFAULT 0
                         );""";
                     case "TeamMember" -> """
                         CREATE TABLE IF NOT EXISTS members (
@@ -45,24 +63,103 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
                             skills TEXT,
                             maxHoursPerDay INTEGER,
                             remainingHours INTEGER,
-                            efficiency REAL
+                            efficiency REAL,
+                            version INTEGER NOT NULL DEFAULT 0
                         );""";
                     case "Assignment" -> """
                         CREATE TABLE IF NOT EXISTS assignments (
                             taskId TEXT,
                             memberId TEXT,
                             assignedHours INTEGER,
+                            version INTEGER NOT NULL DEFAULT 0,
                             PRIMARY KEY (taskId, memberId)
                         );""";
                     default -> throw new IllegalArgumentException("Unsupported type");
                 };
+                // WAL: readers (including online backups) never block writers; persistent per database file
+                if (!SQLiteTransactionManager.isActive()) stmt.execute("PRAGMA journal_mode=WAL");
                 stmt.executeUpdate(sql);
+                if (!hasColumn(conn, tableName(), "version"))
+                    stmt.executeUpdate("ALTER TABLE " + tableName() + " ADD COLUMN version INTEGER NOT NULL DEFAULT 0");
+                if (clazz == Task.class) migrateTasksTable(conn, stmt);
+                if (clazz != Assignment.class) createSkillTables(conn, stmt);
+                // Lookups by task use the primary key prefix; lookups by member need their own index
+                else stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_assignments_member ON assignments (memberId)");
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to create table", e);
             }
         }
     }
 
+    /**
+     * Bring an older tasks table up to date: add the createdAt column (backfilled in rowid order,
+     * so existing tasks keep a stable relative order) and the (priority, createdAt) index.
+     */
+    private void migrateTasksTable(Connection conn, Statement stmt) throws SQLException {
+        if (!hasColumn(conn, "tasks", "createdAt")) {
+            stmt.executeUpdate("ALTER TABLE tasks ADD COLUMN createdAt INTEGER");
+        }
+        stmt.executeUpdate("UPDATE tasks SET createdAt = CAST(strftime('%s','now') AS INTEGER) * 1000 + rowid WHERE createdAt IS NULL");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_tasks_priority_createdAt ON tasks (priority, createdAt)");
+    }
+
+    /**
+     * Normalized skills: one row per distinct skill name, plus a link table per owner type.
+     * The (skillId, owner) indexes cover "who has skill X" lookups.
+     * Rows written by older versions (comma-joined TEXT only) are migrated into the link table.
+     */
+    private void createSkillTables(Connection conn, Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS skills (
+                id INTEGER PRIMARY KEY,
+                name TEXT NOT NULL UNIQUE
+            );""");
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS task_skills (
+                taskId TEXT NOT NULL,
+                skillId INTEGER NOT NULL,
+                position INTEGER NOT NULL,
+                PRIMARY KEY (taskId, skillId)
+            ) WITHOUT ROWID;""");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_task_skills_skill ON task_skills (skillId, taskId)");
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS member_skills (
+                memberId TEXT NOT NULL,
+                skillId INTEGER NOT NULL,
+                position INTEGER NOT NULL,
+                PRIMARY KEY (memberId, skillId)
+            ) WITHOUT ROWID;""");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_member_skills_skill ON member_skills (skillId, memberId)");
+
+        // Migrate legacy comma-joined skills that have no link rows yet
+        String table = (clazz == Task.class) ? "tasks" : "members";
+        String legacyColumn = legacySkillColumn();
+        Map<String, List<String>> legacy = new LinkedHashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT id, " + legacyColumn + " FROM " + table + " o"
+                + " WHERE " + legacyColumn + " IS NOT NULL AND " + legacyColumn + " <> ''"
+                + " AND NOT EXISTS (SELECT 1 FROM " + skillLinkTable() + " l WHERE l." + skillOwnerColumn() + " = o.id)")) {
+            while (rs.next()) {
+                legacy.put(rs.getString(1), List.of(rs.getString(2).split(",")));
+            }
+        }
+        if (!legacy.isEmpty()) {
+            conn.setAutoCommit(false);
+            writeSkills(conn, legacy);
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+            return false;
+        }
+    }
+
     @Override
     public synchronized void save(T entity) throws Exception {
         save(List.of(entity));
@@ -70,58 +167,83 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
 
     @Override
     public synchronized void save(List<T> entities) throws Exception {
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
+        try (Connection conn = connect(dbUrl)) {
             conn.setAutoCommit(false);
-            if (clazz == Task.class) {
-                try (PreparedStatement ps = conn.prepareStatement("""
-                    INSERT OR REPLACE INTO tasks (id, name, durationHours, priority, remainingHours, requiredSkill)
-                    VALUES (?, ?, ?, ?, ?, ?)
-                """)) {
-                    for (T obj : entities) {
-                        Task t = (Task) obj;
-                        ps.setString(1, t.getId());
-                        ps.setString(2, t.getName());
-                        ps.setInt(3, t.getDurationHours());
-                        ps.setInt(4, t.getPriority());
-                        ps.setInt(5, t.getRemainingHours());
-                        ps.setString(6, String.join(",", t.getRequiredSkills()));
-                        ps.addBatch();
-                    }
-                    ps.executeBatch();
+            writeRows(conn, entities);
+            conn.commit();
+        }
+    }
+
+    /**
+     * Insert or update the given entities (inside the caller's transaction).
+     * New rows start at version 1; every update of an existing row increments its version.
+     */
+    private void writeRows(Connection conn, List<T> entities) throws SQLException {
+        if (clazz == Task.class) {
+            try (PreparedStatement ps = conn.prepareStatement("""
+                INSERT INTO tasks (id, name, durationHours, priority, remainingHours, requiredSkill, createdAt, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, 1)
+                ON CONFLICT (id) DO UPDATE SET
+                    name = excluded.name, durationHours = excluded.durationHours, priority = excluded.priority,
+                    remainingHours = excluded.remainingHours, requiredSkill = excluded.requiredSkill,
+                    createdAt = excluded.createdAt, version = tasks.version + 1
+            """)) {
+                for (T obj : entities) {
+                    Task t = (Task) obj;
+                    ps.setString(1, t.getId());
+                    ps.setString(2, t.getName());
+                    ps.setInt(3, t.getDurationHours());
+                    ps.setInt(4, t.getPriority());
+                    ps.setInt(5, t.getRemainingHours());
+                    ps.setString(6, String.join(",", t.getRequiredSkills()));
+                    ps.setLong(7, t.getCreatedAt() != null ? t.getCreatedAt().toEpochMilli() : System.currentTimeMillis());
+                    ps.addBatch();
                 }
-            } else if (clazz == TeamMember.class) {
-                try (PreparedStatement ps = conn.prepareStatement("""
-                    INSERT OR REPLACE INTO members (id, name, skills, maxHoursPerDay, remainingHours, efficiency)
-                    VALUES (?, ?, ?, ?, ?, ?)
-                """)) {
-                    for (T obj : entities) {
-                        TeamMember m = (TeamMember) obj;
-                        ps.setString(1, m.getId());
-                        ps.setString(2, m.getName());
-                        ps.setString(3, String.join(",", m.getSkills()));
-                        ps.setInt(4, m.getMaxHoursPerDay());
-                        ps.setInt(5, m.getRemainingHours());
-                        ps.setDouble(6, m.getEfficiency());
-                        ps.addBatch();
-                    }
-                    ps.executeBatch();
+                ps.executeBatch();
+            }
+            Map<String, List<String>> skills = new LinkedHashMap<>();
+            for (T obj : entities) skills.put(((Task) obj).getId(), ((Task) obj).getRequiredSkills());
+            writeSkills(conn, skills);
+        } else if (clazz == TeamMember.class) {
+            try (PreparedStatement ps = conn.prepareStatement("""
+                INSERT INTO members (id, name, skills, maxHoursPerDay, remainingHours, efficiency, version)
+                VALUES (?, ?, ?, ?, ?, ?, 1)
+                ON CONFLICT (id) DO UPDATE SET
+                    name = excluded.name, skills = excluded.skills, maxHoursPerDay = excluded.maxHoursPerDay,
+                    remainingHours = excluded.remainingHours, efficiency = excluded.efficiency,
+                    version = members.version + 1
+            """)) {
+                for (T obj : entities) {
+                    TeamMember m = (TeamMember) obj;
+                    ps.setString(1, m.getId());
+                    ps.setString(2, m.getName());
+                    ps.setString(3, String.join(",", m.getSkills()));
+                    ps.setInt(4, m.getMaxHoursPerDay());
+                    ps.setInt(5, m.getRemainingHours());
+                    ps.setDouble(6, m.getEfficiency());
+                    ps.addBatch();
                 }
-            } else if (clazz == Assignment.class) {
-                try (PreparedStatement ps = conn.prepareStatement("""
-                    INSERT OR REPLACE INTO assignments (taskId, memberId, assignedHours)
-                    VALUES (?, ?, ?)
-                """)) {
-                    for (T obj : entities) {
-                        Assignment a = (Assignment) obj;
-                        ps.setString(1, a.getTaskId());
-                        ps.setString(2, a.getMemberId());
-                        ps.setInt(3, a.getAssignedHours());
-                        ps.addBatch();
-                    }
-                    ps.executeBatch();
+                ps.executeBatch();
+            }
+            Map<String, List<String>> skills = new LinkedHashMap<>();
+            for (T obj : entities) skills.put(((TeamMember) obj).getId(), ((TeamMember) obj).getSkills());
+            writeSkills(conn, skills);
+        } else if (clazz == Assignment.class) {
+            try (PreparedStatement ps = conn.prepareStatement("""
+                INSERT INTO assignments (taskId, memberId, assignedHours, version)
+                VALUES (?, ?, ?, 1)
+                ON CONFLICT (taskId, memberId) DO UPDATE SET
+                    assignedHours = excluded.assignedHours, version = assignments.version + 1
+            """)) {
+                for (T obj : entities) {
+                    Assignment a = (Assignment) obj;
+                    ps.setString(1, a.getTaskId());
+                    ps.setString(2, a.getMemberId());
+                    ps.setInt(3, a.getAssignedHours());
+                    ps.addBatch();
                 }
+                ps.executeBatch();
             }
-            conn.commit();
         }
     }
 
@@ -134,19 +256,93 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
             default -> throw new IllegalArgumentException("Unsupported type");
         };
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            List<T> result = new ArrayList<>();
-            while (rs.next()) {
-                result.add(mapResultSet(rs));
+        return queryAll(sql);
+    }
+
+    /**
+     * Tasks come straight from the (priority, createdAt) index, already in schedule order.
+     */
+    @Override
+    public synchronized List<T> loadInScheduleOrder() throws Exception {
+        if (clazz != Task.class) return load();
+        return queryAll("SELECT * FROM tasks ORDER BY priority, createdAt, id");
+    }
+
+    /**
+     * Tasks requiring / members having the given skill, straight from the (skillId, owner) index.
+     */
+    @Override
+    public synchronized List<T> findBySkill(String skill) throws Exception {
+        if (clazz == Assignment.class || skill == null) return new ArrayList<>();
+        String table = (clazz == Task.class) ? "tasks" : "members";
+        String link = skillLinkTable();
+        String owner = skillOwnerColumn();
+        try (Connection conn = connect(dbUrl)) {
+            // All skills of the matching owners, in one query
+            Map<String, List<String>> skills = new HashMap<>();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT l2." + owner + ", s2.name FROM skills s"
+                    + " JOIN " + link + " l ON l.skillId = s.id"
+                    + " JOIN " + link + " l2 ON l2." + owner + " = l." + owner
+                    + " JOIN skills s2 ON s2.id = l2.skillId"
+                    + " WHERE s.name = ? ORDER BY l2." + owner + ", l2.position")) {
+                ps.setString(1, skill);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        skills.computeIfAbsent(rs.getString(1), _ -> new ArrayList<>()).add(rs.getString(2));
+                    }
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT o.* FROM skills s JOIN " + link + " l ON l.skillId = s.id"
+                    + " JOIN " + table + " o ON o.id = l." + owner + " WHERE s.name = ?")) {
+                ps.setString(1, skill);
+                try (ResultSet rs = ps.executeQuery()) {
+                    List<T> result = new ArrayList<>();
+                    while (rs.next()) {
+                        result.add(mapResultSet(rs, skills));
+                    }
+                    return result;
+                }
+            }
+        }
+    }
+
+    /** Assignments of the member, from the memberId index. */
+    @Override
+    public synchronized List<T> findByMember(String memberId) throws Exception {
+        return findAssignmentsBy("memberId", memberId);
+    }
+
+    /** Assignments of the task, from the (taskId, memberId) primary key. */
+    @Override
+    public synchronized List<T> findByTask(String taskId) throws Exception {
+        return findAssignmentsBy("taskId", taskId);
+    }
+
+    private List<T> findAssignmentsBy(String column, String value) throws Exception {
+        if (clazz != Assignment.class || value == null) return new ArrayList<>();
+        try (Connection conn = connect(dbUrl);
+             PreparedStatement ps = conn.prepareStatement("SELECT * FROM assignments WHERE " + column + " = ?")) {
+            ps.setString(1, value);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<T> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(mapResultSet(rs, Map.of()));
+                }
+                return result;
             }
-            return result;
         }
     }
 
     @Override
     public synchronized T findById(String id) throws Exception {
+        Versioned<T> found = findVersionedById(id);
+        return (found == null) ? null : found.entity();
+    }
+
+    @Override
+    public synchronized Versioned<T> findVersionedById(String id) throws Exception {
         String sql = switch (clazz.getSimpleName()) {
             case "Task" -> "SELECT * FROM tasks WHERE id = ?";
             case "TeamMember" -> "SELECT * FROM members WHERE id = ?";
@@ -158,7 +354,7 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
             default -> throw new IllegalArgumentException("Unsupported type");
         };
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = connect(dbUrl);
              PreparedStatement ps = conn.prepareStatement(sql)) {
             if (clazz == Assignment.class) {
                 String[] parts = id.split("-");
@@ -169,13 +365,46 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
             }
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSet(rs);
+                    return new Versioned<>(mapResultSet(rs, loadSkills(conn, id)), rs.getLong("version"));
                 }
                 return null;
             }
         }
     }
 
+    /**
+     * Conditional update: the row is written only if its version still equals the expected one.
+     * The version check takes the database write lock, so nothing can slip in before the write.
+     */
+    @Override
+    public synchronized boolean updateIfVersion(T entity, long expectedVersion) throws Exception {
+        String id = getId(entity);
+        String key = (clazz == Assignment.class) ? "taskId = ? AND memberId = ?" : "id = ?";
+        try (Connection conn = connect(dbUrl)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE " + tableName() + " SET version = version WHERE " + key + " AND version = ?")) {
+                int i = 1;
+                if (clazz == Assignment.class) {
+                    String[] parts = id.split("-");
+                    ps.setString(i++, parts[0]);
+                    ps.setString(i++, parts[1]);
+                } else {
+                    ps.setString(i++, id);
+                }
+                ps.setLong(i, expectedVersion);
+                if (ps.executeUpdate() == 0) {
+                    // Inside a unit of work nothing was written; the rollback is the unit of work's call
+                    if (SQLiteTransactionManager.current(dbUrl) == null) conn.rollback();
+                    return false;
+                }
+            }
+            writeRows(conn, List.of(entity));
+            conn.commit();
+            return true;
+        }
+    }
+
     @Override
     public synchronized void update(T entity) throws Exception {
         String id = getId(entity);
@@ -188,32 +417,81 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
 
     @Override
     public synchronized boolean deleteById(String id) throws Exception {
+        if (clazz == Assignment.class && id.split("-").length != 2)
+            throw new IllegalArgumentException("Invalid Assignment id: " + id);
+
+        try (Connection conn = connect(dbUrl)) {
+            conn.setAutoCommit(false);
+            int affectedRows = deleteRows(conn, List.of(id));
+            conn.commit();
+            return affectedRows > 0;
+        }
+    }
+
+    /**
+     * Delete the given ids, and their skill links (inside the caller's transaction).
+     * @return Number of deleted rows.
+     */
+    private int deleteRows(Connection conn, List<String> ids) throws SQLException {
         String sql = switch (clazz.getSimpleName()) {
             case "Task" -> "DELETE FROM tasks WHERE id = ?";
             case "TeamMember" -> "DELETE FROM members WHERE id = ?";
-            case "Assignment" -> {
-                String[] parts = id.split("-");
-                if (parts.length != 2) throw new IllegalArgumentException("Invalid Assignment id: " + id);
-                yield "DELETE FROM assignments WHERE taskId = ? AND memberId = ?";
-            }
+            case "Assignment" -> "DELETE FROM assignments WHERE taskId = ? AND memberId = ?";
             default -> throw new IllegalArgumentException("Unsupported type");
         };
+        int affectedRows = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (String id : ids) {
+                if (clazz == Assignment.class) {
+                    String[] parts = id.split("-");
+                    ps.setString(1, parts[0]);
+                    ps.setString(2, parts[1]);
+                } else {
+                    ps.setString(1, id);
+                }
+                ps.addBatch();
+            }
+            for (int count : ps.executeBatch()) affectedRows += Math.max(count, 0);
+        }
+        if (clazz != Assignment.class) {
+            try (PreparedStatement links = conn.prepareStatement(
+                    "DELETE FROM " + skillLinkTable() + " WHERE " + skillOwnerColumn() + " = ?")) {
+                for (String id : ids) {
+                    links.setString(1, id);
+                    links.addBatch();
+                }
+                links.executeBatch();
+            }
+        }
+        return affectedRows;
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            if (clazz == Assignment.class) {
-                String[] parts = id.split("-");
-                ps.setString(1, parts[0]);
-                ps.setString(2, parts[1]);
-            } else {
-                ps.setString(1, id);
+
+    @Override
+    public synchronized boolean deleteByMember(String memberId) throws Exception {
+        return deleteAssignmentsBy("memberId", memberId);
+    }
+
+    @Override
+    public synchronized boolean deleteByTask(String taskId) throws Exception {
+        return deleteAssignmentsBy("taskId", taskId);
+    }
+
+    /** One indexed DELETE instead of loading the whole table for {@link #deleteIf(Predicate)}. */
+    private boolean deleteAssignmentsBy(String column, String value) throws Exception {
+        if (clazz != Assignment.class || value == null) return false;
+        try (Connection conn = connect(dbUrl)) {
+            conn.setAutoCommit(false);
+            int affectedRows;
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM assignments WHERE " + column + " = ?")) {
+                ps.setString(1, value);
+                affectedRows = ps.executeUpdate();
             }
-            int affectedRows = ps.executeUpdate();
+            conn.commit();
             return affectedRows > 0;
         }
     }
 
-
     @Override
     public synchronized void deleteAll() throws Exception {
         String table = switch (clazz.getSimpleName()) {
@@ -223,23 +501,45 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
             default -> throw new IllegalArgumentException("Unsupported type");
         };
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = connect(dbUrl);
              Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
             stmt.executeUpdate("DELETE FROM " + table);
+            if (clazz != Assignment.class) stmt.executeUpdate("DELETE FROM " + skillLinkTable());
+            conn.commit();
         }
     }
 
     @Override
     public synchronized boolean deleteIf(Predicate<T> predicate) throws Exception {
-        List<T> all = load();
-        boolean deleted = false;
-        for (T obj : all) {
-            if (predicate.test(obj)) {
-                deleteById(getId(obj));
-                deleted = true;
-            }
+        List<String> ids = new ArrayList<>();
+        for (T obj : load()) {
+            if (predicate.test(obj)) ids.add(getId(obj));
+        }
+        if (ids.isEmpty()) return false;
+        try (Connection conn = connect(dbUrl)) {
+            conn.setAutoCommit(false);
+            deleteRows(conn, ids);
+            conn.commit();
         }
-        return deleted;
+        return true;
+    }
+
+    /**
+     * Diff-based replace: only the changed rows are written, all in one transaction,
+     * so readers never observe a half-applied (or empty) set.
+     */
+    @Override
+    public synchronized int replaceMatching(Predicate<T> scope, List<T> replacement) throws Exception {
+        DaoUtils.Diff<T> diff = DaoUtils.diff(load(), scope, replacement);
+        if (diff.size() == 0) return 0;
+        try (Connection conn = connect(dbUrl)) {
+            conn.setAutoCommit(false);
+            if (!diff.removed().isEmpty()) deleteRows(conn, diff.removed());
+            if (!diff.changed().isEmpty()) writeRows(conn, diff.changed());
+            conn.commit();
+        }
+        return diff.size();
     }
 
     // Helper to extract ID for all supported types
@@ -250,23 +550,156 @@ public class SQLiteDaoImpl<T> implements IDao<T> {
         throw new IllegalArgumentException("Unknown type");
     }
 
+    /**
+     * Release the pooled connections of a database (e.g. when a workspace is closed).
+     * Connections currently in use are closed when they are returned.
+     * @param dbUrl JDBC URL of the database.
+     */
+    public static void closeConnections(String dbUrl) {
+        SQLiteConnectionPool.close(dbUrl);
+    }
+
+    /**
+     * Connection for one DAO call: the calling thread's unit-of-work connection on that database
+     * if one is active (see SQLiteTransactionManager), otherwise a pooled connection.
+     */
+    static Connection connect(String dbUrl) throws SQLException {
+        Connection tx = SQLiteTransactionManager.current(dbUrl);
+        return (tx != null) ? tx : SQLiteConnectionPool.forUrl(dbUrl).acquire();
+    }
+
+    private String tableName() {
+        return switch (clazz.getSimpleName()) {
+            case "Task" -> "tasks";
+            case "TeamMember" -> "members";
+            case "Assignment" -> "assignments";
+            default -> throw new IllegalArgumentException("Unsupported type");
+        };
+    }
+
+    // --- Skill tables ---
+
+    private String skillLinkTable() {
+        return (clazz == Task.class) ? "task_skills" : "member_skills";
+    }
+
+    private String skillOwnerColumn() {
+        return (clazz == Task.class) ? "taskId" : "memberId";
+    }
+
+    private String legacySkillColumn() {
+        return (clazz == Task.class) ? "requiredSkill" : "skills";
+    }
+
+    /**
+     * Replace the skill links of the given owners (inside the caller's transaction).
+     */
+    private void writeSkills(Connection conn, Map<String, List<String>> skillsByOwner) throws SQLException {
+        String link = skillLinkTable();
+        String owner = skillOwnerColumn();
+        // Each distinct skill name is inserted and looked up once per batch, not once per link
+        Set<String> names = new LinkedHashSet<>();
+        for (List<String> skills : skillsByOwner.values()) {
+            if (skills != null) names.addAll(skills);
+        }
+        Map<String, Long> skillIds = new HashMap<>();
+        try (PreparedStatement insertSkill = conn.prepareStatement("INSERT OR IGNORE INTO skills (name) VALUES (?)");
+             PreparedStatement selectSkill = conn.prepareStatement("SELECT id FROM skills WHERE name = ?")) {
+            for (String name : names) {
+                insertSkill.setString(1, name);
+                insertSkill.addBatch();
+            }
+            insertSkill.executeBatch();
+            for (String name : names) {
+                selectSkill.setString(1, name);
+                try (ResultSet rs = selectSkill.executeQuery()) {
+                    if (rs.next()) skillIds.put(name, rs.getLong(1));
+                }
+            }
+        }
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM " + link + " WHERE " + owner + " = ?");
+             PreparedStatement insertLink = conn.prepareStatement("INSERT OR IGNORE INTO " + link
+                     + " (" + owner + ", skillId, position) VALUES (?, ?, ?)")) {
+            for (Map.Entry<String, List<String>> e : skillsByOwner.entrySet()) {
+                delete.setString(1, e.getKey());
+                delete.addBatch();
+                if (e.getValue() == null) continue;
+                int position = 0;
+                for (String skill : e.getValue()) {
+                    insertLink.setString(1, e.getKey());
+                    insertLink.setLong(2, skillIds.get(skill));
+                    insertLink.setInt(3, position++);
+                    insertLink.addBatch();
+                }
+            }
+            delete.executeBatch();
+            insertLink.executeBatch();
+        }
+    }
+
+    /**
+     * Skills per owner id, in their original order.
+     * @param ownerId A single owner, or null for all owners.
+     */
+    private Map<String, List<String>> loadSkills(Connection conn, String ownerId) throws SQLException {
+        Map<String, List<String>> result = new HashMap<>();
+        if (clazz == Assignment.class) return result;
+        String owner = skillOwnerColumn();
+        String sql = "SELECT l." + owner + ", s.name FROM " + skillLinkTable() + " l JOIN skills s ON s.id = l.skillId"
+                + (ownerId != null ? " WHERE l." + owner + " = ?" : "")
+                + " ORDER BY l." + owner + ", l.position";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (ownerId != null) ps.setString(1, ownerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.computeIfAbsent(rs.getString(1), _ -> new ArrayList<>()).add(rs.getString(2));
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<T> queryAll(String sql) throws Exception {
+        try (Connection conn = connect(dbUrl)) {
+            Map<String, List<String>> skills = loadSkills(conn, null);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                List<T> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(mapResultSet(rs, skills));
+                }
+                return result;
+            }
+        }
+    }
+
+    /** Skills from the normalized tables, falling back to the legacy comma-joined column. */
+    private List<String> skillsOf(ResultSet rs, Map<String, List<String>> skills) throws SQLException {
+        List<String> normalized = skills.get(rs.getString("id"));
+        if (normalized != null) return normalized;
+        String legacy = rs.getString(legacySkillColumn());
+        return (legacy == null || legacy.isEmpty()) ? new ArrayList<>() : List.of(legacy.split(","));
+    }
+
     @SuppressWarnings("unchecked")
-    private T mapResultSet(ResultSet rs) throws Exception {
+    private T mapResultSet(ResultSet rs, Map<String, List<String>> skills) throws Exception {
         if (clazz == Task.class) {
             Task t = new Task(
                     rs.getString("id"),
                     rs.getString("name"),
                     rs.getInt("durationHours"),
                     rs.getInt("priority"),
-                    List.of(rs.getString("requiredSkill").split(","))
+                    skillsOf(rs, skills)
             );
             t.setRemainingHours(rs.getInt("remainingHours"));
+            long createdAt = rs.getLong("createdAt");
+            if (!rs.wasNull()) t.setCreatedAt(Instant.ofEpochMilli(createdAt));
             return (T) t;
         } else if (clazz == TeamMember.class) {
             TeamMember m = new TeamMember(
                     rs.getString("id"),
                     rs.getString("name"),
-                    List.of(rs.getString("skills").split(",")),
+                    skillsOf(rs, skills),
                     rs.getInt("maxHoursPerDay"),
                     rs.getDouble("efficiency")
             );
@@ -0,0 +1,62 @@
+package com.hit.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQLite implementation of IIdBlockDao: one row per sequence in {@code id_sequences}, holding the
+ * next unreserved value. A reservation is a single upsert with RETURNING, so it is atomic across
+ * threads and processes.
+ * <p>
+ * Reservations use their own pooled connection rather than the calling thread's unit of work: a
+ * block that was handed out must stay reserved even if that unit of work rolls back.
+ */
+public class SQLiteIdBlockDaoImpl implements IIdBlockDao {
+    private final String dbUrl;
+
+    public SQLiteIdBlockDaoImpl() {
+        this(SQLiteDaoImpl.DB_URL);
+    }
+
+    /**
+     * @param dbUrl JDBC URL of the database file holding the sequences.
+     */
+    public SQLiteIdBlockDaoImpl(String dbUrl) {
+        this.dbUrl = dbUrl;
+        try (Connection conn = SQLiteConnectionPool.forUrl(dbUrl).acquire();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS id_sequences (
+                    name TEXT PRIMARY KEY,
+                    next_value INTEGER NOT NULL
+                );""");
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create table", e);
+        }
+    }
+
+    @Override
+    public long reserveBlock(String sequence, int size, long atLeast) throws Exception {
+        if (size <= 0) throw new IllegalArgumentException("Block size must be positive");
+        long floor = Math.max(atLeast, 1);
+        try (Connection conn = SQLiteConnectionPool.forUrl(dbUrl).acquire();
+             PreparedStatement ps = conn.prepareStatement("""
+                 INSERT INTO id_sequences (name, next_value) VALUES (?, ? + ?)
+                 ON CONFLICT(name) DO UPDATE SET next_value = MAX(next_value, ?) + ?
+                 RETURNING next_value - ?""")) {
+            ps.setString(1, sequence);
+            ps.setLong(2, floor);
+            ps.setInt(3, size);
+            ps.setLong(4, floor);
+            ps.setInt(5, size);
+            ps.setInt(6, size);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) throw new SQLException("No value returned for sequence " + sequence);
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.hit.dao;
+
+import java.sql.*;
+
+/**
+ * SQLite implementation of IStatsDao.
+ * Every statistic is a single aggregate query (COUNT(*), NOT EXISTS), so nothing but the
+ * result is loaded into memory, regardless of table size.
+ */
+public class SQLiteStatsDaoImpl implements IStatsDao {
+    private final String dbUrl;
+
+    public SQLiteStatsDaoImpl() {
+        this(SQLiteDaoImpl.DB_URL);
+    }
+
+    /**
+     * @param dbUrl JDBC URL of the database file to query.
+     */
+    public SQLiteStatsDaoImpl(String dbUrl) {
+        this.dbUrl = dbUrl;
+    }
+
+    @Override
+    public int countTasks() throws Exception {
+        return queryInt("SELECT COUNT(*) FROM tasks");
+    }
+
+    @Override
+    public int countTeamMembers() throws Exception {
+        return queryInt("SELECT COUNT(*) FROM members");
+    }
+
+    /**
+     * Anti-join on the assignments primary key (taskId, memberId), which serves the lookup by taskId.
+     */
+    @Override
+    public int countUnassignedTasks() throws Exception {
+        return queryInt("""
+            SELECT COUNT(*) FROM tasks t
+            WHERE NOT EXISTS (SELECT 1 FROM assignments a WHERE a.taskId = t.id)
+        """);
+    }
+
+    @Override
+    public double averageLoad() throws Exception {
+        try (Connection conn = SQLiteDaoImpl.connect(dbUrl);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("""
+                 SELECT (SELECT COUNT(*) FROM assignments) AS total,
+                        (SELECT COUNT(*) FROM members) AS members
+             """)) {
+            rs.next();
+            int members = rs.getInt("members");
+            return members == 0 ? 0.0 : rs.getLong("total") / (double) members;
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        try (Connection conn = SQLiteDaoImpl.connect(dbUrl);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.hit.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit of work for the SQLite backend.
+ * Binds one connection to the calling thread for the duration of the work: every SQLiteDaoImpl
+ * (and SQLiteStatsDaoImpl) call made by that thread, on any entity type, runs on it, and the
+ * whole unit commits once. Any exception rolls back all tables together, and so does a DAO
+ * rolling back the shared connection: the unit is then marked rollback-only and fails at its end.
+ */
+public class SQLiteTransactionManager implements ITransactionManager {
+
+    /** The calling thread's open transaction. */
+    private record Tx(String dbUrl, Connection connection, AtomicBoolean rollbackOnly,
+                      List<Runnable> afterCompletion) {}
+
+    private static final ThreadLocal<Tx> current = new ThreadLocal<>();
+
+    private final String dbUrl;
+
+    public SQLiteTransactionManager() {
+        this(SQLiteDaoImpl.DB_URL);
+    }
+
+    /**
+     * @param dbUrl JDBC URL of the database the units of work run against.
+     */
+    public SQLiteTransactionManager(String dbUrl) {
+        this.dbUrl = dbUrl;
+    }
+
+    @Override
+    public <R> R inTransaction(UnitOfWork<R> work) throws Exception {
+        Tx outer = current.get();
+        if (outer != null) {
+            if (!outer.dbUrl().equals(dbUrl))
+                throw new IllegalStateException("A unit of work cannot span two databases");
+            return work.run(); // join the outer unit of work
+        }
+        Tx tx;
+        try (Connection conn = SQLiteConnectionPool.forUrl(dbUrl).acquire()) {
+            conn.setAutoCommit(false);
+            AtomicBoolean rollbackOnly = new AtomicBoolean();
+            tx = new Tx(dbUrl, shared(conn, rollbackOnly), rollbackOnly, new ArrayList<>());
+            current.set(tx);
+            try {
+                R result = work.run();
+                if (rollbackOnly.get())
+                    throw new IllegalStateException("Unit of work was rolled back by one of its DAO calls");
+                conn.commit();
+                return result;
+            } catch (Throwable t) {
+                conn.rollback();
+                throw t;
+            } finally {
+                current.remove();
+                for (Runnable r : tx.afterCompletion()) r.run();
+            }
+        }
+    }
+
+    /** @return True if the calling thread is inside a unit of work. */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    @Override
+    public boolean isInUnitOfWork() {
+        return current(dbUrl) != null;
+    }
+
+    @Override
+    public void afterCompletion(Runnable callback) {
+        Tx tx = current.get();
+        if (tx == null || !tx.dbUrl().equals(dbUrl)) callback.run();
+        else tx.afterCompletion().add(callback);
+    }
+
+    /** @return The calling thread's transaction connection on the given database, or null if there is none. */
+    static Connection current(String dbUrl) {
+        Tx tx = current.get();
+        return (tx == null || !tx.dbUrl().equals(dbUrl)) ? null : tx.connection();
+    }
+
+    /**
+     * View of the transaction connection handed to the DAOs: their own close/commit/autocommit
+     * calls are ignored, so only the unit of work decides when to commit. A full rollback only marks
+     * the unit of work rollback-only (rolling back to a savepoint stays local to the caller).
+     */
+    private static Connection shared(Connection conn, AtomicBoolean rollbackOnly) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close", "commit", "setAutoCommit" -> null;
+                    case "rollback" -> {
+                        if (args != null) yield invoke(conn, method, args);
+                        rollbackOnly.set(true);
+                        yield null;
+                    }
+                    default -> invoke(conn, method, args);
+                });
+    }
+
+    private static Object invoke(Connection conn, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(conn, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
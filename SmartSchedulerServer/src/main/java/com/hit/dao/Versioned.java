@@ -0,0 +1,10 @@
+package com.hit.dao;
+
+/**
+ * An entity together with the version it was read at.
+ * The version changes on every write of the entity; pass it back to
+ * {@link IDao#updateIfVersion} to update only if nobody else wrote in between.
+ *
+ * @param <T> Entity type.
+ */
+public record Versioned<T>(T entity, long version) {}
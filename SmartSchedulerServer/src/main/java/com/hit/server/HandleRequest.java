@@ -7,7 +7,6 @@ import com.hit.controller.ApiResponse;
 import java.io.*;
 import java.net.Socket;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.function.Function;
 
 /**
@@ -34,7 +33,7 @@ public class HandleRequest implements Runnable {
     /**
      * Main logic for handling a single client request.
      * <ul>
-     *     <li>Reads one line (JSON) from a client.</li>
+     *     <li>Reads one line (JSON) from a client; later lines are left to the action (see Request#getStream).</li>
      *     <li>Parses to {@link Request} object (if possible).</li>
      *     <li>Dispatches to correct handler in {@code actionMap}.</li>
      *     <li>Sends {@link ApiResponse} (always as JSON) to a client.</li>
@@ -47,15 +46,17 @@ public class HandleRequest implements Runnable {
         System.out.println("[Thread: " + Thread.currentThread().getName() + "] Connected: " + clientAddress);
 
         try (
-                Scanner reader = new Scanner(new InputStreamReader(socket.getInputStream()));
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
                 PrintWriter writer = new PrintWriter(new OutputStreamWriter(socket.getOutputStream()), true)
         ) {
             long startTime = System.currentTimeMillis();
 
-            if (reader.hasNextLine()) {
-                String json = reader.nextLine();
+            String json = reader.readLine();
+            if (json != null) {
                 try {
                     Request req = gson.fromJson(json, Request.class);
+                    // Streaming actions read any further lines themselves
+                    req.setStream(reader);
 
                     String action = (req.getHeaders() != null) ? req.getHeaders().get("action") : null;
                     ApiResponse<?> resp;
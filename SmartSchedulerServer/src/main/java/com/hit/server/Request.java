@@ -1,5 +1,6 @@
 package com.hit.server;
 
+import java.io.BufferedReader;
 import java.util.Map;
 
 /**
@@ -8,12 +9,15 @@ import java.util.Map;
  * Designed for compatibility with JSON serialization/deserialization via Gson.
  */
 public class Request {
-    /** Header fields such as "action", "client", etc. */
+    /** Header fields such as "action", "workspace", "client", etc. */
     private Map<String, String> headers;
 
     /** Request payload, typically parameters or object data. */
     private Map<String, Object> body;
 
+    /** Lines the client sent after the request line (not serialized; set by HandleRequest). */
+    private transient BufferedReader stream;
+
     /** Default constructor (for Gson) */
     public Request() {}
 
@@ -46,4 +50,17 @@ public class Request {
     public void setBody(Map<String, Object> body) {
         this.body = body;
     }
+
+    /**
+     * @return Reader over the lines following the request line on the same connection
+     *         (used by streaming actions such as task/import), or null if there is none.
+     */
+    public BufferedReader getStream() {
+        return stream;
+    }
+
+    /** @param stream Set the reader over the lines following the request line. */
+    public void setStream(BufferedReader stream) {
+        this.stream = stream;
+    }
 }
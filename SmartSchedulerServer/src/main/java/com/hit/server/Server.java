@@ -12,14 +12,13 @@ import java.util.function.Function;
 /**
  * Multi-threaded server for handling API requests from clients.
  * Initializes controllers and a single actionMap, and passes them to HandleRequest via a thread pool.
+ * Requests with a "workspace" header are routed to that workspace's own service (see WorkspaceManager).
  */
 public class Server implements Runnable {
     private final int port;
     private final ExecutorService pool;
     private final TaskAssignmentService service;
-    private final TaskController taskController;
-    private final TeamMemberController teamMemberController;
-    private final AssignmentController assignmentController;
+    private final WorkspaceManager workspaces;
     private final Map<String, Function<Request, ApiResponse<?>>> actionMap;
     private volatile boolean running = true;
 
@@ -30,6 +29,30 @@ public class Server implements Runnable {
      * @param service   Shared, thread-safe application service.
      */
     public Server(int port, int poolSize, TaskAssignmentService service) {
+        this(port, poolSize, service, null);
+    }
+
+    /**
+     * Server constructor with workspace routing.
+     * @param port       Port number to listen on.
+     * @param poolSize   Maximum thread pool size.
+     * @param service    Service for requests without a workspace header.
+     * @param workspaces Per-workspace services, or null to reject workspace headers.
+     */
+    public Server(int port, int poolSize, TaskAssignmentService service, WorkspaceManager workspaces) {
+        this(port, poolSize, service, workspaces, null);
+    }
+
+    /**
+     * Server constructor with workspace routing and admin actions.
+     * @param port       Port number to listen on.
+     * @param poolSize   Maximum thread pool size.
+     * @param service    Service for requests without a workspace header.
+     * @param workspaces Per-workspace services, or null to reject workspace headers.
+     * @param admin      Admin actions ("admin/..."), or null to disable them.
+     */
+    public Server(int port, int poolSize, TaskAssignmentService service, WorkspaceManager workspaces,
+                  AdminController admin) {
         this.port = port;
         this.pool = new ThreadPoolExecutor(
                 poolSize, poolSize,
@@ -37,22 +60,35 @@ public class Server implements Runnable {
                 new LinkedBlockingQueue<>()
         );
         this.service = service;
-        this.taskController = new TaskController(service);
-        this.teamMemberController = new TeamMemberController(service);
-        this.assignmentController = new AssignmentController(service);
-        this.actionMap = buildActionMap();
+        this.workspaces = workspaces;
+        this.actionMap = routeByWorkspace(buildActionMap(service));
+        if (admin != null) {
+            // ---- Admin (server-wide, not routed by workspace) ----
+            actionMap.put("admin/backup", admin::startBackup);
+            actionMap.put("admin/backupStatus", admin::getBackupStatus);
+            actionMap.put("admin/daoMetrics", admin::getDaoMetrics);
+        }
     }
 
     /**
-     * Builds the action map that links action strings to controller methods.
+     * Builds the action map that links action strings to controller methods of one service.
      * All handlers expect a Request, and return ApiResponse<?>.
      */
-    private Map<String, Function<Request, ApiResponse<?>>> buildActionMap() {
+    static Map<String, Function<Request, ApiResponse<?>>> buildActionMap(TaskAssignmentService service) {
+        TaskController taskController = new TaskController(service);
+        TeamMemberController teamMemberController = new TeamMemberController(service);
+        AssignmentController assignmentController = new AssignmentController(service);
+        ImportController importController = new ImportController(service);
         Map<String, Function<Request, ApiResponse<?>>> map = new HashMap<>();
 
         // ---- Tasks ----
         map.put("task/create", taskController::createNewTask);
         map.put("task/update", taskController::updateTask);
+        map.put("task/createBatch", taskController::createTasks);
+        map.put("task/updateBatch", taskController::updateTasks);
+        map.put("task/deleteBatch", taskController::deleteTasks);
+        map.put("task/version", taskController::getTaskVersion);
+        map.put("task/import", importController::importTasks);
         map.put("task/delete", taskController::deleteTask);
         map.put("task/getAll", taskController::getAllTasks);
         map.put("task/search", taskController::searchTasksByName);
@@ -62,9 +98,13 @@ public class Server implements Runnable {
         // ---- Team Members ----
         map.put("member/create", teamMemberController::createNewTeamMember);
         map.put("member/update", teamMemberController::updateTeamMember);
+        map.put("member/updateBatch", teamMemberController::updateTeamMembers);
+        map.put("member/version", teamMemberController::getTeamMemberVersion);
+        map.put("member/import", importController::importTeamMembers);
         map.put("member/delete", teamMemberController::deleteTeamMember);
         map.put("member/getAll", teamMemberController::getAllTeamMembers);
         map.put("member/search", teamMemberController::searchTeamMembersByName);
+        map.put("member/bySkill", teamMemberController::findTeamMembersBySkill);
         map.put("member/count", teamMemberController::countTeamMembers);
         map.put("member/averageLoad", teamMemberController::averageLoad);
 
@@ -74,10 +114,36 @@ public class Server implements Runnable {
         map.put("assignment/delete", assignmentController::deleteAssignment);
         map.put("assignment/getAll", assignmentController::getAllAssignments);
         map.put("assignment/forMember", assignmentController::getAssignmentsForTeamMember);
+        map.put("assignment/forTask", assignmentController::getAssignmentsForTask);
+        map.put("assignment/preview", assignmentController::previewAssignments);
+        map.put("assignment/awaitPlan", assignmentController::awaitPlan);
+        map.put("assignment/submit", assignmentController::submitAssignmentJob);
+        map.put("assignment/jobStatus", assignmentController::getJobStatus);
+        map.put("assignment/jobResult", assignmentController::getJobResult);
 
         return map;
     }
 
+    /**
+     * Wraps every action so that requests with a workspace header run against that workspace,
+     * and all others against the default service.
+     */
+    private Map<String, Function<Request, ApiResponse<?>>> routeByWorkspace(
+            Map<String, Function<Request, ApiResponse<?>>> defaultActions) {
+        Map<String, Function<Request, ApiResponse<?>>> routed = new HashMap<>();
+        for (Map.Entry<String, Function<Request, ApiResponse<?>>> e : defaultActions.entrySet()) {
+            String action = e.getKey();
+            Function<Request, ApiResponse<?>> handler = e.getValue();
+            routed.put(action, req -> {
+                String workspace = req.getHeaders().get(WorkspaceManager.HEADER);
+                if (workspace == null || workspace.isBlank()) return handler.apply(req);
+                if (workspaces == null) return ApiResponse.error("Workspaces are not enabled on this server.");
+                return workspaces.dispatch(workspace, action, req);
+            });
+        }
+        return routed;
+    }
+
     /**
      * Main server loop. Accepts clients, delegates to HandleRequest in thread pool.
      */
@@ -118,6 +184,22 @@ public class Server implements Runnable {
         } catch (InterruptedException ie) {
             pool.shutdownNow();
             Thread.currentThread().interrupt();
+        } finally {
+            if (workspaces != null) workspaces.close();
+            closeService();
+        }
+    }
+
+    /**
+     * Finish the default service's background work (a pending reassignment, running assignment jobs):
+     * its threads are daemons, so whatever is still queued at exit would be dropped.
+     */
+    private void closeService() {
+        try {
+            service.close();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            System.err.println("Background work did not finish: " + e.getMessage());
         }
     }
 
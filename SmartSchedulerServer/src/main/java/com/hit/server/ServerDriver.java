@@ -1,25 +1,48 @@
 package com.hit.server;
 
+import com.hit.controller.AdminController;
+import com.hit.dao.DaoExecutor;
 import com.hit.dao.DaoFactory;
 import com.hit.dao.IDao;
+import com.hit.dao.IIdBlockDao;
+import com.hit.dao.IStatsDao;
+import com.hit.dao.ITransactionManager;
+import com.hit.dao.InstrumentedDaoImpl;
+import com.hit.dao.SQLiteBackupManager;
 import com.hit.model.Assignment;
 import com.hit.model.Task;
 import com.hit.model.TeamMember;
 import com.hit.service.TaskAssignmentService;
 
+import java.time.Duration;
+
 public class ServerDriver {
     public static void main(String[] args) {
         try {
-            // Create DAOs for each model (thread-safe singleton)
-            IDao<Task> taskDao = DaoFactory.create("sqlite", Task.class);
-            IDao<TeamMember> memberDao = DaoFactory.create("sqlite", TeamMember.class);
-            IDao<Assignment> assignmentDao = DaoFactory.create("sqlite", Assignment.class);
+            // Storage backend: first argument, e.g. "cached" for an LRU read cache over SQLite (default "sqlite")
+            String backend = args.length > 0 ? args[0] : "sqlite";
+
+            // Create DAOs for each model (thread-safe singleton), measured for admin/daoMetrics
+            IDao<Task> taskDao = new InstrumentedDaoImpl<>(DaoFactory.create(backend, Task.class), Task.class);
+            IDao<TeamMember> memberDao = new InstrumentedDaoImpl<>(DaoFactory.create(backend, TeamMember.class), TeamMember.class);
+            IDao<Assignment> assignmentDao = new InstrumentedDaoImpl<>(DaoFactory.create(backend, Assignment.class), Assignment.class);
+
+            IStatsDao statsDao = DaoFactory.createStats(backend);
+            ITransactionManager transactions = DaoFactory.createTransactionManager(backend);
+            IIdBlockDao idBlocks = DaoFactory.createIdBlocks(backend);
 
             // Create the main service (inject DAOs)
-            TaskAssignmentService service = new TaskAssignmentService(taskDao, memberDao, assignmentDao);
+            TaskAssignmentService service = new TaskAssignmentService(taskDao, memberDao, assignmentDao, statsDao,
+                    transactions, DaoExecutor.shared(), idBlocks);
+
+            // One SQLite file per "workspace" header value, closed after 10 idle minutes
+            WorkspaceManager workspaces = new WorkspaceManager("src/main/resources/workspaces", Duration.ofMinutes(10));
 
             // Start the server: port 34567, pool size 10 (change as needed)
-            Server server = new Server(34567, 10, service);
+            // Online backups of DataSource.db (admin/backup, admin/backupStatus)
+            AdminController admin = new AdminController(new SQLiteBackupManager(), "src/main/resources/backups");
+
+            Server server = new Server(34567, 10, service, workspaces, admin);
             Thread serverThread = new Thread(server);
             serverThread.start();
 
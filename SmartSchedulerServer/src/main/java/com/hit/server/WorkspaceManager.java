@@ -0,0 +1,251 @@
+package com.hit.server;
+
+import com.hit.controller.ApiResponse;
+import com.hit.dao.DaoExecutor;
+import com.hit.dao.InstrumentedDaoImpl;
+import com.hit.dao.SQLiteDaoImpl;
+import com.hit.dao.SQLiteIdBlockDaoImpl;
+import com.hit.dao.SQLiteStatsDaoImpl;
+import com.hit.dao.SQLiteTransactionManager;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.TaskAssignmentService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Routes requests carrying a "workspace" header to a per-workspace service.
+ * Each workspace has its own SQLite file, connection pool, TaskAssignmentService and action map,
+ * so independent teams write to separate files in parallel instead of sharing one writer lock.
+ * <p>
+ * Workspaces are opened lazily on their first request and closed (background work of the service
+ * drained, pooled connections released) once they have been idle for the configured time with no
+ * request in flight.
+ */
+public class WorkspaceManager implements AutoCloseable {
+    /** Request header naming the workspace. */
+    public static final String HEADER = "workspace";
+
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    /** One open workspace. Guarded by its own monitor. */
+    private static final class Workspace {
+        final String dbUrl;
+        final TaskAssignmentService service;
+        final Map<String, Function<Request, ApiResponse<?>>> actions;
+        int inFlight;
+        long lastUsed = System.nanoTime();
+        /** No new requests enter; set before the release starts. */
+        boolean closed;
+        /** Background work drained and connections closed; a new service may open the file. */
+        boolean released;
+
+        Workspace(String dbUrl, TaskAssignmentService service) {
+            this.dbUrl = dbUrl;
+            this.service = service;
+            this.actions = Server.buildActionMap(service);
+        }
+    }
+
+    /** A piece of work run against a workspace's service. */
+    @FunctionalInterface
+    public interface ServiceCall<R> {
+        R apply(TaskAssignmentService service) throws Exception;
+    }
+
+    private final Path directory;
+    private final long idleTimeoutNanos;
+    private final long sweepMillis;
+    private final AtomicBoolean evictorStarted = new AtomicBoolean();
+    private final Map<String, Workspace> workspaces = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "workspace-evictor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param directory   Directory holding one database file per workspace (created if missing).
+     * @param idleTimeout How long an unused workspace stays open.
+     */
+    public WorkspaceManager(String directory, Duration idleTimeout) {
+        this.directory = Path.of(directory);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.sweepMillis = Math.max(1_000, idleTimeout.toMillis() / 2);
+    }
+
+    /**
+     * Run one action against the given workspace, opening it if needed.
+     * @param name   Workspace name (letters, digits, '-' and '_').
+     * @param action Action key, as in the server's action map.
+     * @param req    The request.
+     * @return The action's response, or an error for an invalid workspace or unknown action.
+     */
+    public ApiResponse<?> dispatch(String name, String action, Request req) {
+        if (!VALID_NAME.matcher(name).matches())
+            return ApiResponse.error("Invalid workspace name: " + name);
+        Workspace ws;
+        try {
+            ws = enter(name);
+        } catch (Exception e) {
+            return ApiResponse.error("Failed to open workspace " + name + ": " + e.getMessage(), 500);
+        }
+        try {
+            Function<Request, ApiResponse<?>> handler = ws.actions.get(action);
+            if (handler == null) return ApiResponse.error("Unknown or missing action: " + action);
+            return handler.apply(req);
+        } finally {
+            exit(ws);
+        }
+    }
+
+    /**
+     * Run work against the service of a workspace, opening it if needed. The workspace counts as in use
+     * until the call returns, so it is not evicted underneath it; do not keep the service afterwards.
+     * @return The call's result.
+     */
+    public <R> R withService(String name, ServiceCall<R> call) throws Exception {
+        if (!VALID_NAME.matcher(name).matches())
+            throw new IllegalArgumentException("Invalid workspace name: " + name);
+        Workspace ws = enter(name);
+        try {
+            return call.apply(ws.service);
+        } finally {
+            exit(ws);
+        }
+    }
+
+    /** @return Names of the currently open workspaces. */
+    public Set<String> getOpenWorkspaces() {
+        return new TreeSet<>(workspaces.keySet());
+    }
+
+    /**
+     * Close every workspace that is idle for longer than the timeout and has no request in flight.
+     * Runs periodically in the background; public for tests and admin use.
+     * @return Number of workspaces closed.
+     */
+    public int evictIdle() {
+        int evicted = 0;
+        long now = System.nanoTime();
+        for (Map.Entry<String, Workspace> e : workspaces.entrySet()) {
+            Workspace ws = e.getValue();
+            synchronized (ws) {
+                if (ws.closed || ws.inFlight > 0 || now - ws.lastUsed < idleTimeoutNanos) continue;
+                ws.closed = true;
+            }
+            retire(e.getKey(), ws);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /** Stop the evictor and close all workspaces. */
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        for (Map.Entry<String, Workspace> e : workspaces.entrySet()) {
+            synchronized (e.getValue()) {
+                if (e.getValue().closed) continue;
+                e.getValue().closed = true;
+            }
+            retire(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Drain the service's background work (pending reassignment, submitted jobs) before its
+     * connections are closed, so nothing writes to the file behind a later reopened service.
+     */
+    private static void release(Workspace ws) {
+        try {
+            ws.service.close();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            System.err.println("Background work of workspace " + ws.dbUrl + " did not finish: " + e.getMessage());
+        }
+        SQLiteDaoImpl.closeConnections(ws.dbUrl);
+    }
+
+    /**
+     * Release a workspace already marked closed. It stays in the map until the release is done, so
+     * requests for the same name wait for it (see {@link #enter}) instead of opening the file alongside it.
+     */
+    private void retire(String name, Workspace ws) {
+        try {
+            release(ws);
+        } finally {
+            synchronized (ws) {
+                ws.released = true;
+                ws.notifyAll();
+            }
+            workspaces.remove(name, ws);
+        }
+    }
+
+    private Workspace enter(String name) throws Exception {
+        // Started on first use rather than in the constructor, so no task sees a half-built manager
+        if (evictorStarted.compareAndSet(false, true))
+            evictor.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        while (true) {
+            Workspace ws;
+            try {
+                // One service per name, even when the first requests arrive together
+                ws = workspaces.computeIfAbsent(name, n -> {
+                    try {
+                        return open(n);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+            } catch (CompletionException e) {
+                throw (Exception) e.getCause();
+            }
+            synchronized (ws) {
+                if (!ws.closed) {
+                    ws.inFlight++;
+                    ws.lastUsed = System.nanoTime();
+                    return ws;
+                }
+                // Being evicted: wait until its writes are drained and its connections closed, then reopen
+                while (!ws.released) ws.wait();
+            }
+            workspaces.remove(name, ws);
+        }
+    }
+
+    private void exit(Workspace ws) {
+        synchronized (ws) {
+            ws.inFlight--;
+            ws.lastUsed = System.nanoTime();
+        }
+    }
+
+    private Workspace open(String name) throws Exception {
+        Files.createDirectories(directory);
+        String dbUrl = "jdbc:sqlite:" + directory.resolve(name + ".db");
+        TaskAssignmentService service = new TaskAssignmentService(
+                new InstrumentedDaoImpl<>(new SQLiteDaoImpl<>(Task.class, dbUrl), Task.class),
+                new InstrumentedDaoImpl<>(new SQLiteDaoImpl<>(TeamMember.class, dbUrl), TeamMember.class),
+                new InstrumentedDaoImpl<>(new SQLiteDaoImpl<>(Assignment.class, dbUrl), Assignment.class),
+                new SQLiteStatsDaoImpl(dbUrl),
+                new SQLiteTransactionManager(dbUrl),
+                DaoExecutor.shared(),
+                new SQLiteIdBlockDaoImpl(dbUrl));
+        return new Workspace(dbUrl, service);
+    }
+}
@@ -0,0 +1,185 @@
+package com.hit.service;
+
+import com.hit.model.Assignment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs assignment recalculations as background jobs, so a long scheduling run does not tie up a
+ * request thread or outlive the client's socket timeout.
+ * <p>
+ * {@link #submit(String)} returns a job id right away; the job runs on a bounded executor (at most
+ * {@code maxConcurrentJobs} at a time, {@code maxQueuedJobs} waiting) and callers poll
+ * {@link #getStatus(String)} until it is finished, then fetch {@link #getResult(String)}.
+ * Finished jobs are kept for the result TTL and then forgotten.
+ */
+public class AssignmentJobManager implements AutoCloseable {
+    public static final int DEFAULT_MAX_CONCURRENT_JOBS = 2;
+    public static final int DEFAULT_MAX_QUEUED_JOBS = 16;
+    public static final Duration DEFAULT_RESULT_TTL = Duration.ofMinutes(10);
+
+    /**
+     * Job phases with the completion percent they stand for. The strategies do not report progress
+     * themselves, so the percent advances per phase.
+     */
+    public enum Phase {
+        QUEUED(0), LOADING(10), ASSIGNING(40), SAVING(80), COMPLETED(100), FAILED(100);
+
+        private final int percent;
+
+        Phase(int percent) { this.percent = percent; }
+
+        public int getPercent() { return percent; }
+
+        public boolean isFinished() { return this == COMPLETED || this == FAILED; }
+    }
+
+    /**
+     * Snapshot of a job, as returned to clients.
+     * @param assignmentCount Number of assignments made (COMPLETED only).
+     * @param error           Failure message (FAILED only).
+     */
+    public record JobStatus(String id, String strategy, Phase phase, int percent, Instant submittedAt,
+                            Instant finishedAt, int assignmentCount, String error) {}
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final String strategy;
+        final Instant submittedAt = Instant.now();
+        volatile Phase phase = Phase.QUEUED;
+        volatile Instant finishedAt;
+        volatile List<Assignment> result;
+        volatile String error;
+
+        Job(String strategy) { this.strategy = strategy; }
+
+        JobStatus status() {
+            List<Assignment> r = result;
+            return new JobStatus(id, strategy, phase, phase.getPercent(), submittedAt, finishedAt,
+                    r == null ? 0 : r.size(), error);
+        }
+    }
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private final TaskAssignmentService service;
+    private final Duration resultTtl;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public AssignmentJobManager(TaskAssignmentService service) {
+        this(service, DEFAULT_MAX_CONCURRENT_JOBS, DEFAULT_MAX_QUEUED_JOBS, DEFAULT_RESULT_TTL);
+    }
+
+    /**
+     * @param service           Service whose assignments the jobs recalculate.
+     * @param maxConcurrentJobs Jobs running at the same time.
+     * @param maxQueuedJobs     Jobs waiting for a thread; further submissions are rejected.
+     * @param resultTtl         How long a finished job (and its result) stays available.
+     */
+    public AssignmentJobManager(TaskAssignmentService service, int maxConcurrentJobs, int maxQueuedJobs,
+                                Duration resultTtl) {
+        if (maxConcurrentJobs <= 0) throw new IllegalArgumentException("Concurrent jobs must be positive");
+        if (maxQueuedJobs <= 0) throw new IllegalArgumentException("Queued jobs must be positive");
+        if (resultTtl.isNegative()) throw new IllegalArgumentException("Result TTL cannot be negative");
+        this.service = service;
+        this.resultTtl = resultTtl;
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), r -> {
+                    Thread t = new Thread(r, "assignment-job-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        // Idle managers (e.g. of closed workspaces) keep no threads
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue a recalculation of all assignments.
+     * @param strategyName Strategy name (null or blank = greedy).
+     * @return The new job's status (QUEUED).
+     * @throws RejectedExecutionException If the job queue is full.
+     * @throws IllegalArgumentException   If the strategy is unknown.
+     */
+    public JobStatus submit(String strategyName) {
+        String strategy = (strategyName == null || strategyName.isBlank()) ? "greedy" : strategyName;
+        com.hit.algorithm.StrategyFactory.getStrategy(strategy); // unknown strategies fail now, not in the job
+        purgeExpired();
+        Job job = new Job(strategy);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.status();
+    }
+
+    /** @return The job's status, or null if it is unknown or expired. */
+    public JobStatus getStatus(String jobId) {
+        purgeExpired();
+        Job job = (jobId == null) ? null : jobs.get(jobId);
+        return job == null ? null : job.status();
+    }
+
+    /**
+     * @return The assignments a COMPLETED job stored, or null if the job is unknown, expired or not completed
+     *         (check {@link #getStatus(String)}).
+     */
+    public List<Assignment> getResult(String jobId) {
+        purgeExpired();
+        Job job = (jobId == null) ? null : jobs.get(jobId);
+        return (job == null || job.phase != Phase.COMPLETED) ? null : job.result;
+    }
+
+    /** @return Jobs waiting for a thread. */
+    public int getQueuedJobs() {
+        return executor.getQueue().size();
+    }
+
+    /** Stop accepting jobs; jobs already submitted still run. */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Wait for the jobs submitted before {@link #close()} to finish.
+     * @return True if they finished within the timeout.
+     */
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        return executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void run(Job job) {
+        try {
+            List<Assignment> result = service.assignTasks(job.strategy, phase -> job.phase = phase);
+            job.result = List.copyOf(result);
+            job.finishedAt = Instant.now();
+            job.phase = Phase.COMPLETED;
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.finishedAt = Instant.now();
+            job.phase = Phase.FAILED;
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> {
+            Instant finished = job.finishedAt;
+            return job.phase.isFinished() && finished != null && finished.isBefore(cutoff);
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.hit.service;
+
+import com.hit.model.Assignment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A "what-if" plan: the assignments a strategy would produce for the current snapshot with some tasks
+ * and members overridden, plus summary metrics to compare plans by. Nothing of it is stored; see
+ * {@link TaskAssignmentService#previewAssignments(String, List, List)}.
+ * Previews are cached and shared between callers, so they must not be modified.
+ *
+ * @param strategy        Strategy that computed the plan.
+ * @param snapshotVersion Snapshot the plan was computed from.
+ * @param assignments     The previewed plan.
+ * @param summary         Metrics of the previewed plan.
+ * @param cached          True if the preview came from the preview cache.
+ */
+public record AssignmentPreview(String strategy, long snapshotVersion, List<Assignment> assignments,
+                                Summary summary, boolean cached) {
+
+    /**
+     * @param assignedTasks      Tasks with at least one assignment.
+     * @param unassignedTasks    Tasks without any assignment.
+     * @param assignedHours      Hours over all assignments.
+     * @param averageLoad        Assignments per member (same definition as the dashboard statistic).
+     * @param hoursPerMember     Assigned hours by member id (members without assignments included).
+     * @param changedAssignments Assignments added, removed or changed compared with the stored plan.
+     */
+    public record Summary(int assignedTasks, int unassignedTasks, long assignedHours, double averageLoad,
+                          Map<String, Integer> hoursPerMember, int changedAssignments) {}
+
+    /** The same preview, marked as served from the cache. */
+    AssignmentPreview fromCache() {
+        return cached ? this : new AssignmentPreview(strategy, snapshotVersion, assignments, summary, true);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hit.service;
+
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch operation (task/createBatch, task/updateBatch, ...).
+ * @param items       One entry per request item, by position in the request.
+ * @param planVersion Plan version that includes the batch's changes (see
+ *                    {@link TaskAssignmentService#awaitPlan(long)}), or 0 if no recalculation was needed.
+ */
+public record BatchResult(List<Item> items, int succeeded, int failed, long planVersion) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, CONFLICT, INVALID;
+
+        public boolean isSuccess() { return this == CREATED || this == UPDATED || this == DELETED; }
+    }
+
+    /**
+     * @param index   Position of the item in the request (0-based).
+     * @param id      Entity id (the new id for created items; null if the item had none).
+     * @param message Why the item failed (null on success).
+     */
+    public record Item(int index, String id, Status status, String message) {}
+
+    /**
+     * An update of one entity in a batch.
+     * @param index           Position of the item in the request.
+     * @param expectedVersion Version the client read the entity at, or null to overwrite whatever is stored.
+     */
+    public record Update<T>(int index, String id, T entity, Long expectedVersion) {}
+
+    public static BatchResult of(List<Item> items, long planVersion) {
+        int ok = (int) items.stream().filter(i -> i.status().isSuccess()).count();
+        return new BatchResult(List.copyOf(items), ok, items.size() - ok, planVersion);
+    }
+}
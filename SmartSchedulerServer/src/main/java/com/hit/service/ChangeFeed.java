@@ -0,0 +1,154 @@
+package com.hit.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-process feed of the changes committed through a TaskAssignmentService, so caches and views can
+ * follow the data incrementally instead of re-fetching whole lists.
+ * <p>
+ * Every committed write appends one {@link ChangeEvent}; its version is the version of the
+ * {@link StateSnapshot} the write published, so versions increase by one per event. Events live in a
+ * fixed-size ring buffer: memory stays bounded no matter how many subscribers there are or how far
+ * behind they fall. Subscribers only keep a cursor and read without locking (the writer never waits
+ * for them); one that fell more than a buffer behind is told to resync, i.e. reload
+ * {@link TaskAssignmentService#getSnapshot()} and continue from that snapshot's version.
+ */
+public class ChangeFeed {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    public enum Type {
+        TASK_CREATED, TASK_UPDATED, TASK_DELETED,
+        MEMBER_CREATED, MEMBER_UPDATED, MEMBER_DELETED,
+        /** Assignments recalculated; ids are the member whose assignments were replaced, or empty for all. */
+        ASSIGNMENTS_REPLACED,
+        /** One assignment removed; ids are its task id and member id. */
+        ASSIGNMENT_DELETED,
+        /** All data removed. */
+        CLEARED,
+        /** Snapshot reloaded from storage (data changed outside the service); subscribers should resync. */
+        REFRESHED
+    }
+
+    /**
+     * One committed change.
+     * @param version Snapshot version after the change.
+     * @param ids     Ids of the affected entities (see {@link Type}).
+     */
+    public record ChangeEvent(long version, Type type, List<String> ids, Instant timestamp) {}
+
+    /**
+     * Result of a read.
+     * @param events         Events in version order (empty if resync is required).
+     * @param resyncRequired True if events after the requested version are no longer buffered.
+     * @param latestVersion  Latest published version at the time of the read.
+     */
+    public record Batch(List<ChangeEvent> events, boolean resyncRequired, long latestVersion) {}
+
+    private final AtomicReferenceArray<ChangeEvent> ring;
+    private final int mask;
+    private final AtomicLong published;
+
+    public ChangeFeed() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * @param capacity       Events kept (rounded up to a power of two).
+     * @param initialVersion Version of the state the feed starts after (the first event is one higher).
+     */
+    public ChangeFeed(int capacity, long initialVersion) {
+        if (capacity <= 0 || capacity > (1 << 30)) throw new IllegalArgumentException("Capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.published = new AtomicLong(initialVersion);
+    }
+
+    /**
+     * Append the next event. Appends must not run concurrently (the service appends while holding
+     * its snapshot lock); reads may run at any time.
+     * @return The appended event.
+     */
+    ChangeEvent append(Type type, List<String> ids) {
+        long version = published.get() + 1;
+        ChangeEvent event = new ChangeEvent(version, type, List.copyOf(ids), Instant.now());
+        ring.set((int) (version & mask), event);
+        published.set(version); // readers see the slot before the new version
+        return event;
+    }
+
+    /** @return Latest published version. */
+    public long getVersion() {
+        return published.get();
+    }
+
+    /** @return Number of events the buffer keeps. */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Read the events after a version.
+     * @param afterVersion Last version the caller has seen.
+     * @param maxEvents    Maximum number of events to return.
+     */
+    public Batch readAfter(long afterVersion, int maxEvents) {
+        if (maxEvents <= 0) throw new IllegalArgumentException("Max events must be positive");
+        long latest = published.get();
+        if (afterVersion > latest) throw new IllegalArgumentException("Version " + afterVersion + " not published yet");
+        if (afterVersion < latest - getCapacity()) return new Batch(List.of(), true, latest);
+        long last = Math.min(latest, afterVersion + maxEvents);
+        List<ChangeEvent> events = new ArrayList<>((int) (last - afterVersion));
+        for (long v = afterVersion + 1; v <= last; v++) {
+            ChangeEvent event = ring.get((int) (v & mask));
+            // Overwritten by the writer while we were reading: we fell behind
+            if (event == null || event.version() != v) return new Batch(List.of(), true, published.get());
+            events.add(event);
+        }
+        return new Batch(events, false, latest);
+    }
+
+    /** @return A subscriber starting after the latest published version. */
+    public Subscription subscribe() {
+        return new Subscription(published.get());
+    }
+
+    /** @return A subscriber starting after the given version (e.g. of a snapshot it just loaded). */
+    public Subscription subscribe(long afterVersion) {
+        return new Subscription(afterVersion);
+    }
+
+    /** Cursor of one consumer; subscribers are independent and need no unsubscribing. Not thread-safe. */
+    public final class Subscription {
+        private long position;
+
+        private Subscription(long afterVersion) {
+            this.position = afterVersion;
+        }
+
+        /**
+         * @return The next events; on {@code resyncRequired} the position is unchanged and the caller
+         *         reloads the snapshot and calls {@link #seek(long)} with its version.
+         */
+        public Batch poll(int maxEvents) {
+            Batch batch = readAfter(position, maxEvents);
+            if (!batch.events().isEmpty()) position = batch.events().get(batch.events().size() - 1).version();
+            return batch;
+        }
+
+        /** Continue after the given version. */
+        public void seek(long afterVersion) {
+            this.position = afterVersion;
+        }
+
+        /** @return Last version consumed. */
+        public long getPosition() {
+            return position;
+        }
+    }
+}
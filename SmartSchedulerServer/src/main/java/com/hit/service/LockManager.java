@@ -0,0 +1,163 @@
+package com.hit.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Central lock manager for the service's tables.
+ * <p>
+ * Locks are always acquired in one global order (the order of {@link Resource}), so two operations can
+ * never wait for each other in a cycle. An operation names all the tables it needs up front; nested calls
+ * on the same thread may re-enter tables it already holds, but asking for a table ordered before one it
+ * holds (or upgrading a read to a write) fails immediately with IllegalStateException instead of
+ * deadlocking under load.
+ * <p>
+ * Each table is a {@link StampedLock}, so cheap read-only queries (the statistics) can run optimistically:
+ * without locking at all, and retried under read locks only if a writer got in between.
+ */
+public class LockManager {
+
+    /** Lockable tables, in acquisition order. */
+    public enum Resource { TASKS, MEMBERS, ASSIGNMENTS }
+
+    private enum Mode { READ, WRITE }
+
+    private record Held(Mode mode, long stamp) {}
+
+    /** Releases the locks acquired by one {@link #lock} call, in reverse order. */
+    public interface Guard extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final Map<Resource, StampedLock> locks = new EnumMap<>(Resource.class);
+    private final ThreadLocal<EnumMap<Resource, Held>> held = ThreadLocal.withInitial(() -> new EnumMap<>(Resource.class));
+
+    private final LongAdder optimisticReads = new LongAdder();
+    private final LongAdder optimisticFallbacks = new LongAdder();
+
+    public LockManager() {
+        for (Resource r : Resource.values()) locks.put(r, new StampedLock());
+    }
+
+    public Guard read(Resource... resources) {
+        return lock(toSet(resources), EnumSet.noneOf(Resource.class));
+    }
+
+    public Guard write(Resource... resources) {
+        return lock(EnumSet.noneOf(Resource.class), toSet(resources));
+    }
+
+    /**
+     * Acquire read locks on {@code reads} and write locks on {@code writes} (a table in both is written),
+     * in the global order.
+     * @throws IllegalStateException If the current thread holds a table ordered after one requested here
+     *                               (that it does not already hold), or holds a requested write table for reading.
+     */
+    public Guard lock(Set<Resource> reads, Set<Resource> writes) {
+        EnumMap<Resource, Held> mine = held.get();
+        EnumSet<Resource> wanted = EnumSet.noneOf(Resource.class);
+        wanted.addAll(reads);
+        wanted.addAll(writes);
+        for (Resource r : wanted) {
+            Held h = mine.get(r);
+            if (h == null) {
+                for (Resource other : mine.keySet()) {
+                    if (other.compareTo(r) > 0)
+                        throw new IllegalStateException("Lock order violation: " + r + " requested while holding " + other);
+                }
+            } else if (h.mode() == Mode.READ && writes.contains(r)) {
+                throw new IllegalStateException("Cannot upgrade the read lock on " + r + " to a write lock");
+            }
+        }
+
+        List<Resource> acquired = new ArrayList<>();
+        try {
+            for (Resource r : wanted) { // EnumSet iterates in declaration order
+                if (mine.containsKey(r)) continue;
+                StampedLock lock = locks.get(r);
+                Held h = writes.contains(r) ? new Held(Mode.WRITE, lock.writeLockInterruptibly())
+                        : new Held(Mode.READ, lock.readLockInterruptibly());
+                mine.put(r, h);
+                acquired.add(r);
+            }
+        } catch (InterruptedException e) {
+            release(acquired);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + wanted, e);
+        }
+        return () -> release(acquired);
+    }
+
+    /**
+     * Run a read-only query without taking locks, and accept the result only if no writer
+     * locked any of {@code resources} meanwhile; otherwise run it again under read locks.
+     * The query may therefore run twice and must not have side effects.
+     */
+    public <R> R readOptimistically(Callable<R> query, Resource... resources) throws Exception {
+        EnumMap<Resource, Held> mine = held.get();
+        boolean holdsAll = true;
+        for (Resource r : resources) holdsAll &= mine.containsKey(r);
+        if (holdsAll) return query.call();
+
+        long[] stamps = new long[resources.length];
+        boolean free = true;
+        for (int i = 0; i < resources.length; i++) {
+            stamps[i] = locks.get(resources[i]).tryOptimisticRead();
+            free &= stamps[i] != 0;
+        }
+        if (free) {
+            R result = null;
+            Exception failure = null;
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                failure = e; // may be caused by a concurrent write; decided by validation below
+            }
+            boolean valid = true;
+            for (int i = 0; i < resources.length; i++) valid &= locks.get(resources[i]).validate(stamps[i]);
+            if (valid) {
+                optimisticReads.increment();
+                if (failure != null) throw failure;
+                return result;
+            }
+        }
+        optimisticFallbacks.increment();
+        try (Guard _ = read(resources)) {
+            return query.call();
+        }
+    }
+
+    /** @return Whether the current thread holds {@code resource} (in any mode). */
+    public boolean isHeldByCurrentThread(Resource resource) {
+        return held.get().containsKey(resource);
+    }
+
+    /** @return Optimistic reads that were accepted without locking. */
+    public long getOptimisticReadCount() { return optimisticReads.sum(); }
+
+    /** @return Optimistic reads that had to be repeated under read locks. */
+    public long getOptimisticFallbackCount() { return optimisticFallbacks.sum(); }
+
+    private void release(List<Resource> acquired) {
+        EnumMap<Resource, Held> mine = held.get();
+        for (int i = acquired.size() - 1; i >= 0; i--) {
+            Resource r = acquired.get(i);
+            Held h = mine.remove(r);
+            if (h != null) locks.get(r).unlock(h.stamp());
+        }
+    }
+
+    private static EnumSet<Resource> toSet(Resource... resources) {
+        EnumSet<Resource> set = EnumSet.noneOf(Resource.class);
+        for (Resource r : resources) set.add(r);
+        return set;
+    }
+}
@@ -0,0 +1,79 @@
+package com.hit.service;
+
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Short-lived cache of assignment previews, so toggling between a few what-if settings in the UI does not
+ * rerun the strategy every time. Entries are keyed by the snapshot version, the strategy and the overrides,
+ * so a committed write makes older entries unreachable; they then age out after the TTL or are evicted
+ * as least recently used.
+ */
+final class PreviewCache {
+    static final int DEFAULT_MAX_ENTRIES = 64;
+    static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    private record Key(long snapshotVersion, String strategy, String overrides) {}
+
+    private record Entry(AssignmentPreview preview, long expiresAt) {}
+
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+
+    PreviewCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    PreviewCache(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("Cache size must be positive");
+        this.ttlNanos = ttl.toNanos();
+        // Access-ordered LinkedHashMap = LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** @return The cached preview, or null if there is none or it expired. */
+    synchronized AssignmentPreview get(long snapshotVersion, String strategy, List<Task> tasks, List<TeamMember> members) {
+        Key key = new Key(snapshotVersion, strategy, fingerprint(tasks, members));
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (System.nanoTime() - entry.expiresAt() > 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.preview().fromCache();
+    }
+
+    synchronized void put(AssignmentPreview preview, List<Task> tasks, List<TeamMember> members) {
+        Key key = new Key(preview.snapshotVersion(), preview.strategy(), fingerprint(tasks, members));
+        entries.put(key, new Entry(preview, System.nanoTime() + ttlNanos));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /** Every field the strategies read, in override order. */
+    private static String fingerprint(List<Task> tasks, List<TeamMember> members) {
+        StringBuilder sb = new StringBuilder();
+        for (Task t : tasks) {
+            sb.append("T|").append(t.getId()).append('|').append(t.getName()).append('|').append(t.getDurationHours())
+                    .append('|').append(t.getPriority()).append('|').append(t.getRequiredSkills())
+                    .append('|').append(t.getCreatedAt()).append('\n');
+        }
+        for (TeamMember m : members) {
+            sb.append("M|").append(m.getId()).append('|').append(m.getName()).append('|').append(m.getSkills())
+                    .append('|').append(m.getMaxHoursPerDay()).append('|').append(m.getEfficiency()).append('\n');
+        }
+        return sb.toString();
+    }
+}
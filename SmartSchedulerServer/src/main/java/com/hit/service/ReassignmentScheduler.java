@@ -0,0 +1,180 @@
+package com.hit.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Debounced background reassignment.
+ * <p>
+ * Writes call {@link #request(String)} instead of recomputing the plan themselves: the plan is only marked
+ * dirty, and one background run starts once no request came in for the quiet period, or at the latest
+ * after the max delay since the first pending request. A burst of edits therefore costs one scheduling
+ * run instead of one per edit. Requests made while a run is in progress are picked up by the next run;
+ * the strategy of the latest request wins.
+ * <p>
+ * Each request returns the plan version that will include it, and {@link #await(long)} completes once that
+ * version has been computed. Runs of one scheduler never overlap.
+ */
+public class ReassignmentScheduler {
+    public static final long DEFAULT_QUIET_MILLIS = 50;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 500;
+
+    /** The recomputation itself (normally TaskAssignmentService.assignTasks). */
+    @FunctionalInterface
+    public interface Reassignment {
+        void run(String strategyName) throws Exception;
+    }
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, r -> {
+        Thread t = new Thread(r, "reassignment-" + threadCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Reassignment reassignment;
+    private final long quietNanos;
+    private final long maxDelayNanos;
+
+    // Guarded by this
+    private long requested;
+    private long completed;
+    private long succeeded;
+    private String pendingStrategy;
+    private long firstPendingAt;
+    private ScheduledFuture<?> timer;
+    private boolean running;
+    private boolean closed;
+    private Exception lastFailure;
+    private final TreeMap<Long, CompletableFuture<Long>> waiters = new TreeMap<>();
+
+    /**
+     * @param reassignment The recomputation to run.
+     */
+    public ReassignmentScheduler(Reassignment reassignment) {
+        this(reassignment, DEFAULT_QUIET_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * @param reassignment   The recomputation to run.
+     * @param quietMillis    Run once no request came in for this long.
+     * @param maxDelayMillis Run at the latest this long after the first pending request.
+     */
+    public ReassignmentScheduler(Reassignment reassignment, long quietMillis, long maxDelayMillis) {
+        if (quietMillis < 0 || maxDelayMillis < quietMillis)
+            throw new IllegalArgumentException("Expected 0 <= quiet period <= max delay");
+        this.reassignment = reassignment;
+        this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * Mark the plan dirty.
+     * @param strategyName Strategy for the next run.
+     * @return The plan version that will include this request.
+     * @throws IllegalStateException If the scheduler is closed.
+     */
+    public synchronized long request(String strategyName) {
+        if (closed) throw new IllegalStateException("Reassignment scheduler is closed");
+        requested++;
+        pendingStrategy = strategyName;
+        long now = System.nanoTime();
+        if (firstPendingAt == 0) firstPendingAt = now;
+        if (!running) schedule(now);
+        return requested;
+    }
+
+    /**
+     * @param version A plan version returned by {@link #request(String)}.
+     * @return Future completed with the computed plan version once it is at least {@code version};
+     *         completed exceptionally if the run covering it failed.
+     */
+    public synchronized CompletableFuture<Long> await(long version) {
+        if (completed >= version) {
+            // Versions after the last successful run were covered by the failed one
+            return (version <= succeeded || lastFailure == null) ? CompletableFuture.completedFuture(completed)
+                    : CompletableFuture.failedFuture(lastFailure);
+        }
+        return waiters.computeIfAbsent(version, v -> new CompletableFuture<>());
+    }
+
+    /** @return Future completed once every request made so far is included in the plan. */
+    public synchronized CompletableFuture<Long> awaitLatest() {
+        return await(requested);
+    }
+
+    /**
+     * Stop accepting requests and run the pending one, if any, right away instead of after the quiet period.
+     * @return Future completed once every request made before closing is included in the plan.
+     */
+    public synchronized CompletableFuture<Long> close() {
+        closed = true;
+        if (!running && requested > completed) {
+            if (timer != null) timer.cancel(false);
+            timer = executor.schedule(this::runPending, 0, TimeUnit.NANOSECONDS);
+        }
+        return awaitLatest();
+    }
+
+    /** @return Latest computed plan version (0 before the first run). */
+    public synchronized long getPlanVersion() {
+        return completed;
+    }
+
+    /** @return Latest requested plan version; greater than {@link #getPlanVersion()} while a run is pending. */
+    public synchronized long getRequestedVersion() {
+        return requested;
+    }
+
+    /** @return Failure of the latest run, or null if it succeeded. */
+    public synchronized Exception getLastFailure() {
+        return lastFailure;
+    }
+
+    /** (Re)arm the timer: quiet period from now, capped by the max delay since the first pending request. */
+    private void schedule(long now) {
+        if (timer != null) timer.cancel(false);
+        long delay = Math.max(0, Math.min(quietNanos, firstPendingAt + maxDelayNanos - now));
+        timer = executor.schedule(this::runPending, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void runPending() {
+        long version;
+        String strategy;
+        synchronized (this) {
+            if (running || completed >= requested) return;
+            running = true;
+            timer = null;
+            version = requested;
+            strategy = pendingStrategy;
+            firstPendingAt = 0;
+        }
+        Exception failure = null;
+        try {
+            reassignment.run(strategy);
+        } catch (Exception e) {
+            failure = e;
+        }
+        synchronized (this) {
+            running = false;
+            completed = version;
+            if (failure == null) succeeded = version;
+            lastFailure = failure;
+            Iterator<Map.Entry<Long, CompletableFuture<Long>>> it = waiters.headMap(version, true).entrySet().iterator();
+            while (it.hasNext()) {
+                CompletableFuture<Long> waiter = it.next().getValue();
+                if (failure == null) waiter.complete(version);
+                else waiter.completeExceptionally(failure);
+                it.remove();
+            }
+            if (requested > completed) schedule(System.nanoTime());
+        }
+    }
+}
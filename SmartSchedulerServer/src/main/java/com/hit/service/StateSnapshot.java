@@ -0,0 +1,305 @@
+package com.hit.service;
+
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, versioned view of all tasks, members and assignments, as of the last committed write.
+ * <p>
+ * The service publishes a new snapshot after every write and readers just dereference the current one,
+ * so reads never lock or touch the DAO. A new snapshot shares the unchanged tables with the previous one
+ * and only copies the tables that changed, so a publish costs O(size of those tables). The tables are plain
+ * ordered maps rather than structurally shared ones (the module has no persistent collections), so
+ * writers collect all the rows of a publish in one {@link Changes} and {@link #applyAll} copies each
+ * table once, not once per row. Entities are stored as private copies and handed out as copies,
+ * so callers may mutate what they get (the strategies change remainingHours in place).
+ * <p>
+ * Assignments are also grouped by member and by task. The grouping is built on first use and carried over
+ * to derived snapshots that keep the same assignments table.
+ */
+public final class StateSnapshot {
+    private final long version;
+    private final Map<String, Task> tasks;
+    private final Map<String, TeamMember> members;
+    private final Map<String, Assignment> assignments;
+    private volatile AssignmentIndex assignmentIndex;
+
+    /** Assignments by memberId and by taskId, in table order (serves assignment/forMember and assignment/forTask). */
+    private record AssignmentIndex(Map<String, List<Assignment>> byMember, Map<String, List<Assignment>> byTask) {
+        static AssignmentIndex of(Map<String, Assignment> assignments) {
+            Map<String, List<Assignment>> byMember = new HashMap<>();
+            Map<String, List<Assignment>> byTask = new HashMap<>();
+            for (Assignment a : assignments.values()) {
+                byMember.computeIfAbsent(a.getMemberId(), _ -> new ArrayList<>()).add(a);
+                byTask.computeIfAbsent(a.getTaskId(), _ -> new ArrayList<>()).add(a);
+            }
+            return new AssignmentIndex(byMember, byTask);
+        }
+    }
+
+    private StateSnapshot(long version, Map<String, Task> tasks, Map<String, TeamMember> members,
+                         Map<String, Assignment> assignments) {
+        this.version = version;
+        this.tasks = tasks;
+        this.members = members;
+        this.assignments = assignments;
+    }
+
+    /** Snapshot of the given rows (in the given order, which reads keep). */
+    static StateSnapshot of(long version, List<Task> tasks, List<TeamMember> members, List<Assignment> assignments) {
+        return new StateSnapshot(version, indexTasks(tasks), indexMembers(members), indexAssignments(assignments));
+    }
+
+    // --- Reads (copies) ---
+
+    /** @return Number of snapshots published before this one since the service started. */
+    public long getVersion() { return version; }
+
+    public List<Task> getTasks() {
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (Task t : tasks.values()) result.add(copy(t));
+        return result;
+    }
+
+    public Task getTask(String id) {
+        return copy(tasks.get(id));
+    }
+
+    public List<TeamMember> getMembers() {
+        List<TeamMember> result = new ArrayList<>(members.size());
+        for (TeamMember m : members.values()) result.add(copy(m));
+        return result;
+    }
+
+    public TeamMember getMember(String id) {
+        return copy(members.get(id));
+    }
+
+    public List<Assignment> getAssignments() {
+        List<Assignment> result = new ArrayList<>(assignments.size());
+        for (Assignment a : assignments.values()) result.add(copy(a));
+        return result;
+    }
+
+    /** @return The member's assignments, from the per-member index. */
+    public List<Assignment> getAssignmentsOfMember(String memberId) {
+        return copyAll(index().byMember().get(memberId));
+    }
+
+    /** @return The task's assignments, from the per-task index. */
+    public List<Assignment> getAssignmentsOfTask(String taskId) {
+        return copyAll(index().byTask().get(taskId));
+    }
+
+    public List<Task> findTasks(Predicate<Task> filter) {
+        List<Task> result = new ArrayList<>();
+        for (Task t : tasks.values()) if (filter.test(t)) result.add(copy(t));
+        return result;
+    }
+
+    public List<TeamMember> findMembers(Predicate<TeamMember> filter) {
+        List<TeamMember> result = new ArrayList<>();
+        for (TeamMember m : members.values()) if (filter.test(m)) result.add(copy(m));
+        return result;
+    }
+
+    public List<Assignment> findAssignments(Predicate<Assignment> filter) {
+        List<Assignment> result = new ArrayList<>();
+        for (Assignment a : assignments.values()) if (filter.test(a)) result.add(copy(a));
+        return result;
+    }
+
+    // --- Tables (shared, unmodifiable; for incremental consumers such as StatisticsTracker) ---
+
+    Map<String, Task> taskTable() { return tasks; }
+
+    Map<String, TeamMember> memberTable() { return members; }
+
+    Map<String, Assignment> assignmentTable() { return assignments; }
+
+    // --- Derived snapshots ---
+
+    /**
+     * Row changes published together. {@link #applyAll} copies each table they touch once, however many
+     * rows change, and StatisticsTracker only looks at the rows named here.
+     */
+    static final class Changes {
+        private final Map<String, Task> tasks = new LinkedHashMap<>();
+        private final Set<String> removedTasks = new HashSet<>();
+        private final Map<String, TeamMember> members = new LinkedHashMap<>();
+        private final Set<String> removedMembers = new HashSet<>();
+        private Predicate<Assignment> assignmentScope;
+        private final Map<String, Assignment> assignments = new LinkedHashMap<>();
+
+        /** Insert or replace tasks (replaced ones keep their position). */
+        Changes putTasks(Collection<Task> changed) {
+            for (Task t : changed) tasks.put(t.getId(), t);
+            return this;
+        }
+
+        /** Remove tasks together with their assignments. */
+        Changes removeTasks(Collection<String> ids) {
+            removedTasks.addAll(ids);
+            return this;
+        }
+
+        Changes putMembers(Collection<TeamMember> changed) {
+            for (TeamMember m : changed) members.put(m.getId(), m);
+            return this;
+        }
+
+        /** Remove members together with their assignments. */
+        Changes removeMembers(Collection<String> ids) {
+            removedMembers.addAll(ids);
+            return this;
+        }
+
+        /**
+         * Replace the assignments matching {@code scope} with {@code replacement}
+         * (same contract as IDao.replaceMatching).
+         */
+        Changes replaceAssignments(Predicate<Assignment> scope, List<Assignment> replacement) {
+            assignmentScope = (assignmentScope == null) ? scope : assignmentScope.or(scope);
+            for (Assignment a : replacement) assignments.put(idOf(a), a);
+            return this;
+        }
+
+        /** @return Ids of the tasks inserted, replaced or removed. */
+        Set<String> taskIds() {
+            Set<String> ids = new HashSet<>(removedTasks);
+            ids.addAll(tasks.keySet());
+            return ids;
+        }
+
+        /** @return Ids of the assignments inserted or replaced. */
+        Set<String> assignmentIds() {
+            return assignments.keySet();
+        }
+
+        /** @return The assignments removed, including those of removed tasks and members (null if none are). */
+        Predicate<Assignment> removedAssignments() {
+            if (removedTasks.isEmpty() && removedMembers.isEmpty()) return assignmentScope;
+            Predicate<Assignment> scope = assignmentScope;
+            return a -> removedTasks.contains(a.getTaskId()) || removedMembers.contains(a.getMemberId())
+                    || (scope != null && scope.test(a));
+        }
+    }
+
+    /** Apply all the changes at once: every table they touch is copied exactly once. */
+    StateSnapshot applyAll(Changes changes) {
+        Map<String, Task> nextTasks = tasks;
+        if (!changes.tasks.isEmpty() || !changes.removedTasks.isEmpty()) {
+            Map<String, Task> next = new LinkedHashMap<>(tasks);
+            next.keySet().removeAll(changes.removedTasks);
+            for (Task t : changes.tasks.values()) next.put(t.getId(), copy(t));
+            nextTasks = Collections.unmodifiableMap(next);
+        }
+        Map<String, TeamMember> nextMembers = members;
+        if (!changes.members.isEmpty() || !changes.removedMembers.isEmpty()) {
+            Map<String, TeamMember> next = new LinkedHashMap<>(members);
+            next.keySet().removeAll(changes.removedMembers);
+            for (TeamMember m : changes.members.values()) next.put(m.getId(), copy(m));
+            nextMembers = Collections.unmodifiableMap(next);
+        }
+        Map<String, Assignment> nextAssignments = assignments;
+        Predicate<Assignment> removed = changes.removedAssignments();
+        if (removed != null || !changes.assignments.isEmpty()) {
+            Map<String, Assignment> next = new LinkedHashMap<>(assignments);
+            if (removed != null) next.values().removeIf(removed);
+            for (Assignment a : changes.assignments.values()) next.put(idOf(a), copy(a));
+            nextAssignments = Collections.unmodifiableMap(next);
+        }
+        StateSnapshot next = new StateSnapshot(version + 1, nextTasks, nextMembers, nextAssignments);
+        return (nextAssignments == assignments) ? shareIndex(next) : next;
+    }
+
+    /** The same data under another version (a write publishing several derivations counts once). */
+    StateSnapshot withVersion(long newVersion) {
+        return newVersion == version ? this : shareIndex(new StateSnapshot(newVersion, tasks, members, assignments));
+    }
+
+    StateSnapshot empty() {
+        return new StateSnapshot(version + 1, Map.of(), Map.of(), Map.of());
+    }
+
+    // --- Helpers ---
+
+    private AssignmentIndex index() {
+        AssignmentIndex index = assignmentIndex;
+        if (index == null) {
+            // Racing readers may each build it; the results are equal
+            index = AssignmentIndex.of(assignments);
+            assignmentIndex = index;
+        }
+        return index;
+    }
+
+    /** Hand the assignment index to a derived snapshot with the same assignments table. */
+    private StateSnapshot shareIndex(StateSnapshot next) {
+        next.assignmentIndex = assignmentIndex;
+        return next;
+    }
+
+    private static List<Assignment> copyAll(List<Assignment> list) {
+        if (list == null) return new ArrayList<>();
+        List<Assignment> result = new ArrayList<>(list.size());
+        for (Assignment a : list) result.add(copy(a));
+        return result;
+    }
+
+    static String idOf(Assignment a) {
+        return a.getTaskId() + "-" + a.getMemberId();
+    }
+
+    private static Map<String, Task> indexTasks(List<Task> list) {
+        Map<String, Task> map = new LinkedHashMap<>();
+        for (Task t : list) map.put(t.getId(), copy(t));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<String, TeamMember> indexMembers(List<TeamMember> list) {
+        Map<String, TeamMember> map = new LinkedHashMap<>();
+        for (TeamMember m : list) map.put(m.getId(), copy(m));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<String, Assignment> indexAssignments(List<Assignment> list) {
+        Map<String, Assignment> map = new LinkedHashMap<>();
+        for (Assignment a : list) map.put(idOf(a), copy(a));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Task copy(Task t) {
+        if (t == null) return null;
+        Task c = new Task(t.getId(), t.getName(), t.getDurationHours(), t.getPriority(),
+                t.getRequiredSkills() == null ? null : new ArrayList<>(t.getRequiredSkills()));
+        c.setRemainingHours(t.getRemainingHours());
+        c.setCreatedAt(t.getCreatedAt());
+        return c;
+    }
+
+    private static TeamMember copy(TeamMember m) {
+        if (m == null) return null;
+        TeamMember c = new TeamMember(m.getId(), m.getName(),
+                m.getSkills() == null ? null : new ArrayList<>(m.getSkills()),
+                m.getMaxHoursPerDay(), m.getEfficiency());
+        c.setRemainingHours(m.getRemainingHours());
+        return c;
+    }
+
+    private static Assignment copy(Assignment a) {
+        return (a == null) ? null : new Assignment(a.getTaskId(), a.getMemberId(), a.getAssignedHours());
+    }
+}
@@ -0,0 +1,212 @@
+package com.hit.service;
+
+import com.hit.model.Assignment;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard statistics kept up to date on every published snapshot, so reading them is O(1)
+ * instead of a scan or an aggregate query per call.
+ * <p>
+ * The service applies each snapshot it publishes (while holding its snapshot lock, so updates never
+ * overlap). Only the rows the write changed are compared, which costs no more than deriving the
+ * snapshot itself. Reads take no lock: a stamp that is odd while an update runs makes a reader retry,
+ * so values combining several counters (e.g. {@link #averageLoad()}) always belong to one snapshot.
+ */
+public final class StatisticsTracker {
+
+    /** Assignments of one member and the hours they add up to. */
+    public record MemberLoad(int assignments, int assignedHours) {}
+
+    private static final class Load {
+        final LongAdder assignments = new LongAdder();
+        final LongAdder hours = new LongAdder();
+    }
+
+    private final AtomicLong stamp = new AtomicLong();
+    private final LongAdder tasks = new LongAdder();
+    private final LongAdder members = new LongAdder();
+    private final LongAdder assignments = new LongAdder();
+    private final LongAdder unassignedTasks = new LongAdder();
+    private final Map<String, LongAdder> assignmentsPerTask = new ConcurrentHashMap<>();
+    private final Map<String, Load> loadPerMember = new ConcurrentHashMap<>();
+
+    // --- Reads ---
+
+    public int countTasks() {
+        return read(() -> tasks.intValue());
+    }
+
+    public int countTeamMembers() {
+        return read(() -> members.intValue());
+    }
+
+    /** @return Tasks that have no assignment at all. */
+    public int countUnassignedTasks() {
+        return read(() -> unassignedTasks.intValue());
+    }
+
+    /** @return Average number of assignments per team member (0.0 when there are no members). */
+    public double averageLoad() {
+        return read(() -> {
+            long m = members.sum();
+            return m == 0 ? 0.0 : assignments.sum() / (double) m;
+        });
+    }
+
+    /** @return The member's current load (zero for unknown members). */
+    public MemberLoad getMemberLoad(String memberId) {
+        return read(() -> {
+            Load load = loadPerMember.get(memberId);
+            return load == null ? new MemberLoad(0, 0)
+                    : new MemberLoad(load.assignments.intValue(), load.hours.intValue());
+        });
+    }
+
+    // --- Updates (serialized by the caller) ---
+
+    /** Start over from a full snapshot. */
+    void reset(StateSnapshot snapshot) {
+        stamp.incrementAndGet();
+        try {
+            tasks.reset();
+            members.reset();
+            assignments.reset();
+            unassignedTasks.reset();
+            assignmentsPerTask.clear();
+            loadPerMember.clear();
+        } finally {
+            stamp.incrementAndGet();
+        }
+        apply(StateSnapshot.of(0, List.of(), List.of(), List.of()), snapshot);
+    }
+
+    /** Account for the change from {@code before} to {@code after} (compares the whole tables that differ). */
+    void apply(StateSnapshot before, StateSnapshot after) {
+        Set<String> touchedTasks = new HashSet<>();
+        collectChangedKeys(before.taskTable(), after.taskTable(), touchedTasks);
+        Map<String, Assignment> removed = new HashMap<>();
+        Map<String, Assignment> added = new HashMap<>();
+        diffAssignments(before.assignmentTable(), after.assignmentTable(), removed, added);
+        update(before, after, touchedTasks, removed, added);
+    }
+
+    /**
+     * Account for {@code changes}, which turned {@code before} into {@code after}. Only the rows they name
+     * are compared (plus one pass over the assignments when some are removed), not the whole tables.
+     */
+    void applyAll(StateSnapshot before, StateSnapshot after, StateSnapshot.Changes changes) {
+        Map<String, Assignment> removed = new HashMap<>();
+        Map<String, Assignment> added = new HashMap<>();
+        Map<String, Assignment> beforeAssignments = before.assignmentTable();
+        Map<String, Assignment> afterAssignments = after.assignmentTable();
+        if (beforeAssignments != afterAssignments) {
+            Predicate<Assignment> scope = changes.removedAssignments();
+            if (scope != null) {
+                for (Map.Entry<String, Assignment> e : beforeAssignments.entrySet()) {
+                    if (scope.test(e.getValue()))
+                        diffAssignment(e.getKey(), beforeAssignments, afterAssignments, removed, added);
+                }
+            }
+            for (String id : changes.assignmentIds())
+                diffAssignment(id, beforeAssignments, afterAssignments, removed, added);
+        }
+        update(before, after, changes.taskIds(), removed, added);
+    }
+
+    private void update(StateSnapshot before, StateSnapshot after, Set<String> touchedTasks,
+                        Map<String, Assignment> removed, Map<String, Assignment> added) {
+        stamp.incrementAndGet();
+        try {
+            // Tasks whose "unassigned" status may change: record it before touching anything
+            Set<String> touched = new HashSet<>(touchedTasks);
+            for (Assignment a : removed.values()) touched.add(a.getTaskId());
+            for (Assignment a : added.values()) touched.add(a.getTaskId());
+            Map<String, Boolean> wasUnassigned = new HashMap<>();
+            for (String id : touched) wasUnassigned.put(id, isUnassigned(before, id));
+
+            if (before.taskTable() != after.taskTable())
+                tasks.add(after.taskTable().size() - before.taskTable().size());
+            if (before.memberTable() != after.memberTable())
+                members.add(after.memberTable().size() - before.memberTable().size());
+            for (Assignment a : removed.values()) count(a, -1);
+            for (Assignment a : added.values()) count(a, 1);
+
+            for (String id : touched) {
+                boolean now = isUnassigned(after, id);
+                if (now != wasUnassigned.get(id)) unassignedTasks.add(now ? 1 : -1);
+            }
+        } finally {
+            stamp.incrementAndGet();
+        }
+    }
+
+    private boolean isUnassigned(StateSnapshot snapshot, String taskId) {
+        if (!snapshot.taskTable().containsKey(taskId)) return false;
+        LongAdder count = assignmentsPerTask.get(taskId);
+        return count == null || count.sum() == 0;
+    }
+
+    private void count(Assignment a, int sign) {
+        assignments.add(sign);
+        LongAdder perTask = assignmentsPerTask.computeIfAbsent(a.getTaskId(), _ -> new LongAdder());
+        perTask.add(sign);
+        if (perTask.sum() == 0) assignmentsPerTask.remove(a.getTaskId());
+        Load load = loadPerMember.computeIfAbsent(a.getMemberId(), _ -> new Load());
+        load.assignments.add(sign);
+        load.hours.add((long) sign * a.getAssignedHours());
+        if (load.assignments.sum() == 0) loadPerMember.remove(a.getMemberId());
+    }
+
+    private static void collectChangedKeys(Map<String, ?> before, Map<String, ?> after, Set<String> into) {
+        if (before == after) return;
+        for (String id : before.keySet()) if (!after.containsKey(id)) into.add(id);
+        for (String id : after.keySet()) if (!before.containsKey(id)) into.add(id);
+    }
+
+    private static void diffAssignments(Map<String, Assignment> before, Map<String, Assignment> after,
+                                        Map<String, Assignment> removed, Map<String, Assignment> added) {
+        if (before == after) return;
+        for (Map.Entry<String, Assignment> e : before.entrySet()) {
+            Assignment next = after.get(e.getKey());
+            if (next == null || next.getAssignedHours() != e.getValue().getAssignedHours())
+                removed.put(e.getKey(), e.getValue());
+        }
+        for (Map.Entry<String, Assignment> e : after.entrySet()) {
+            Assignment previous = before.get(e.getKey());
+            if (previous == null || previous.getAssignedHours() != e.getValue().getAssignedHours())
+                added.put(e.getKey(), e.getValue());
+        }
+    }
+
+    /** Record one assignment id as removed and/or added, unless it is unchanged. */
+    private static void diffAssignment(String id, Map<String, Assignment> before, Map<String, Assignment> after,
+                                       Map<String, Assignment> removed, Map<String, Assignment> added) {
+        Assignment previous = before.get(id);
+        Assignment next = after.get(id);
+        if (previous != null && next != null && previous.getAssignedHours() == next.getAssignedHours()) return;
+        if (previous != null) removed.put(id, previous);
+        if (next != null) added.put(id, next);
+    }
+
+    /** Seqlock read: retry while an update runs or if one ran meanwhile. */
+    private <T> T read(Supplier<T> query) {
+        while (true) {
+            long start = stamp.get();
+            if ((start & 1) == 0) {
+                T value = query.get();
+                if (stamp.get() == start) return value;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
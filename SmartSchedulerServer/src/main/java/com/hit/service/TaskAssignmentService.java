@@ -1,34 +1,271 @@
 package com.hit.service;
 
+import com.hit.dao.AsyncDao;
+import com.hit.dao.AsyncDaoImpl;
+import com.hit.dao.DaoExecutor;
+import com.hit.dao.DirectTransactionManager;
 import com.hit.dao.IDao;
+import com.hit.dao.IIdBlockDao;
+import com.hit.dao.IStatsDao;
+import com.hit.dao.ITransactionManager;
+import com.hit.dao.InMemoryIdBlockDaoImpl;
+import com.hit.dao.InMemoryStatsDaoImpl;
+import com.hit.dao.Versioned;
 import com.hit.model.*;
 import com.hit.algorithm.ITaskAssignment;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.hit.service.ChangeFeed.Type.*;
+import static com.hit.service.LockManager.Resource.*;
+import java.util.function.UnaryOperator;
 
 /**
  * Main service for managing tasks, team members, and assignments.
  * Completely decoupled from the underlying DAO implementation.
+ * <p>
+ * Reads are served from an immutable {@link StateSnapshot} that every write replaces after it commits,
+ * so they never take a lock or touch the DAO. Writes still go through the DAOs under the per-table locks.
  */
-public class TaskAssignmentService {
+public final class TaskAssignmentService {
     private final IDao<Task> taskDao;
     private final IDao<TeamMember> memberDao;
     private final IDao<Assignment> assignmentDao;
+    private final IStatsDao statsDao;
+    private final ITransactionManager transactions;
+    private final AsyncDao<Task> asyncTaskDao;
+    private final AsyncDao<TeamMember> asyncMemberDao;
+    private final AsyncDao<Assignment> asyncAssignmentDao;
 
     private final UniqueIdGenerator taskIdGen;
     private final UniqueIdGenerator teamMemberIdGen;
 
-    private final ReentrantReadWriteLock taskLock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock memberLock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock assignmentLock = new ReentrantReadWriteLock();
+    /**
+     * Recalculates the assignments in the background after updates, collapsing bursts into one run.
+     * Created last in the constructor, as it calls back into the service; the class is final, so no
+     * subclass state can still be uninitialized when it does.
+     */
+    private final ReassignmentScheduler reassignment;
+
+    /** How long {@link #close()} waits for background work to finish. */
+    public static final Duration CLOSE_TIMEOUT = Duration.ofMinutes(1);
+
+    // Guarded by this
+    private AssignmentJobManager assignmentJobs;
+    /** Set once by {@link #close()} (under this); read by every write. */
+    private volatile boolean closed;
+
+    /** Attempts of an unconditional update before a concurrent-change conflict is reported. */
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    /** Table locks, always acquired in one global order (tasks, members, assignments). */
+    private final LockManager locks = new LockManager();
+
+    /** State as of the last committed write; replaced (never modified) while holding snapshotLock. */
+    private volatile StateSnapshot snapshot;
+    private final Object snapshotLock = new Object();
+    /** Orders {@link #publishStored} calls, so their DAO reads do not have to hold snapshotLock. */
+    private final Object storedPublishLock = new Object();
+    /** One event per published snapshot (appended under snapshotLock). */
+    private final ChangeFeed changes = new ChangeFeed();
+    /** Statistics of the current snapshot (updated under snapshotLock). */
+    private final StatisticsTracker statistics = new StatisticsTracker();
+
+    /** What-if plans by snapshot version, strategy and overrides. */
+    private final PreviewCache previews = new PreviewCache();
 
     public TaskAssignmentService(IDao<Task> taskDao, IDao<TeamMember> memberDao, IDao<Assignment> assignmentDao) throws Exception {
+        this(taskDao, memberDao, assignmentDao, new InMemoryStatsDaoImpl(taskDao, memberDao, assignmentDao));
+    }
+
+    /**
+     * @param statsDao Aggregate queries that verifyStatistics checks the counters against (see DaoFactory.createStats).
+     */
+    public TaskAssignmentService(IDao<Task> taskDao, IDao<TeamMember> memberDao, IDao<Assignment> assignmentDao,
+                                 IStatsDao statsDao) throws Exception {
+        this(taskDao, memberDao, assignmentDao, statsDao, new DirectTransactionManager());
+    }
+
+    /**
+     * @param statsDao     Aggregate queries that verifyStatistics checks the counters against (see DaoFactory.createStats).
+     * @param transactions Unit of work spanning the three DAOs (see DaoFactory.createTransactionManager);
+     *                     multi-table operations commit once through it.
+     */
+    public TaskAssignmentService(IDao<Task> taskDao, IDao<TeamMember> memberDao, IDao<Assignment> assignmentDao,
+                                 IStatsDao statsDao, ITransactionManager transactions) throws Exception {
+        this(taskDao, memberDao, assignmentDao, statsDao, transactions, DaoExecutor.shared());
+    }
+
+    /**
+     * @param statsDao     Aggregate queries that verifyStatistics checks the counters against (see DaoFactory.createStats).
+     * @param transactions Unit of work spanning the three DAOs (see DaoFactory.createTransactionManager).
+     * @param ioExecutor   Bounded executor the asynchronous (...Async) methods run their DAO calls on.
+     */
+    public TaskAssignmentService(IDao<Task> taskDao, IDao<TeamMember> memberDao, IDao<Assignment> assignmentDao,
+                                 IStatsDao statsDao, ITransactionManager transactions,
+                                 DaoExecutor ioExecutor) throws Exception {
+        this(taskDao, memberDao, assignmentDao, statsDao, transactions, ioExecutor, new InMemoryIdBlockDaoImpl());
+    }
+
+    /**
+     * @param statsDao     Aggregate queries that verifyStatistics checks the counters against (see DaoFactory.createStats).
+     * @param transactions Unit of work spanning the three DAOs (see DaoFactory.createTransactionManager).
+     * @param ioExecutor   Bounded executor the asynchronous (...Async) methods run their DAO calls on.
+     * @param idBlocks     Sequence store task and member ids are reserved in (see DaoFactory.createIdBlocks);
+     *                     a durable one keeps generated ids unique across restarts.
+     */
+    public TaskAssignmentService(IDao<Task> taskDao, IDao<TeamMember> memberDao, IDao<Assignment> assignmentDao,
+                                 IStatsDao statsDao, ITransactionManager transactions,
+                                 DaoExecutor ioExecutor, IIdBlockDao idBlocks) throws Exception {
+        this.asyncTaskDao = new AsyncDaoImpl<>(taskDao, ioExecutor);
+        this.asyncMemberDao = new AsyncDaoImpl<>(memberDao, ioExecutor);
+        this.asyncAssignmentDao = new AsyncDaoImpl<>(assignmentDao, ioExecutor);
         this.taskDao = taskDao;
         this.memberDao = memberDao;
         this.assignmentDao = assignmentDao;
-        this.taskIdGen = new UniqueIdGenerator("T");
-        this.teamMemberIdGen = new UniqueIdGenerator("M");
+        this.statsDao = Objects.requireNonNull(statsDao, "Stats DAO cannot be null");
+        this.transactions = Objects.requireNonNull(transactions, "Transaction manager cannot be null");
+        this.taskIdGen = new UniqueIdGenerator("T", idBlocks);
+        this.teamMemberIdGen = new UniqueIdGenerator("M", idBlocks);
+        List<Task> tasks = taskDao.load();
+        List<TeamMember> members = memberDao.load();
+        // Continue after the ids already stored, so existing rows are never overwritten
+        // (also covers rows written before the sequence was persisted)
+        for (Task t : tasks) taskIdGen.advancePast(t.getId());
+        for (TeamMember m : members) teamMemberIdGen.advancePast(m.getId());
+        this.snapshot = StateSnapshot.of(0, tasks, members, assignmentDao.load());
+        this.statistics.reset(snapshot);
+        this.reassignment = new ReassignmentScheduler(this::assignTasks);
+    }
+
+    // --- Background work ---
+
+    /**
+     * @return The background assignment jobs of this service (created on first use).
+     * @throws IllegalStateException If the service is closed.
+     */
+    public synchronized AssignmentJobManager getAssignmentJobs() {
+        if (closed) throw new IllegalStateException("Service is closed");
+        if (assignmentJobs == null) assignmentJobs = new AssignmentJobManager(this);
+        return assignmentJobs;
+    }
+
+    /**
+     * Finish the background work and stop accepting more: submitted assignment jobs still run, and a pending
+     * reassignment runs right away. Call before closing the DAOs' data source, so nothing writes after it,
+     * and once no request uses the service any more.
+     * Once it is closed, writes (CRUD, imports, deleteAssignment, requestReassignment) fail with an
+     * IllegalStateException before touching the DAOs. assignTasks still runs, since the drain itself uses it.
+     * @throws TimeoutException If the work did not finish within {@link #CLOSE_TIMEOUT}.
+     */
+    public void close() throws InterruptedException, TimeoutException {
+        AssignmentJobManager jobs;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            jobs = assignmentJobs;
+        }
+        long deadline = System.nanoTime() + CLOSE_TIMEOUT.toNanos();
+        if (jobs != null) {
+            jobs.close();
+            if (!jobs.awaitTermination(CLOSE_TIMEOUT)) throw new TimeoutException("Assignment jobs did not finish");
+        }
+        try {
+            reassignment.close().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // The run finished (and failed); its failure stays available through awaitPlan
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Service is closed");
+    }
+
+    // --- Change feed ---
+
+    /**
+     * @return Feed of the writes committed through this service; event versions match
+     *         {@link StateSnapshot#getVersion()}, so a subscriber that must resync reloads
+     *         {@link #getSnapshot()} and continues from its version.
+     */
+    public ChangeFeed getChangeFeed() {
+        return changes;
+    }
+
+    // --- Snapshot ---
+
+    /** @return The current read snapshot (all tasks, members and assignments as of the last write). */
+    public StateSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuild the read snapshot from the DAOs. Only needed after the DAOs were written
+     * directly instead of through this service (e.g. by maintenance tools).
+     */
+    public void refreshSnapshot() throws Exception {
+        synchronized (snapshotLock) {
+            snapshot = StateSnapshot.of(snapshot.getVersion() + 1, taskDao.load(), memberDao.load(), assignmentDao.load());
+            statistics.reset(snapshot);
+            changes.append(REFRESHED, List.of());
+        }
+    }
+
+    /**
+     * Publish the result of a committed write and append its event to the change feed.
+     * Call it before releasing the write's locks.
+     */
+    private void publish(UnaryOperator<StateSnapshot> change, ChangeFeed.Type type, List<String> ids) {
+        synchronized (snapshotLock) {
+            StateSnapshot current = snapshot;
+            snapshot = change.apply(current).withVersion(current.getVersion() + 1);
+            statistics.apply(current, snapshot);
+            changes.append(type, ids);
+        }
+    }
+
+    /** Publish the rows a committed write changed; each table they touch is copied once, whatever the row count. */
+    private void publish(StateSnapshot.Changes rows, ChangeFeed.Type type, List<String> ids) {
+        synchronized (snapshotLock) {
+            StateSnapshot current = snapshot;
+            snapshot = current.applyAll(rows);
+            statistics.applyAll(current, snapshot, rows);
+            changes.append(type, ids);
+        }
+    }
+
+    /**
+     * Publish tasks and members as currently stored. Used by writes that may run concurrently on the
+     * same rows (conditional updates): re-reading under storedPublishLock makes the last publish the latest
+     * commit. The rows are read before taking snapshotLock and applied as one change per table, so other
+     * writes can publish while these reads run.
+     */
+    private void publishStored(List<String> taskIds, List<String> memberIds, Predicate<Assignment> removed,
+                               ChangeFeed.Type type, List<String> ids) throws Exception {
+        synchronized (storedPublishLock) {
+            List<Task> tasks = new ArrayList<>(taskIds.size());
+            for (String id : taskIds) {
+                Task t = taskDao.findById(id);
+                if (t != null) tasks.add(t);
+            }
+            List<TeamMember> members = new ArrayList<>(memberIds.size());
+            for (String id : memberIds) {
+                TeamMember m = memberDao.findById(id);
+                if (m != null) members.add(m);
+            }
+            StateSnapshot.Changes rows = new StateSnapshot.Changes().putTasks(tasks).putMembers(members);
+            if (removed != null) rows.replaceAssignments(removed, List.of());
+            publish(rows, type, ids);
+        }
     }
 
     // --- Task CRUD ---
@@ -37,71 +274,178 @@ public class TaskAssignmentService {
      * Create and persist a new Task. Fails if a task with the same name and fields exists (idempotent).
      */
     public Task createNewTask(Task task) throws Exception {
+        ensureOpen();
         Objects.requireNonNull(task, "Task cannot be null");
-        taskLock.writeLock().lock();
-        try {
-            // Optional: Defensive check - if an ID is forced from outside (shouldn't happen)
+        try (LockManager.Guard _ = locks.write(TASKS)) {
+            // Optional: Defensive check - if an ID is forced from outside (shouldn't happen).
+            // Answered from the snapshot: generated ids are unique, so creates need no DAO lookup
             if (task.getId() != null && !task.getId().isBlank()) {
-                Task existing = taskDao.findById(task.getId());
+                Task existing = snapshot.getTask(task.getId());
                 if (existing != null)
                     throw new IllegalArgumentException("Task already exists with id: " + task.getId());
             }
             // Always assign a new ID
             task.setId(taskIdGen.nextId());
             taskDao.save(task);
+            publish(new StateSnapshot.Changes().putTasks(List.of(task)), TASK_CREATED, List.of(task.getId()));
             return task;
-        } finally {
-            taskLock.writeLock().unlock();
         }
     }
 
     public List<Task> getAllTasks() throws Exception {
-        taskLock.readLock().lock();
-        try {
-            return new ArrayList<>(taskDao.load());
-        } finally {
-            taskLock.readLock().unlock();
+        return snapshot.getTasks();
+    }
+
+    /**
+     * All tasks ordered by (priority, createdAt), the order the strategies consume them in.
+     * Backed by the DAO's schedule-order query, so no full re-sort is needed on indexed backends.
+     */
+    public List<Task> getTasksInScheduleOrder() throws Exception {
+        try (LockManager.Guard _ = locks.read(TASKS)) {
+            return new ArrayList<>(taskDao.loadInScheduleOrder());
         }
     }
 
     public Task getTaskById(String taskId) throws Exception {
         if (taskId == null || taskId.isBlank())
             return null;
-        taskLock.readLock().lock();
-        try {
-            return taskDao.findById(taskId);
-        } finally {
-            taskLock.readLock().unlock();
-        }
+        return snapshot.getTask(taskId);
+    }
+
+    /**
+     * Current version of a task (changes on every write), or null if it does not exist.
+     * Clients pass it back to {@link #updateTask(String, Task, String, Long)} to detect lost updates.
+     */
+    public Long getTaskVersion(String taskId) throws Exception {
+        if (taskId == null || taskId.isBlank()) return null;
+        Versioned<Task> current = taskDao.findVersionedById(taskId);
+        return current == null ? null : current.version();
     }
 
     public boolean updateTask(String taskId, Task updatedTask, String strategyName) throws Exception {
+        return updateTask(taskId, updatedTask, strategyName, null);
+    }
+
+    /**
+     * Update a task with optimistic concurrency: the row is written only if nobody changed it since it was read.
+     * Updates of different tasks run in parallel; they only share the read side of the task lock
+     * (which keeps creates and deletes out). Assignments are recalculated in the background
+     * (see {@link #awaitLatestPlan()}), so the call only costs the write itself.
+     * @param expectedVersion The version the client read the task at, or null to update whatever is stored
+     *                        (the read-check-write is then retried on concurrent changes).
+     * @return False if the task does not exist.
+     * @throws VersionConflictException If the task changed after {@code expectedVersion}.
+     */
+    public boolean updateTask(String taskId, Task updatedTask, String strategyName, Long expectedVersion) throws Exception {
+        ensureOpen();
         Objects.requireNonNull(updatedTask, "Updated task cannot be null");
         if (taskId == null || taskId.isBlank()) return false;
         if (strategyName == null || strategyName.isBlank()) strategyName = "greedy";
-        taskLock.writeLock().lock();
-        try {
-            Task existing = taskDao.findById(taskId);
-            if (existing == null) return false;
-            updatedTask.setId(taskId);
-            taskDao.update(updatedTask);
-        } finally {
-            taskLock.writeLock().unlock();
+        com.hit.algorithm.StrategyFactory.getStrategy(strategyName); // unknown strategies fail before the write
+        try (LockManager.Guard _ = locks.read(TASKS)) {
+            if (!updateIfVersion(taskDao, taskId, expectedVersion, existing -> {
+                updatedTask.setId(taskId);
+                // Keep the original creation time, so the task keeps its place in the schedule order
+                updatedTask.setCreatedAt(existing.getCreatedAt());
+                return updatedTask;
+            })) return false;
+            publishStored(List.of(taskId), List.of(), null, TASK_UPDATED, List.of(taskId));
         }
-        assignTasks(strategyName);
+        reassignment.request(strategyName);
         return true;
     }
 
+    /**
+     * Update several tasks with one lock acquisition and one transaction, like
+     * {@link #updateTask(String, Task, String, Long)} per item. Items that do not exist or changed after
+     * their expected version are reported and skipped; the others are written. Assignments are
+     * recalculated once, in the background, if anything was updated.
+     * @return Per-item results (UPDATED, NOT_FOUND or CONFLICT) and the plan version to wait for.
+     */
+    public BatchResult updateTasks(List<BatchResult.Update<Task>> updates, String strategyName) throws Exception {
+        ensureOpen();
+        Objects.requireNonNull(updates, "Updates cannot be null");
+        String strategy = (strategyName == null || strategyName.isBlank()) ? "greedy" : strategyName;
+        com.hit.algorithm.StrategyFactory.getStrategy(strategy);
+        if (updates.isEmpty()) return BatchResult.of(List.of(), 0);
+        List<BatchResult.Item> items;
+        List<String> updated;
+        try (LockManager.Guard _ = locks.read(TASKS)) {
+            items = transactions.inTransaction(() -> updateEach(taskDao, updates, (update, existing) -> {
+                Task task = update.entity();
+                task.setId(update.id());
+                task.setCreatedAt(existing.getCreatedAt());
+                return task;
+            }));
+            updated = updatedIds(items);
+            if (!updated.isEmpty()) publishStored(updated, List.of(), null, TASK_UPDATED, updated);
+        }
+        return BatchResult.of(items, updated.isEmpty() ? 0 : reassignment.request(strategy));
+    }
+
+    /**
+     * Bulk insert of already validated tasks: ids are reserved as one block and the batch is
+     * written in a single transaction. Assignments are not recalculated (run assignTasks once
+     * the whole import is done).
+     * @return The same tasks, now with their ids.
+     */
+    public List<Task> importTasks(List<Task> tasks) throws Exception {
+        ensureOpen();
+        Objects.requireNonNull(tasks, "Tasks cannot be null");
+        if (tasks.isEmpty()) return tasks;
+        try (LockManager.Guard _ = locks.write(TASKS)) {
+            List<String> ids = taskIdGen.nextIds(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) tasks.get(i).setId(ids.get(i));
+            transactions.inTransaction(() -> {
+                taskDao.save(tasks);
+                return null;
+            });
+            publish(new StateSnapshot.Changes().putTasks(tasks), TASK_CREATED,
+                    tasks.stream().map(Task::getId).toList());
+            return tasks;
+        }
+    }
+
     public boolean deleteTask(String taskId) throws Exception {
+        ensureOpen();
         if (taskId == null || taskId.isBlank()) return false;
-        taskLock.writeLock().lock();
-        assignmentLock.writeLock().lock();
-        try {
-            assignmentDao.deleteIf(a -> a.getTaskId().equals(taskId));
-            return taskDao.deleteById(taskId);
-        } finally {
-            assignmentLock.writeLock().unlock();
-            taskLock.writeLock().unlock();
+        try (LockManager.Guard _ = locks.write(TASKS, ASSIGNMENTS)) {
+            boolean deleted = transactions.inTransaction(() -> {
+                assignmentDao.deleteByTask(taskId);
+                return taskDao.deleteById(taskId);
+            });
+            if (deleted)
+                publish(new StateSnapshot.Changes().removeTasks(List.of(taskId)), TASK_DELETED, List.of(taskId));
+            return deleted;
+        }
+    }
+
+    /**
+     * Delete several tasks (and their assignments) with one lock acquisition and one transaction.
+     * @return Per-item results (DELETED, or NOT_FOUND for unknown, blank or repeated ids).
+     */
+    public BatchResult deleteTasks(List<String> taskIds) throws Exception {
+        ensureOpen();
+        Objects.requireNonNull(taskIds, "Task ids cannot be null");
+        if (taskIds.isEmpty()) return BatchResult.of(List.of(), 0);
+        Set<String> ids = new HashSet<>();
+        for (String id : taskIds) if (id != null && !id.isBlank()) ids.add(id);
+        try (LockManager.Guard _ = locks.write(TASKS, ASSIGNMENTS)) {
+            List<BatchResult.Item> items = transactions.inTransaction(() -> {
+                for (String id : ids) assignmentDao.deleteByTask(id);
+                List<BatchResult.Item> result = new ArrayList<>(taskIds.size());
+                for (int i = 0; i < taskIds.size(); i++) {
+                    String id = taskIds.get(i);
+                    boolean deleted = id != null && !id.isBlank() && taskDao.deleteById(id);
+                    result.add(deleted ? new BatchResult.Item(i, id, BatchResult.Status.DELETED, null)
+                            : new BatchResult.Item(i, id, BatchResult.Status.NOT_FOUND, "Task not found."));
+                }
+                return result;
+            });
+            List<String> deleted = new ArrayList<>();
+            for (BatchResult.Item item : items) if (item.status().isSuccess()) deleted.add(item.id());
+            if (!deleted.isEmpty()) publish(new StateSnapshot.Changes().removeTasks(deleted), TASK_DELETED, deleted);
+            return BatchResult.of(items, 0);
         }
     }
 
@@ -112,12 +456,12 @@ public class TaskAssignmentService {
      * Fails if member with same id or (same name + skills) exists.
      */
     public TeamMember createNewTeamMember(TeamMember member) throws Exception {
+        ensureOpen();
         Objects.requireNonNull(member, "TeamMember cannot be null");
-        memberLock.writeLock().lock();
-        try {
+        try (LockManager.Guard _ = locks.write(MEMBERS)) {
             // Only check for ID uniqueness
             if (member.getId() != null && !member.getId().isBlank()) {
-                TeamMember existing = memberDao.findById(member.getId());
+                TeamMember existing = snapshot.getMember(member.getId());
                 if (existing != null) {
                     throw new IllegalArgumentException("Member already exists with id: " + member.getId());
                 }
@@ -125,84 +469,229 @@ public class TaskAssignmentService {
             // Always assign a new ID (to prevent forced ID insertion from the outside)
             member.setId(teamMemberIdGen.nextId());
             memberDao.save(member);
+            publish(new StateSnapshot.Changes().putMembers(List.of(member)), MEMBER_CREATED, List.of(member.getId()));
             return member;
-        } finally {
-            memberLock.writeLock().unlock();
         }
     }
 
 
     public List<TeamMember> getAllTeamMembers() throws Exception {
-        memberLock.readLock().lock();
-        try {
-            return new ArrayList<>(memberDao.load());
-        } finally {
-            memberLock.readLock().unlock();
-        }
+        return snapshot.getMembers();
     }
 
     public TeamMember getTeamMemberById(String memberId) throws Exception {
         if (memberId == null || memberId.isBlank())
             return null;
-        memberLock.readLock().lock();
-        try {
-            return memberDao.findById(memberId);
-        } finally {
-            memberLock.readLock().unlock();
-        }
+        return snapshot.getMember(memberId);
+    }
+
+    /**
+     * Current version of a team member (changes on every write), or null if it does not exist.
+     */
+    public Long getTeamMemberVersion(String memberId) throws Exception {
+        if (memberId == null || memberId.isBlank()) return null;
+        Versioned<TeamMember> current = memberDao.findVersionedById(memberId);
+        return current == null ? null : current.version();
     }
 
     public boolean updateTeamMember(String memberId, TeamMember updatedMember, String strategyName) throws Exception {
+        return updateTeamMember(memberId, updatedMember, strategyName, null);
+    }
+
+    /**
+     * Update a team member with optimistic concurrency, like {@link #updateTask(String, Task, String, Long)}.
+     * @throws VersionConflictException If the member changed after {@code expectedVersion}.
+     */
+    public boolean updateTeamMember(String memberId, TeamMember updatedMember, String strategyName,
+                                    Long expectedVersion) throws Exception {
+        ensureOpen();
         Objects.requireNonNull(updatedMember, "Updated member cannot be null");
         if (memberId == null || memberId.isBlank()) return false;
         if (strategyName == null || strategyName.isBlank()) strategyName = "greedy";
-        memberLock.writeLock().lock();
-        try {
-            TeamMember existing = memberDao.findById(memberId);
-            if (existing == null) return false;
-            updatedMember.setId(memberId);
-            memberDao.update(updatedMember);
-        } finally {
-            memberLock.writeLock().unlock();
+        com.hit.algorithm.StrategyFactory.getStrategy(strategyName);
+        try (LockManager.Guard _ = locks.read(MEMBERS)) {
+            if (!updateIfVersion(memberDao, memberId, expectedVersion, existing -> {
+                updatedMember.setId(memberId);
+                return updatedMember;
+            })) return false;
+            publishStored(List.of(), List.of(memberId), null, MEMBER_UPDATED, List.of(memberId));
         }
-        assignTasks(strategyName);
+        reassignment.request(strategyName);
         return true;
     }
 
+    /**
+     * Update several team members with one lock acquisition and one transaction; same contract as
+     * {@link #updateTasks(List, String)}.
+     */
+    public BatchResult updateTeamMembers(List<BatchResult.Update<TeamMember>> updates, String strategyName)
+            throws Exception {
+        ensureOpen();
+        Objects.requireNonNull(updates, "Updates cannot be null");
+        String strategy = (strategyName == null || strategyName.isBlank()) ? "greedy" : strategyName;
+        com.hit.algorithm.StrategyFactory.getStrategy(strategy);
+        if (updates.isEmpty()) return BatchResult.of(List.of(), 0);
+        List<BatchResult.Item> items;
+        List<String> updated;
+        try (LockManager.Guard _ = locks.read(MEMBERS)) {
+            items = transactions.inTransaction(() -> updateEach(memberDao, updates, (update, existing) -> {
+                TeamMember member = update.entity();
+                member.setId(update.id());
+                return member;
+            }));
+            updated = updatedIds(items);
+            if (!updated.isEmpty()) publishStored(List.of(), updated, null, MEMBER_UPDATED, updated);
+        }
+        return BatchResult.of(items, updated.isEmpty() ? 0 : reassignment.request(strategy));
+    }
+
+    /**
+     * Bulk insert of already validated team members, like {@link #importTasks(List)}.
+     * @return The same members, now with their ids.
+     */
+    public List<TeamMember> importTeamMembers(List<TeamMember> members) throws Exception {
+        ensureOpen();
+        Objects.requireNonNull(members, "Members cannot be null");
+        if (members.isEmpty()) return members;
+        try (LockManager.Guard _ = locks.write(MEMBERS)) {
+            List<String> ids = teamMemberIdGen.nextIds(members.size());
+            for (int i = 0; i < members.size(); i++) members.get(i).setId(ids.get(i));
+            transactions.inTransaction(() -> {
+                memberDao.save(members);
+                return null;
+            });
+            publish(new StateSnapshot.Changes().putMembers(members), MEMBER_CREATED,
+                    members.stream().map(TeamMember::getId).toList());
+            return members;
+        }
+    }
+
     public boolean deleteTeamMember(String memberId) throws Exception {
+        ensureOpen();
         if (memberId == null || memberId.isBlank()) return false;
-        memberLock.writeLock().lock();
-        assignmentLock.writeLock().lock();
-        try {
-            assignmentDao.deleteIf(a -> a.getMemberId().equals(memberId));
-            return memberDao.deleteById(memberId);
-        } finally {
-            assignmentLock.writeLock().unlock();
-            memberLock.writeLock().unlock();
+        try (LockManager.Guard _ = locks.write(MEMBERS, ASSIGNMENTS)) {
+            boolean deleted = transactions.inTransaction(() -> {
+                assignmentDao.deleteByMember(memberId);
+                return memberDao.deleteById(memberId);
+            });
+            if (deleted)
+                publish(new StateSnapshot.Changes().removeMembers(List.of(memberId)), MEMBER_DELETED, List.of(memberId));
+            return deleted;
+        }
+    }
+
+    /**
+     * Read the stored entity with its version and write {@code change.apply(stored)} conditionally.
+     * With an expected version, a mismatch is reported as a conflict right away; without one,
+     * a concurrent write just means reading again (a bounded number of times).
+     * @return False if the entity does not exist.
+     */
+    private <T> boolean updateIfVersion(IDao<T> dao, String id, Long expectedVersion,
+                                        UnaryOperator<T> change) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            Versioned<T> current = dao.findVersionedById(id);
+            if (current == null) return false;
+            if (expectedVersion != null && current.version() != expectedVersion)
+                throw new VersionConflictException(id, expectedVersion, current.version());
+            if (dao.updateIfVersion(change.apply(current.entity()), current.version())) return true;
+            if (expectedVersion != null || attempt >= MAX_UPDATE_ATTEMPTS) {
+                Versioned<T> latest = dao.findVersionedById(id);
+                if (latest == null) return false;
+                throw new VersionConflictException(id, current.version(), latest.version());
+            }
+        }
+    }
+
+    /** Apply each update of a batch with {@link #updateIfVersion}, collecting per-item results. */
+    private <T> List<BatchResult.Item> updateEach(IDao<T> dao, List<BatchResult.Update<T>> updates,
+                                                  BiFunction<BatchResult.Update<T>, T, T> change) throws Exception {
+        List<BatchResult.Item> items = new ArrayList<>(updates.size());
+        for (BatchResult.Update<T> update : updates) {
+            try {
+                boolean updated = update.id() != null && !update.id().isBlank()
+                        && updateIfVersion(dao, update.id(), update.expectedVersion(),
+                        existing -> change.apply(update, existing));
+                items.add(updated ? new BatchResult.Item(update.index(), update.id(), BatchResult.Status.UPDATED, null)
+                        : new BatchResult.Item(update.index(), update.id(), BatchResult.Status.NOT_FOUND, "Not found."));
+            } catch (VersionConflictException e) {
+                items.add(new BatchResult.Item(update.index(), update.id(), BatchResult.Status.CONFLICT, e.getMessage()));
+            }
         }
+        return items;
+    }
+
+    private static List<String> updatedIds(List<BatchResult.Item> items) {
+        return items.stream().filter(i -> i.status().isSuccess()).map(BatchResult.Item::id).distinct().toList();
     }
 
     // --- Assignment Management ---
 
+    /**
+     * Ask for a background recalculation of all assignments (debounced; see {@link ReassignmentScheduler}).
+     * @return The plan version that will include the changes made so far.
+     */
+    public long requestReassignment(String strategyName) {
+        ensureOpen();
+        if (strategyName == null || strategyName.isBlank()) strategyName = "greedy";
+        com.hit.algorithm.StrategyFactory.getStrategy(strategyName);
+        return reassignment.request(strategyName);
+    }
+
+    /** @return Future completed once the plan includes every change requested so far (with the plan version). */
+    public CompletableFuture<Long> awaitLatestPlan() {
+        return reassignment.awaitLatest();
+    }
+
+    /** @return Future completed once the plan version is at least {@code version}. */
+    public CompletableFuture<Long> awaitPlan(long version) {
+        return reassignment.await(version);
+    }
+
+    /** @return Latest plan version computed in the background. */
+    public long getPlanVersion() {
+        return reassignment.getPlanVersion();
+    }
+
+    /** @return Latest requested plan version (greater than {@link #getPlanVersion()} while a recalculation is pending). */
+    public long getRequestedPlanVersion() {
+        return reassignment.getRequestedVersion();
+    }
+
     public boolean assignTasks(String strategyName) throws Exception {
+        return !assignTasks(strategyName, phase -> {}).isEmpty();
+    }
+
+    /**
+     * Recalculate all assignments, reporting each phase as it starts (used by AssignmentJobManager).
+     * @return The assignments now stored.
+     */
+    public List<Assignment> assignTasks(String strategyName, Consumer<AssignmentJobManager.Phase> progress) throws Exception {
         if (strategyName == null || strategyName.isBlank())
             strategyName = "greedy";
         ITaskAssignment strategy = com.hit.algorithm.StrategyFactory.getStrategy(strategyName);
         Objects.requireNonNull(strategy, "Assignment strategy cannot be null");
-        assignmentLock.writeLock().lock();
-        try {
-            List<Task> tasks = getAllTasks();
-            List<TeamMember> members = getAllTeamMembers();
-            assignmentDao.deleteIf(_ -> true);
-            List<Assignment> assignments = strategy.assignTasks(tasks, members);
-            assignmentDao.save(assignments);
-            return !assignments.isEmpty();
-        } finally {
-            assignmentLock.writeLock().unlock();
+        // Tasks and members are read for the whole run, so they are locked up front (in the global order)
+        try (LockManager.Guard _ = locks.lock(EnumSet.of(TASKS, MEMBERS), EnumSet.of(ASSIGNMENTS))) {
+            List<Assignment> assignments = transactions.inTransaction(() -> {
+                progress.accept(AssignmentJobManager.Phase.LOADING);
+                List<Task> tasks = getTasksInScheduleOrder();
+                List<TeamMember> members = loadTeamMembers();
+                progress.accept(AssignmentJobManager.Phase.ASSIGNING);
+                List<Assignment> result = strategy.assignTasks(tasks, members);
+                progress.accept(AssignmentJobManager.Phase.SAVING);
+                // Only the assignments that actually changed are written
+                assignmentDao.replaceMatching(_ -> true, result);
+                return result;
+            });
+            // Only the assignments are stored; the hours the strategy consumed stay in its working copies
+            publish(new StateSnapshot.Changes().replaceAssignments(_ -> true, assignments), ASSIGNMENTS_REPLACED,
+                    List.of());
+            return assignments;
         }
     }
 
     public boolean assignTasksToTeamMember(String memberId, String strategyName) throws Exception {
+        ensureOpen();
         Objects.requireNonNull(memberId, "Member ID cannot be null");
         if (memberId.isBlank()) throw new IllegalArgumentException("Member ID cannot be blank");
         if (strategyName == null || strategyName.isBlank())
@@ -210,150 +699,301 @@ public class TaskAssignmentService {
         ITaskAssignment strategy = com.hit.algorithm.StrategyFactory.getStrategy(strategyName);
         Objects.requireNonNull(strategy, "Assignment strategy cannot be null");
 
-        assignmentLock.writeLock().lock();
-        try {
-            TeamMember member = getTeamMemberById(memberId);
-            if (member == null)
-                throw new IllegalArgumentException("Team member not found: " + memberId);
-
-            List<Task> tasks = getAllTasks();
-            assignmentDao.deleteIf(a -> memberId.equals(a.getMemberId()));
+        try (LockManager.Guard _ = locks.lock(EnumSet.of(TASKS, MEMBERS), EnumSet.of(ASSIGNMENTS))) {
+            List<Assignment> memberAssignments = transactions.inTransaction(() -> {
+                TeamMember member = memberDao.findById(memberId);
+                if (member == null)
+                    throw new IllegalArgumentException("Team member not found: " + memberId);
+
+                List<Task> tasks = getTasksInScheduleOrder();
+                List<Assignment> result = strategy.assignTasks(tasks, List.of(member));
+                assignmentDao.replaceMatching(a -> memberId.equals(a.getMemberId()), result);
+                return result;
+            });
+            publish(new StateSnapshot.Changes()
+                            .replaceAssignments(a -> memberId.equals(a.getMemberId()), memberAssignments),
+                    ASSIGNMENTS_REPLACED, List.of(memberId));
+            return !memberAssignments.isEmpty();
+        }
+    }
 
-            List<Assignment> memberAssignments = strategy.assignTasks(tasks, List.of(member));
-            assignmentDao.save(memberAssignments);
+    /**
+     * Compute the plan a strategy would produce, without storing anything. It runs on the current snapshot
+     * (no locks, no DAO access), with the given tasks and members replacing the ones with the same id, or
+     * added if their id is missing or unknown. Repeated previews of the same snapshot and inputs are served
+     * from a short-lived cache.
+     * <p>
+     * Overrides are taken like updates: remaining hours start from the full duration / daily hours. An
+     * overridden task keeps its place in the schedule; added tasks are scheduled after the existing ones
+     * of their priority.
+     * @param strategyName    Strategy name (null or blank = greedy).
+     * @param taskOverrides   Tasks to replace or add (null = none).
+     * @param memberOverrides Members to replace or add (null = none).
+     * @throws IllegalArgumentException If the strategy is unknown.
+     */
+    public AssignmentPreview previewAssignments(String strategyName, List<Task> taskOverrides,
+                                                List<TeamMember> memberOverrides) {
+        String strategyKey = (strategyName == null || strategyName.isBlank()) ? "greedy" : strategyName;
+        ITaskAssignment strategy = com.hit.algorithm.StrategyFactory.getStrategy(strategyKey);
+        Objects.requireNonNull(strategy, "Assignment strategy cannot be null");
+        StateSnapshot current = snapshot;
+
+        // Normalized first, so equal inputs hit the cache whatever fields the caller left out
+        List<Task> taskChanges = new ArrayList<>();
+        if (taskOverrides != null) {
+            for (int i = 0; i < taskOverrides.size(); i++) {
+                Task t = Task.fromRaw(taskOverrides.get(i));
+                if (t.getId() == null || t.getId().isBlank()) t.setId("preview-T" + (i + 1));
+                Task existing = current.getTask(t.getId());
+                t.setCreatedAt(existing != null ? existing.getCreatedAt()
+                        : Instant.MAX.minusSeconds(taskOverrides.size() - i));
+                taskChanges.add(t);
+            }
+        }
+        List<TeamMember> memberChanges = new ArrayList<>();
+        if (memberOverrides != null) {
+            for (int i = 0; i < memberOverrides.size(); i++) {
+                TeamMember m = TeamMember.fromRaw(memberOverrides.get(i));
+                if (m.getId() == null || m.getId().isBlank()) m.setId("preview-M" + (i + 1));
+                memberChanges.add(m);
+            }
+        }
+        AssignmentPreview cached = previews.get(current.getVersion(), strategyKey, taskChanges, memberChanges);
+        if (cached != null) return cached;
+
+        // The snapshot hands out copies, so the strategy may consume their hours
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        for (Task t : current.getTasks()) tasks.put(t.getId(), t);
+        for (Task t : taskChanges) {
+            Task copy = Task.fromRaw(t);
+            copy.setCreatedAt(t.getCreatedAt());
+            tasks.put(copy.getId(), copy);
+        }
+        Map<String, TeamMember> members = new LinkedHashMap<>();
+        for (TeamMember m : current.getMembers()) members.put(m.getId(), m);
+        for (TeamMember m : memberChanges) members.put(m.getId(), TeamMember.fromRaw(m));
+
+        List<Assignment> plan = List.copyOf(strategy.assignTasks(new ArrayList<>(tasks.values()),
+                new ArrayList<>(members.values())));
+        AssignmentPreview preview = new AssignmentPreview(strategyKey, current.getVersion(), plan,
+                summarize(plan, tasks.size(), members.keySet(), current.getAssignments()), false);
+        previews.put(preview, taskChanges, memberChanges);
+        return preview;
+    }
 
-            return !memberAssignments.isEmpty();
-        } finally {
-            assignmentLock.writeLock().unlock();
+    private static AssignmentPreview.Summary summarize(List<Assignment> plan, int taskCount, Set<String> memberIds,
+                                                       List<Assignment> stored) {
+        Set<String> assignedTaskIds = new HashSet<>();
+        Map<String, Integer> hoursPerMember = new LinkedHashMap<>();
+        for (String id : memberIds) hoursPerMember.put(id, 0);
+        Map<String, Integer> planned = new HashMap<>();
+        long hours = 0;
+        for (Assignment a : plan) {
+            assignedTaskIds.add(a.getTaskId());
+            hoursPerMember.merge(a.getMemberId(), a.getAssignedHours(), Integer::sum);
+            planned.put(StateSnapshot.idOf(a), a.getAssignedHours());
+            hours += a.getAssignedHours();
+        }
+        // Added or changed assignments, then stored ones the plan drops
+        int changed = 0;
+        Set<String> storedIds = new HashSet<>();
+        for (Assignment a : stored) {
+            String id = StateSnapshot.idOf(a);
+            storedIds.add(id);
+            Integer plannedHours = planned.get(id);
+            if (plannedHours == null || plannedHours != a.getAssignedHours()) changed++;
         }
+        for (String id : planned.keySet()) if (!storedIds.contains(id)) changed++;
+        double averageLoad = memberIds.isEmpty() ? 0.0 : plan.size() / (double) memberIds.size();
+        return new AssignmentPreview.Summary(assignedTaskIds.size(), taskCount - assignedTaskIds.size(), hours,
+                averageLoad, Collections.unmodifiableMap(hoursPerMember), changed);
     }
 
     public List<Assignment> getAllAssignments() throws Exception {
-        assignmentLock.readLock().lock();
-        try {
-            return new ArrayList<>(assignmentDao.load());
-        } finally {
-            assignmentLock.readLock().unlock();
+        return snapshot.getAssignments();
+    }
+
+    /** @return The member's assignments, or null if the member does not exist. */
+    public List<Assignment> getAssignmentsForTeamMember(String memberId) {
+        StateSnapshot current = snapshot;
+        if (memberId == null || current.getMember(memberId) == null) return null;
+        return current.getAssignmentsOfMember(memberId);
+    }
+
+    /** @return The task's assignments, or null if the task does not exist. */
+    public List<Assignment> getAssignmentsForTask(String taskId) {
+        StateSnapshot current = snapshot;
+        if (taskId == null || current.getTask(taskId) == null) return null;
+        return current.getAssignmentsOfTask(taskId);
+    }
+
+    /** Team members as stored, for the writers (the snapshot may lag behind an open transaction). */
+    private List<TeamMember> loadTeamMembers() throws Exception {
+        try (LockManager.Guard _ = locks.read(MEMBERS)) {
+            return new ArrayList<>(memberDao.load());
         }
     }
 
+    /**
+     * Delete an assignment and give its hours back to the task and the member, in one commit.
+     * @throws VersionConflictException If the task or member kept changing concurrently while the hours were restored.
+     */
     public boolean deleteAssignment(String taskId, String memberId) throws Exception {
+        ensureOpen();
         if (taskId == null || memberId == null || taskId.isBlank() || memberId.isBlank())
             return false;
-        assignmentLock.writeLock().lock();
-        try {
+        // Task and member rows are updated too; their read locks keep deletes out
+        try (LockManager.Guard _ = locks.lock(EnumSet.of(TASKS, MEMBERS), EnumSet.of(ASSIGNMENTS))) {
+            // Hours are restored and the assignment removed as one commit
             String id = taskId + "-" + memberId;
-            Assignment a = assignmentDao.findById(id);
-            if (a != null) {
-                Task task = getTaskById(taskId);
-                if (task != null) {
-                    task.setRemainingHours(task.getRemainingHours() + a.getAssignedHours());
-                    taskDao.update(task);
+            boolean deleted = transactions.inTransaction(() -> {
+                Assignment a = assignmentDao.findById(id);
+                if (a != null) {
+                    // Conditional writes: a concurrent updateTask/updateTeamMember only holds the read lock too,
+                    // so the hours are added to whatever is stored (re-read on a race) instead of overwriting it
+                    updateIfVersion(taskDao, taskId, null, task -> {
+                        task.setRemainingHours(task.getRemainingHours() + a.getAssignedHours());
+                        return task;
+                    });
+                    updateIfVersion(memberDao, memberId, null, member -> {
+                        member.setRemainingHours(member.getRemainingHours() + a.getAssignedHours());
+                        return member;
+                    });
                 }
-                TeamMember member = getTeamMemberById(memberId);
-                if (member != null) {
-                    member.setRemainingHours(member.getRemainingHours() + a.getAssignedHours());
-                    memberDao.update(member);
-                }
-            }
-            return assignmentDao.deleteById(id);
-        } finally {
-            assignmentLock.writeLock().unlock();
+                return assignmentDao.deleteById(id);
+            });
+            // Task and member updates may race with updateTask/updateTeamMember, so publish what is stored
+            if (deleted)
+                publishStored(List.of(taskId), List.of(memberId), a -> id.equals(StateSnapshot.idOf(a)),
+                        ASSIGNMENT_DELETED, List.of(taskId, memberId));
+            return deleted;
         }
     }
 
     public void clearAll() throws Exception {
-        // Always delete assignments first to maintain referential integrity!
-        assignmentDao.deleteAll();
-        taskDao.deleteAll();
-        memberDao.deleteAll();
+        ensureOpen();
+        try (LockManager.Guard _ = locks.write(TASKS, MEMBERS, ASSIGNMENTS)) {
+            // Always delete assignments first to maintain referential integrity!
+            transactions.inTransaction(() -> {
+                assignmentDao.deleteAll();
+                taskDao.deleteAll();
+                memberDao.deleteAll();
+                return null;
+            });
+            publish(StateSnapshot::empty, CLEARED, List.of());
+        }
     }
 
-    // --- Statistics & Search (unchanged) ---
+    // --- Statistics & Search ---
+    // Statistics are read from counters kept up to date on every write (see StatisticsTracker).
 
     public int countTasks() throws Exception {
-        taskLock.readLock().lock();
-        try {
-            return taskDao.load().size();
-        } finally {
-            taskLock.readLock().unlock();
-        }
+        return statistics.countTasks();
     }
 
     public int countTeamMembers() throws Exception {
-        memberLock.readLock().lock();
-        try {
-            return memberDao.load().size();
-        } finally {
-            memberLock.readLock().unlock();
-        }
+        return statistics.countTeamMembers();
     }
 
     public int countUnassignedTasks() throws Exception {
-        assignmentLock.readLock().lock();
-        taskLock.readLock().lock();
-        try {
-            List<Assignment> assignments = assignmentDao.load();
-            List<Task> tasks = taskDao.load();
-            Set<String> assignedTaskIds = new HashSet<>();
-            for (Assignment a : assignments) assignedTaskIds.add(a.getTaskId());
-            return (int) tasks.stream()
-                    .filter(t -> !assignedTaskIds.contains(t.getId()))
-                    .count();
-        } finally {
-            taskLock.readLock().unlock();
-            assignmentLock.readLock().unlock();
-        }
+        return statistics.countUnassignedTasks();
     }
 
     public double averageLoad() throws Exception {
-        memberLock.readLock().lock();
-        assignmentLock.readLock().lock();
-        try {
-            List<TeamMember> members = memberDao.load();
-            List<Assignment> assignments = assignmentDao.load();
-            if (members.isEmpty()) return 0.0;
-            Map<String, Long> loadPerMember = new HashMap<>();
-            for (Assignment a : assignments) {
-                loadPerMember.put(a.getMemberId(), loadPerMember.getOrDefault(a.getMemberId(), 0L) + 1);
-            }
-            double total = loadPerMember.values().stream().mapToDouble(Long::doubleValue).sum();
-            return total / members.size();
-        } finally {
-            assignmentLock.readLock().unlock();
-            memberLock.readLock().unlock();
-        }
+        return statistics.averageLoad();
+    }
+
+    /** @return Counters behind the statistics methods, plus per-member load. */
+    public StatisticsTracker getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Compare the counters with the aggregate queries of the stats DAO (a consistency check for
+     * admin tools and tests). The queries run optimistically and are repeated under read locks
+     * only if a write got in between.
+     * @return True if both agree.
+     */
+    public boolean verifyStatistics() throws Exception {
+        return locks.readOptimistically(() -> statsDao.countTasks() == statistics.countTasks()
+                && statsDao.countTeamMembers() == statistics.countTeamMembers()
+                && statsDao.countUnassignedTasks() == statistics.countUnassignedTasks()
+                && Math.abs(statsDao.averageLoad() - statistics.averageLoad()) < 1e-9, TASKS, MEMBERS, ASSIGNMENTS);
     }
 
     public List<Task> searchTasksByName(String name) throws Exception {
         if (name == null || name.isBlank()) return List.of();
         String lower = name.toLowerCase();
-        taskLock.readLock().lock();
-        try {
-            List<Task> result = new ArrayList<>();
-            for (Task t : taskDao.load()) {
-                if (t.getName().toLowerCase().contains(lower))
-                    result.add(t);
-            }
-            return result;
-        } finally {
-            taskLock.readLock().unlock();
-        }
+        return snapshot.findTasks(t -> t.getName().toLowerCase().contains(lower));
     }
 
     public List<TeamMember> searchTeamMembersByName(String name) throws Exception {
         if (name == null || name.isBlank()) return List.of();
         String lower = name.toLowerCase();
-        memberLock.readLock().lock();
-        try {
-            List<TeamMember> result = new ArrayList<>();
-            for (TeamMember m : memberDao.load()) {
-                if (m.getName().toLowerCase().contains(lower))
-                    result.add(m);
-            }
-            return result;
-        } finally {
-            memberLock.readLock().unlock();
-        }
+        return snapshot.findMembers(m -> m.getName().toLowerCase().contains(lower));
+    }
+
+    /** Team members having the given skill (exact match). */
+    public List<TeamMember> findTeamMembersBySkill(String skill) throws Exception {
+        if (skill == null || skill.isBlank()) return List.of();
+        return snapshot.findMembers(m -> m.getSkills() != null && m.getSkills().contains(skill));
+    }
+
+    // --- Asynchronous reads ---
+    // These run on the I/O executor and never block the calling thread. They do not take the
+    // service locks (a lock cannot be held across threads); each DAO call is atomic on its own.
+
+    public CompletableFuture<List<Task>> getAllTasksAsync() {
+        return asyncTaskDao.loadAsync();
+    }
+
+    public CompletableFuture<Task> getTaskByIdAsync(String taskId) {
+        if (taskId == null || taskId.isBlank()) return CompletableFuture.completedFuture(null);
+        return asyncTaskDao.findByIdAsync(taskId);
+    }
+
+    public CompletableFuture<List<TeamMember>> getAllTeamMembersAsync() {
+        return asyncMemberDao.loadAsync();
+    }
+
+    public CompletableFuture<TeamMember> getTeamMemberByIdAsync(String memberId) {
+        if (memberId == null || memberId.isBlank()) return CompletableFuture.completedFuture(null);
+        return asyncMemberDao.findByIdAsync(memberId);
+    }
+
+    public CompletableFuture<List<Assignment>> getAllAssignmentsAsync() {
+        return asyncAssignmentDao.loadAsync();
+    }
+
+    /**
+     * A member's assignments. The member lookup and the indexed assignment lookup run in parallel.
+     * @return Future of the assignments, or of null if the member does not exist.
+     */
+    public CompletableFuture<List<Assignment>> getAssignmentsForTeamMemberAsync(String memberId) {
+        if (memberId == null || memberId.isBlank()) return CompletableFuture.completedFuture(null);
+        return getTeamMemberByIdAsync(memberId).thenCombine(asyncAssignmentDao.findByMemberAsync(memberId),
+                (member, assignments) -> member == null ? null : assignments);
+    }
+
+    /**
+     * A task's assignments. The task lookup and the indexed assignment lookup run in parallel.
+     * @return Future of the assignments, or of null if the task does not exist.
+     */
+    public CompletableFuture<List<Assignment>> getAssignmentsForTaskAsync(String taskId) {
+        if (taskId == null || taskId.isBlank()) return CompletableFuture.completedFuture(null);
+        return getTaskByIdAsync(taskId).thenCombine(asyncAssignmentDao.findByTaskAsync(taskId),
+                (task, assignments) -> task == null ? null : assignments);
+    }
+
+    /**
+     * Tasks without any assignment (same definition as {@link #countUnassignedTasks()}).
+     * Tasks and assignments are loaded in parallel.
+     */
+    public CompletableFuture<List<Task>> getUnassignedTasksAsync() {
+        return getAllTasksAsync().thenCombine(getAllAssignmentsAsync(), (tasks, assignments) -> {
+            Set<String> assignedTaskIds = new HashSet<>();
+            for (Assignment a : assignments) assignedTaskIds.add(a.getTaskId());
+            return tasks.stream().filter(t -> !assignedTaskIds.contains(t.getId())).toList();
+        });
     }
 }
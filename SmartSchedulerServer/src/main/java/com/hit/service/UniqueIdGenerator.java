@@ -1,20 +1,119 @@
 package com.hit.service;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import com.hit.dao.IIdBlockDao;
+import com.hit.dao.InMemoryIdBlockDaoImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Thread-safe unique ID generator for tasks, team members, etc.
+ * <p>
+ * Block-allocated (hi/lo): a block of {@code blockSize} numbers is reserved in an {@link IIdBlockDao}
+ * in one round trip, and ids are then handed out from memory without locking. Only refilling an
+ * exhausted block is serialized. With a durable block DAO (SQLite) ids stay unique across restarts,
+ * since a reserved block is never handed out twice; numbers of a block not used up before a restart
+ * are skipped, leaving gaps.
  */
 public class UniqueIdGenerator {
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+    /** Numbers [next, end) of a reserved block; {@code next} may run past {@code end} once exhausted. */
+    private record Block(AtomicLong next, long end) {}
+
+    private static final Block EMPTY = new Block(new AtomicLong(), 0);
+
     private final String prefix;
-    private final AtomicInteger counter = new AtomicInteger(1);
+    private final IIdBlockDao blocks;
+    private final int blockSize;
+    /** Lowest number still allowed; raised by {@link #advancePast(String)}. */
+    private final AtomicLong floor = new AtomicLong(1);
+    private volatile Block block = EMPTY;
 
+    /** Generator with a non-durable sequence (the caller skips existing ids with {@link #advancePast(String)}). */
     public UniqueIdGenerator(String prefix) {
+        this(prefix, new InMemoryIdBlockDaoImpl());
+    }
+
+    /**
+     * @param blocks Sequence store the blocks are reserved in; the prefix is the sequence name.
+     */
+    public UniqueIdGenerator(String prefix, IIdBlockDao blocks) {
+        this(prefix, blocks, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param blocks    Sequence store the blocks are reserved in; the prefix is the sequence name.
+     * @param blockSize Numbers reserved per round trip.
+     */
+    public UniqueIdGenerator(String prefix, IIdBlockDao blocks, int blockSize) {
+        if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive");
         this.prefix = prefix;
+        this.blocks = blocks;
+        this.blockSize = blockSize;
     }
 
     public String nextId() {
-        return prefix + counter.getAndIncrement();
+        Block b = block;
+        long n = b.next.getAndIncrement();
+        if (n < b.end && n >= floor.get()) return prefix + n;
+        return prefix + nextFromNewBlock();
     }
-}
 
+    /**
+     * Reserve a block of consecutive ids with a single storage round trip (for bulk inserts).
+     * @param count Number of ids.
+     * @return The ids, in order.
+     */
+    public List<String> nextIds(int count) {
+        if (count < 0) throw new IllegalArgumentException("Count cannot be negative");
+        List<String> ids = new ArrayList<>(count);
+        if (count == 0) return ids;
+        long first = reserve(count);
+        for (int i = 0; i < count; i++) ids.add(prefix + (first + i));
+        return ids;
+    }
+
+    /**
+     * Make sure ids already in use are never handed out again (e.g. when a service is
+     * re-created over an existing database). Ids with another prefix or no number are ignored.
+     */
+    public void advancePast(String existingId) {
+        if (existingId == null || !existingId.startsWith(prefix)) return;
+        long n;
+        try {
+            n = Long.parseLong(existingId.substring(prefix.length()));
+        } catch (NumberFormatException ignored) {
+            return;
+        }
+        floor.accumulateAndGet(n + 1, Math::max);
+        // Skip the number within the current block (ids generated concurrently are checked against the floor)
+        Block b = block;
+        if (n < b.end) b.next.accumulateAndGet(n + 1, Math::max);
+    }
+
+    /** Slow path: the current block is used up (or below the floor); reserve the next one. */
+    private synchronized long nextFromNewBlock() {
+        while (true) {
+            Block b = block;
+            long n = b.next.getAndIncrement();
+            if (n < b.end) {
+                long min = floor.get();
+                if (n >= min) return n; // another thread refilled meanwhile
+                b.next.accumulateAndGet(min, Math::max);
+                continue;
+            }
+            long first = reserve(blockSize);
+            block = new Block(new AtomicLong(first), first + blockSize);
+        }
+    }
+
+    private long reserve(int size) {
+        try {
+            return blocks.reserveBlock(prefix, size, floor.get());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to reserve ids for " + prefix, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hit.service;
+
+/**
+ * Thrown when an optimistic update finds that the entity was changed by someone else
+ * since the caller read it. The caller should reload the entity and retry.
+ */
+public class VersionConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String id;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public VersionConflictException(String id, long expectedVersion, long actualVersion) {
+        super("Entity " + id + " was modified concurrently (expected version " + expectedVersion
+                + ", found " + actualVersion + ")");
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getId() { return id; }
+    public long getExpectedVersion() { return expectedVersion; }
+    public long getActualVersion() { return actualVersion; }
+}
@@ -10,6 +10,8 @@ import com.hit.model.Assignment;
 import com.hit.model.Task;
 import com.hit.model.TeamMember;
 import com.hit.server.Request;
+import com.hit.service.AssignmentJobManager;
+import com.hit.service.AssignmentPreview;
 import com.hit.service.TaskAssignmentService;
 import org.junit.*;
 
@@ -98,6 +100,39 @@ public class AssignmentControllerTest {
         assertEquals(m.getId(), a.getMemberId());
     }
 
+    @Test
+    public void testAssignmentJobLifecycle() throws Exception {
+        Task t = createTask("Job task");
+        createMember("Job member");
+
+        ApiResponse<AssignmentJobManager.JobStatus> submitted = assignmentController.submitAssignmentJob(
+                new Request(Map.of("action", "assignment/submit"), Map.of("strategy", "greedy")));
+        assertTrue(submitted.isSuccess());
+        String jobId = submitted.getData().id();
+        Map<String, Object> body = Map.of("jobId", jobId);
+
+        AssignmentJobManager.JobStatus status = submitted.getData();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!status.phase().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = assignmentController.getJobStatus(new Request(Map.of("action", "assignment/jobStatus"), body)).getData();
+        }
+        assertEquals(AssignmentJobManager.Phase.COMPLETED, status.phase());
+        assertEquals(100, status.percent());
+        assertEquals(1, status.assignmentCount());
+
+        ApiResponse<List<Assignment>> result = assignmentController.getJobResult(
+                new Request(Map.of("action", "assignment/jobResult"), body));
+        assertTrue(result.isSuccess());
+        assertEquals(t.getId(), result.getData().getFirst().getTaskId());
+
+        ApiResponse<List<Assignment>> unknown = assignmentController.getJobResult(
+                new Request(Map.of("action", "assignment/jobResult"), Map.of("jobId", "no-such-job")));
+        assertFalse(unknown.isSuccess());
+        assertFalse(assignmentController.submitAssignmentJob(
+                new Request(Map.of("action", "assignment/submit"), Map.of("strategy", "nope"))).isSuccess());
+    }
+
     @Test
     public void testAssignTasksToTeamMemberSuccess() throws Exception {
         Task t1 = createTask("T1");
@@ -180,6 +215,59 @@ public class AssignmentControllerTest {
         assertEquals(2, resp.getData().size());
     }
 
+    @Test
+    public void testGetAssignmentsForTask() throws Exception {
+        Task task = createTask("A");
+        createMember("ManX");
+        assignAll("greedy");
+
+        ApiResponse<List<Assignment>> resp = assignmentController.getAssignmentsForTask(
+                new Request(Map.of("action", "assignment/forTask"), Map.of("taskId", task.getId())));
+        assertTrue(resp.isSuccess());
+        assertEquals(1, resp.getData().size());
+        assertEquals(task.getId(), resp.getData().getFirst().getTaskId());
+
+        resp = assignmentController.getAssignmentsForTask(
+                new Request(Map.of("action", "assignment/forTask"), Map.of("taskId", "noSuchTask")));
+        assertFalse(resp.isSuccess());
+        assertEquals("Task not found.", resp.getMessage());
+    }
+
+    @Test
+    public void testPreviewWithOverridesDoesNotStoreAnything() throws Exception {
+        createTask("A");
+        createTask("B");
+        TeamMember m = createMember("ManX");
+        assignAll("greedy");
+        List<Assignment> stored = assignmentDao.load();
+
+        // Partial override of an existing member, plus a hypothetical new task
+        Map<String, Object> body = new HashMap<>();
+        body.put("strategy", "balanced");
+        body.put("members", List.of(Map.of("id", m.getId(), "maxHoursPerDay", 3)));
+        body.put("tasks", List.of(Map.of("name", "C", "durationHours", 2, "priority", 1, "requiredSkills", List.of("java"))));
+        ApiResponse<AssignmentPreview> resp = assignmentController.previewAssignments(new Request(new HashMap<>(), body));
+        assertTrue(resp.getMessage(), resp.isSuccess());
+        AssignmentPreview preview = resp.getData();
+        assertEquals("balanced", preview.strategy());
+        assertFalse(preview.cached());
+        assertTrue(preview.summary().hoursPerMember().get(m.getId()) <= 3);
+        assertEquals(3, preview.summary().assignedTasks() + preview.summary().unassignedTasks());
+        assertTrue(preview.summary().changedAssignments() > 0);
+
+        assertEquals("Previews never touch the stored plan", stored.size(), assignmentDao.load().size());
+        assertEquals(8, service.getTeamMemberById(m.getId()).getMaxHoursPerDay());
+        assertEquals(2, service.countTasks());
+
+        assertTrue("Repeated previews come from the cache",
+                assignmentController.previewAssignments(new Request(new HashMap<>(), body)).getData().cached());
+
+        body.put("members", List.of(Map.of("id", m.getId(), "maxHoursPerDay", -1)));
+        resp = assignmentController.previewAssignments(new Request(new HashMap<>(), body));
+        assertFalse(resp.isSuccess());
+        assertTrue(resp.getMessage().startsWith("members[0]"));
+    }
+
     @Test
     public void testGetAssignmentsForNonexistentMember() throws Exception {
         Request req = new Request(Map.of("action", "assignment/forMember"), Map.of("memberId", "noSuchGuy"));
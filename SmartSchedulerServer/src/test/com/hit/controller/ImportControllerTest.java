@@ -0,0 +1,131 @@
+package hit.controller;
+
+import com.hit.controller.ApiResponse;
+import com.hit.controller.ImportController;
+import com.hit.dao.DaoFactory;
+import com.hit.dao.IDao;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.server.Request;
+import com.hit.service.TaskAssignmentService;
+import org.junit.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for bulk import: streamed NDJSON, CSV files and the per-row error report.
+ */
+public class ImportControllerTest {
+
+    private TaskAssignmentService service;
+    private ImportController importController;
+    private Path importDirectory;
+
+    private IDao<Task> taskDao;
+    private IDao<TeamMember> memberDao;
+    private IDao<Assignment> assignmentDao;
+
+    @Before
+    public void setUp() throws Exception {
+        taskDao = DaoFactory.create("sqlite", Task.class);
+        memberDao = DaoFactory.create("sqlite", TeamMember.class);
+        assignmentDao = DaoFactory.create("sqlite", Assignment.class);
+        assignmentDao.deleteAll();
+        taskDao.deleteAll();
+        memberDao.deleteAll();
+
+        service = new TaskAssignmentService(taskDao, memberDao, assignmentDao);
+        importDirectory = Files.createTempDirectory("imports");
+        importController = new ImportController(service, importDirectory.toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assignmentDao.deleteAll();
+        taskDao.deleteAll();
+        memberDao.deleteAll();
+        try (Stream<Path> files = Files.walk(importDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private Request streamed(String action, Map<String, Object> body, String lines) {
+        Request req = new Request(Map.of("action", action), body);
+        req.setStream(new BufferedReader(new StringReader(lines)));
+        return req;
+    }
+
+    @Test
+    public void testStreamedNdjsonReportsBadRows() throws Exception {
+        String rows = """
+                {"name":"Build API","durationHours":4,"priority":1,"requiredSkills":["java"]}
+                {"name":"","durationHours":4,"priority":1,"requiredSkills":["java"]}
+                not json
+
+                {"name":"Write docs","durationHours":2,"priority":5,"requiredSkills":["docs"]}
+                {"name":"Train model","durationHours":8,"priority":2,"requiredSkills":["ml"]}
+                .
+                {"name":"After the end marker","durationHours":1,"priority":1,"requiredSkills":["x"]}
+                """;
+        ApiResponse<ImportController.ImportReport> resp =
+                importController.importTasks(streamed("task/import", new HashMap<>(), rows));
+        assertTrue(resp.getMessage(), resp.isSuccess());
+        ImportController.ImportReport report = resp.getData();
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(2L, 3L, 5L), report.errors().stream().map(ImportController.RowError::line).toList());
+        assertFalse(report.errorsTruncated());
+
+        List<Task> stored = taskDao.load();
+        assertEquals(2, stored.size());
+        assertTrue(stored.stream().allMatch(t -> t.getId() != null && t.getId().startsWith("T")));
+        assertNotEquals(stored.get(0).getId(), stored.get(1).getId());
+    }
+
+    @Test
+    public void testCsvFileImportOfMembers() throws Exception {
+        Files.writeString(importDirectory.resolve("team.csv"), """
+                id,name,skills,maxHoursPerDay,efficiency
+                ignored,Alice,java;sql,8,1.5
+                ,"Bob \"\"the builder\"\"",java,6,1.0
+                ,Carol,ml,99,1.0
+                ,Dan,ml,six,1.0
+                """);
+        ApiResponse<ImportController.ImportReport> resp = importController.importTeamMembers(
+                new Request(Map.of("action", "member/import"), Map.of("file", "team.csv")));
+        assertTrue(resp.getMessage(), resp.isSuccess());
+        assertEquals(2, resp.getData().imported());
+        assertEquals(2, resp.getData().failed());
+
+        List<TeamMember> members = service.getAllTeamMembers();
+        assertEquals(2, members.size());
+        assertTrue(members.stream().anyMatch(m -> m.getName().equals("Bob \"the builder\"")));
+        assertTrue(members.stream().anyMatch(m -> m.getSkills().equals(List.of("java", "sql"))));
+        // Regular creation continues after the imported ids
+        TeamMember next = service.createNewTeamMember(new TeamMember(null, "Eve", List.of("java"), 8, 1.0));
+        assertTrue(members.stream().noneMatch(m -> m.getId().equals(next.getId())));
+    }
+
+    @Test
+    public void testRejectsUnsafeFileNamesAndBadHeaders() throws Exception {
+        ApiResponse<?> resp = importController.importTasks(
+                new Request(Map.of("action", "task/import"), Map.of("file", "../DataSource.csv")));
+        assertFalse(resp.isSuccess());
+
+        Files.writeString(importDirectory.resolve("tasks.csv"), "name,priority\nA,1\n");
+        resp = importController.importTasks(new Request(Map.of("action", "task/import"), Map.of("file", "tasks.csv")));
+        assertFalse(resp.isSuccess());
+        assertTrue(resp.getMessage().contains("durationHours"));
+    }
+}
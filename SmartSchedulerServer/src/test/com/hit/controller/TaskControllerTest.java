@@ -9,6 +9,7 @@ import com.hit.dao.IDao;
 import com.hit.model.Assignment;
 import com.hit.model.Task;
 import com.hit.model.TeamMember;
+import com.hit.service.BatchResult;
 import com.hit.service.TaskAssignmentService;
 import org.junit.*;
 
@@ -246,4 +247,125 @@ public class TaskControllerTest {
         assertTrue(resp.isSuccess());
         assertEquals(Integer.valueOf(2), resp.getData());
     }
+
+    @Test
+    public void testBatchCreateUpdateAndDelete() throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("tasks", List.of(
+                Map.of("name", "Batch A", "durationHours", 2, "priority", 1, "requiredSkills", List.of("java")),
+                Map.of("name", "", "durationHours", 2, "priority", 1, "requiredSkills", List.of("java")),
+                Map.of("name", "Batch C", "durationHours", 3, "priority", 2, "requiredSkills", List.of("sql"))));
+        ApiResponse<BatchResult> created = taskController.createTasks(makeTaskRequest(body));
+        assertTrue(created.isSuccess());
+        assertEquals(2, created.getData().succeeded());
+        assertEquals(BatchResult.Status.INVALID, created.getData().items().get(1).status());
+        String a = created.getData().items().get(0).id();
+        String c = created.getData().items().get(2).id();
+        assertEquals(2, service.countTasks());
+
+        long version = service.getTaskVersion(a);
+        body = new HashMap<>();
+        body.put("strategy", "greedy");
+        body.put("waitForPlan", true);
+        body.put("tasks", List.of(
+                Map.of("id", a, "name", "Batch A2", "durationHours", 2, "priority", 1, "requiredSkills", List.of("java"),
+                        "version", version),
+                Map.of("id", c, "name", "Batch C2", "durationHours", 3, "priority", 2, "requiredSkills", List.of("sql"),
+                        "version", version + 5),
+                Map.of("id", "T999999", "name", "Ghost", "durationHours", 1, "priority", 1, "requiredSkills", List.of("java"))));
+        long plansBefore = service.getRequestedPlanVersion();
+        ApiResponse<BatchResult> updated = taskController.updateTasks(makeTaskRequest(body));
+        assertTrue(updated.isSuccess());
+        List<BatchResult.Item> items = updated.getData().items();
+        assertEquals(BatchResult.Status.UPDATED, items.get(0).status());
+        assertEquals(BatchResult.Status.CONFLICT, items.get(1).status());
+        assertEquals(BatchResult.Status.NOT_FOUND, items.get(2).status());
+        assertEquals("Batch A2", service.getTaskById(a).getName());
+        assertEquals("Batch C", service.getTaskById(c).getName());
+        assertEquals("One recalculation for the whole batch", plansBefore + 1, service.getRequestedPlanVersion());
+        assertEquals(service.getRequestedPlanVersion(), updated.getData().planVersion());
+
+        body = new HashMap<>();
+        body.put("ids", List.of(a, "T999999", c));
+        ApiResponse<BatchResult> deleted = taskController.deleteTasks(makeTaskRequest(body));
+        assertTrue(deleted.isSuccess());
+        assertEquals(2, deleted.getData().succeeded());
+        assertEquals(BatchResult.Status.NOT_FOUND, deleted.getData().items().get(1).status());
+        assertEquals(0, service.countTasks());
+
+        assertFalse(taskController.deleteTasks(makeTaskRequest(Map.of())).isSuccess());
+    }
+
+    @Test
+    public void testBatchCreateKeepsExistingTasksOnFileBackends() throws Exception {
+        for (String backend : List.of("file", "binfile")) {
+            IDao<Task> tasks = DaoFactory.create(backend, Task.class);
+            IDao<TeamMember> members = DaoFactory.create(backend, TeamMember.class);
+            IDao<Assignment> assignments = DaoFactory.create(backend, Assignment.class);
+            tasks.deleteAll();
+            members.deleteAll();
+            assignments.deleteAll();
+            try {
+                TaskAssignmentService backendService = new TaskAssignmentService(tasks, members, assignments);
+                TaskController controller = new TaskController(backendService);
+                Task existing = backendService.createNewTask(new Task(null, "Existing", 4, 2, List.of("java")));
+
+                Map<String, Object> body = new HashMap<>();
+                body.put("tasks", List.of(
+                        Map.of("name", "Batch A", "durationHours", 2, "priority", 1, "requiredSkills", List.of("java")),
+                        Map.of("name", "Batch B", "durationHours", 3, "priority", 2, "requiredSkills", List.of("sql"))));
+                ApiResponse<BatchResult> created = controller.createTasks(makeTaskRequest(body));
+                assertTrue(created.getMessage(), created.isSuccess());
+                assertEquals(2, created.getData().succeeded());
+
+                assertEquals(backend, 3, tasks.load().size());
+                assertNotNull(backend, tasks.findById(existing.getId()));
+                assertEquals(backend, 3, backendService.countTasks());
+            } finally {
+                tasks.deleteAll();
+                members.deleteAll();
+                assignments.deleteAll();
+            }
+        }
+    }
+
+    @Test
+    public void testVersionRoundTripsThroughJsonOnFileBackend() throws Exception {
+        // File DAOs derive versions from a 63-bit hash of the row, too large to survive a double
+        IDao<Task> fileTaskDao = DaoFactory.create("file", Task.class);
+        IDao<TeamMember> fileMemberDao = DaoFactory.create("file", TeamMember.class);
+        IDao<Assignment> fileAssignmentDao = DaoFactory.create("file", Assignment.class);
+        fileTaskDao.deleteAll();
+        fileMemberDao.deleteAll();
+        fileAssignmentDao.deleteAll();
+        try {
+            TaskAssignmentService fileService = new TaskAssignmentService(fileTaskDao, fileMemberDao, fileAssignmentDao);
+            TaskController controller = new TaskController(fileService);
+            Task created = fileService.createNewTask(new Task(null, "Versioned", 4, 2, List.of("java")));
+
+            // The client receives the version as JSON and sends it back as JSON, as over the socket
+            String versionResponse = gson.toJson(controller.getTaskVersion(makeTaskRequest(Map.of("id", created.getId()))));
+            Object version = gson.fromJson(versionResponse, Map.class).get("data");
+            assertEquals(fileService.getTaskVersion(created.getId()), version);
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("id", created.getId());
+            body.put("name", "Versioned v2");
+            body.put("durationHours", 4);
+            body.put("priority", 2);
+            body.put("requiredSkills", List.of("java"));
+            body.put("version", version);
+            String requestJson = gson.toJson(Map.of("headers", Map.of("action", "task/update"), "body", body));
+            ApiResponse<Boolean> resp = controller.updateTask(gson.fromJson(requestJson, com.hit.server.Request.class));
+            assertTrue(resp.getMessage(), resp.isSuccess());
+
+            // The now stale version is a real conflict
+            resp = controller.updateTask(gson.fromJson(requestJson, com.hit.server.Request.class));
+            assertEquals(409, resp.getStatusCode());
+        } finally {
+            fileTaskDao.deleteAll();
+            fileMemberDao.deleteAll();
+            fileAssignmentDao.deleteAll();
+        }
+    }
 }
@@ -9,6 +9,7 @@ import com.hit.dao.IDao;
 import com.hit.model.Assignment;
 import com.hit.model.Task;
 import com.hit.model.TeamMember;
+import com.hit.service.BatchResult;
 import com.hit.service.TaskAssignmentService;
 import org.junit.*;
 
@@ -215,4 +216,25 @@ public class TeamMemberControllerTest {
         assertTrue(resp.isSuccess());
         assertEquals(Double.valueOf(0.0), resp.getData());
     }
+
+    @Test
+    public void testBatchUpdateMembers() throws Exception {
+        TeamMember alice = service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        TeamMember bob = service.createNewTeamMember(new TeamMember(null, "Bob", List.of("sql"), 6, 1.0));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("members", List.of(
+                Map.of("id", alice.getId(), "name", "Alice B", "skills", List.of("java", "ml"), "maxHoursPerDay", 6,
+                        "efficiency", 1.2),
+                Map.of("id", bob.getId(), "name", "Bob", "skills", List.of(), "maxHoursPerDay", 6, "efficiency", 1.0),
+                Map.of("name", "No id", "skills", List.of("java"), "maxHoursPerDay", 6, "efficiency", 1.0)));
+        ApiResponse<BatchResult> resp = teamMemberController.updateTeamMembers(makeMemberRequest(body));
+        assertTrue(resp.isSuccess());
+        assertEquals(1, resp.getData().succeeded());
+        assertEquals(BatchResult.Status.UPDATED, resp.getData().items().get(0).status());
+        assertEquals(BatchResult.Status.INVALID, resp.getData().items().get(1).status());
+        assertEquals(BatchResult.Status.INVALID, resp.getData().items().get(2).status());
+        assertEquals("Alice B", service.getTeamMemberById(alice.getId()).getName());
+        assertEquals(List.of("sql"), service.getTeamMemberById(bob.getId()).getSkills());
+    }
 }
@@ -0,0 +1,110 @@
+package hit.dao;
+
+import com.hit.dao.AsyncDao;
+import com.hit.dao.AsyncDaoImpl;
+import com.hit.dao.DaoExecutor;
+import com.hit.dao.DirectTransactionManager;
+import com.hit.dao.InMemoryStatsDaoImpl;
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.TaskAssignmentService;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the asynchronous DAO: results, bounded queues and service compositions.
+ */
+public class AsyncDaoImplTest {
+    private final DaoExecutor executor = new DaoExecutor(2, 4);
+
+    @After
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void testCallsCompleteOnExecutorThreads() throws Exception {
+        AsyncDao<Task> dao = new AsyncDaoImpl<>(new MemoryDaoImpl<>(Task.class), executor);
+        dao.saveAsync(List.of(new Task("T1", "A", 4, 1, List.of("java")),
+                new Task("T2", "B", 2, 2, List.of("ml")))).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, dao.loadAsync().get(5, TimeUnit.SECONDS).size());
+        assertEquals("B", dao.findByIdAsync("T2").get(5, TimeUnit.SECONDS).getName());
+        assertNull(dao.findByIdAsync("missing").get(5, TimeUnit.SECONDS));
+        assertTrue(dao.deleteByIdAsync("T1").get(5, TimeUnit.SECONDS));
+
+        // DAO exceptions complete the future exceptionally
+        try {
+            dao.updateAsync(new Task("missing", "X", 1, 1, List.of())).get(5, TimeUnit.SECONDS);
+            fail("Expected the update to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testFullQueueRejectsInsteadOfPilingUp() throws Exception {
+        DaoExecutor tiny = new DaoExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> running = tiny.read(() -> release.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Integer> queued = tiny.read(() -> 1);
+            // Wait until the first call occupies the only reader thread
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (tiny.getQueuedReads() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+
+            CompletableFuture<Integer> rejected = tiny.read(() -> 2);
+            assertTrue(rejected.isCompletedExceptionally());
+            try {
+                rejected.join();
+                fail("Expected a rejection");
+            } catch (Exception e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+            // Writes have their own queue and are not affected by busy readers
+            assertEquals("ok", tiny.write(() -> "ok").get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(1), queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            tiny.close();
+        }
+    }
+
+    @Test
+    public void testServiceComposesParallelReads() throws Exception {
+        MemoryDaoImpl<Task> taskDao = new MemoryDaoImpl<>(Task.class);
+        MemoryDaoImpl<TeamMember> memberDao = new MemoryDaoImpl<>(TeamMember.class);
+        MemoryDaoImpl<Assignment> assignmentDao = new MemoryDaoImpl<>(Assignment.class);
+        TaskAssignmentService service = new TaskAssignmentService(taskDao, memberDao, assignmentDao,
+                new InMemoryStatsDaoImpl(taskDao, memberDao, assignmentDao), new DirectTransactionManager(), executor);
+
+        Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        service.createNewTask(new Task(null, "Train model", 4, 1, List.of("ml")));
+        TeamMember member = service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        assignmentDao.save(new Assignment(task.getId(), member.getId(), 4));
+        service.refreshSnapshot(); // written behind the service's back
+
+        List<Assignment> forMember = service.getAssignmentsForTeamMemberAsync(member.getId()).get(5, TimeUnit.SECONDS);
+        assertEquals(1, forMember.size());
+        assertNull(service.getAssignmentsForTeamMemberAsync("M999").get(5, TimeUnit.SECONDS));
+
+        List<Task> unassigned = service.getUnassignedTasksAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(1, unassigned.size());
+        assertEquals("Train model", unassigned.getFirst().getName());
+        assertEquals(service.countUnassignedTasks(), unassigned.size());
+    }
+}
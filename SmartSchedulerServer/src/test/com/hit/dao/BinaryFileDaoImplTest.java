@@ -0,0 +1,136 @@
+package hit.dao;
+
+import com.hit.dao.BinaryFileDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the memory-mapped binary file DAO: codec round-trip, indexed lookups and reopen.
+ */
+public class BinaryFileDaoImplTest {
+
+    private File dataFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dataFile = File.createTempFile("entities", ".bin");
+        assertTrue(dataFile.delete());
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        dataFile.delete();
+    }
+
+    @Test
+    public void testTaskRoundTripKeepsAllFields() throws Exception {
+        BinaryFileDaoImpl<Task> dao = new BinaryFileDaoImpl<>(Task.class, dataFile.getPath());
+        Task t = new Task("T1", "Build API", 6, 2, List.of("java", "sql, advanced"));
+        t.setRemainingHours(-3);
+        Instant created = Instant.parse("2025-05-01T10:15:30.123456789Z");
+        t.setCreatedAt(created);
+        dao.save(t);
+
+        Task loaded = new BinaryFileDaoImpl<>(Task.class, dataFile.getPath()).findById("T1");
+        assertNotNull(loaded);
+        assertEquals("Build API", loaded.getName());
+        assertEquals(6, loaded.getDurationHours());
+        assertEquals(-3, loaded.getRemainingHours());
+        assertEquals(2, loaded.getPriority());
+        assertEquals(List.of("java", "sql, advanced"), loaded.getRequiredSkills());
+        assertEquals(created, loaded.getCreatedAt());
+    }
+
+    @Test
+    public void testMemberAndAssignmentRoundTrip() throws Exception {
+        File membersFile = File.createTempFile("members", ".bin");
+        try {
+            BinaryFileDaoImpl<TeamMember> members = new BinaryFileDaoImpl<>(TeamMember.class, membersFile.getPath());
+            TeamMember m = new TeamMember("M1", "Alice", List.of("java", "ml"), 8, 1.5);
+            m.setRemainingHours(2);
+            members.save(m);
+            TeamMember loadedMember = members.findById("M1");
+            assertEquals("Alice", loadedMember.getName());
+            assertEquals(List.of("java", "ml"), loadedMember.getSkills());
+            assertEquals(2, loadedMember.getRemainingHours());
+            assertEquals(1.5, loadedMember.getEfficiency(), 0.0);
+
+            BinaryFileDaoImpl<Assignment> assignments = new BinaryFileDaoImpl<>(Assignment.class, dataFile.getPath());
+            assignments.save(List.of(new Assignment("T1", "M1", 3), new Assignment("T2", "M1", 5)));
+            assertEquals(5, assignments.findById("T2-M1").getAssignedHours());
+            assertNull(assignments.findById("T3-M1"));
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            membersFile.delete();
+        }
+    }
+
+    @Test
+    public void testIndexedLookupAndScanOrder() throws Exception {
+        BinaryFileDaoImpl<Task> dao = new BinaryFileDaoImpl<>(Task.class, dataFile.getPath());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 500; i > 0; i--) {
+            tasks.add(new Task("T" + i, "Task " + i, i % 10 + 1, i % 4 + 1, List.of("skill" + (i % 7))));
+        }
+        dao.save(tasks);
+
+        for (int i = 1; i <= 500; i++) {
+            assertEquals("Task " + i, dao.findById("T" + i).getName());
+        }
+        assertNull(dao.findById("T0"));
+        assertNull(dao.findById("T501"));
+
+        List<Task> all = dao.load();
+        assertEquals(500, all.size());
+        assertEquals("T500", all.getFirst().getId());
+    }
+
+    @Test
+    public void testBatchSaveUpsertsIntoExistingRows() throws Exception {
+        BinaryFileDaoImpl<Task> dao = new BinaryFileDaoImpl<>(Task.class, dataFile.getPath());
+        dao.save(List.of(new Task("T1", "One", 1, 1, List.of("java")), new Task("T2", "Two", 2, 1, List.of("sql"))));
+
+        dao.save(List.of(new Task("T2", "Dos", 2, 1, List.of("sql")), new Task("T3", "Three", 3, 1, List.of("ml"))));
+
+        List<String> names = new ArrayList<>();
+        for (Task t : dao.load()) names.add(t.getId() + ":" + t.getName());
+        assertEquals(List.of("T1:One", "T2:Dos", "T3:Three"), names);
+        assertEquals("Dos", dao.findById("T2").getName());
+        assertEquals("One", new BinaryFileDaoImpl<>(Task.class, dataFile.getPath()).findById("T1").getName());
+    }
+
+    @Test
+    public void testCrudSemanticsMatchFileDao() throws Exception {
+        BinaryFileDaoImpl<Task> dao = new BinaryFileDaoImpl<>(Task.class, dataFile.getPath());
+        dao.save(new Task("T1", "One", 1, 1, List.of("java")));
+        dao.save(new Task("T2", "Two", 2, 1, List.of("java")));
+
+        Task updated = new Task("T1", "Uno", 1, 1, List.of("java"));
+        dao.update(updated);
+        assertEquals("Uno", dao.findById("T1").getName());
+
+        assertTrue(dao.deleteById("T2"));
+        assertFalse(dao.deleteById("T2"));
+        assertTrue(dao.deleteIf(t -> t.getName().equals("Uno")));
+        assertTrue(dao.load().isEmpty());
+
+        try {
+            dao.update(updated);
+            fail("Updating a missing entity should fail");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+}
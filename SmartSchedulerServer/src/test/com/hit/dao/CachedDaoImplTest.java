@@ -0,0 +1,194 @@
+package hit.dao;
+
+import com.hit.dao.CachedDaoImpl;
+import com.hit.dao.DaoFactory;
+import com.hit.dao.IDao;
+import com.hit.dao.ITransactionManager;
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the LRU caching DAO decorator: hit/miss counting, invalidation on write and eviction.
+ */
+public class CachedDaoImplTest {
+
+    private IDao<Task> sqliteTaskDao;
+    private CachedDaoImpl<Task> cachedDao;
+
+    @Before
+    public void setUp() throws Exception {
+        sqliteTaskDao = DaoFactory.create("sqlite", Task.class);
+        sqliteTaskDao.deleteAll();
+        cachedDao = new CachedDaoImpl<>(sqliteTaskDao, 2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cachedDao.deleteAll();
+    }
+
+    private Task sampleTask(String id) {
+        return new Task(id, "Task_" + id, 4, 1, List.of("java"));
+    }
+
+    @Test
+    public void testRepeatedLookupIsServedFromCache() throws Exception {
+        cachedDao.save(sampleTask("C1"));
+
+        assertNotNull(cachedDao.findById("C1"));
+        assertNotNull(cachedDao.findById("C1"));
+        assertNotNull(cachedDao.findById("C1"));
+
+        assertEquals(1, cachedDao.getMissCount());
+        assertEquals(2, cachedDao.getHitCount());
+        assertEquals(2.0 / 3.0, cachedDao.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testCachedEntityIsNotSharedWithCaller() throws Exception {
+        cachedDao.save(sampleTask("C1"));
+        Task first = cachedDao.findById("C1");
+        first.setRemainingHours(0);
+
+        Task second = cachedDao.findById("C1");
+        assertEquals(4, second.getRemainingHours());
+    }
+
+    @Test
+    public void testWritesInvalidateCache() throws Exception {
+        Task t = sampleTask("C1");
+        cachedDao.save(t);
+        cachedDao.findById("C1");
+
+        t.setName("Renamed");
+        cachedDao.update(t);
+        assertEquals("Renamed", cachedDao.findById("C1").getName());
+
+        cachedDao.deleteIf(task -> task.getId().equals("C1"));
+        assertNull(cachedDao.findById("C1"));
+        assertEquals(0, cachedDao.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        cachedDao.save(List.of(sampleTask("C1"), sampleTask("C2"), sampleTask("C3")));
+        cachedDao.findById("C1");
+        cachedDao.findById("C2");
+        cachedDao.findById("C1"); // C2 is now least recently used
+        cachedDao.findById("C3");
+
+        assertEquals(2, cachedDao.size());
+        assertEquals(1, cachedDao.getEvictionCount());
+
+        long missesBefore = cachedDao.getMissCount();
+        cachedDao.findById("C1");
+        assertEquals(missesBefore, cachedDao.getMissCount());
+        cachedDao.findById("C2");
+        assertEquals(missesBefore + 1, cachedDao.getMissCount());
+    }
+
+    /** Unit of work that holds its completion callbacks until the test finishes it. */
+    private static class ManualTransactionManager implements ITransactionManager {
+        boolean active;
+        final List<Runnable> callbacks = new ArrayList<>();
+
+        @Override
+        public <R> R inTransaction(UnitOfWork<R> work) throws Exception {
+            return work.run();
+        }
+
+        @Override
+        public boolean isInUnitOfWork() {
+            return active;
+        }
+
+        @Override
+        public void afterCompletion(Runnable callback) {
+            if (active) callbacks.add(callback);
+            else callback.run();
+        }
+
+        void complete() {
+            active = false;
+            callbacks.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    public void testUnitOfWorkHooksComeFromTheInjectedManager() throws Exception {
+        ManualTransactionManager transactions = new ManualTransactionManager();
+        CachedDaoImpl<Task> cache = new CachedDaoImpl<>(new MemoryDaoImpl<>(Task.class), 10, transactions);
+        cache.save(sampleTask("C1"));
+
+        transactions.active = true;
+        assertNotNull(cache.findById("C1"));
+        assertEquals("Uncommitted reads must not be cached", 0, cache.size());
+        cache.save(sampleTask("C2"));
+        assertEquals(1, transactions.callbacks.size());
+
+        transactions.complete();
+        cache.findById("C1");
+        assertEquals(1, cache.size());
+    }
+
+    /** Delegate whose lookup of "SLOW" blocks until released. */
+    private static class SlowLookupDao extends MemoryDaoImpl<Task> {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        SlowLookupDao() {
+            super(Task.class);
+        }
+
+        @Override
+        public Task findById(String id) {
+            if ("SLOW".equals(id)) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.findById(id);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testSlowMissDoesNotBlockOtherReadsOrCacheStaleValues() throws Exception {
+        SlowLookupDao slow = new SlowLookupDao();
+        CachedDaoImpl<Task> cached = new CachedDaoImpl<>(slow);
+        cached.save(List.of(sampleTask("SLOW"), sampleTask("C1")));
+
+        CompletableFuture<Task> pending = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cached.findById("SLOW");
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        // Other ids and uncached reads proceed while the slow miss is loading
+        assertNotNull(cached.findById("C1"));
+        assertEquals(2, cached.load().size());
+
+        Task renamed = sampleTask("SLOW");
+        renamed.setName("Renamed");
+        cached.update(renamed);
+        slow.release.countDown();
+        pending.get(5, TimeUnit.SECONDS);
+        assertEquals("The value loaded before the write is not cached", "Renamed", cached.findById("SLOW").getName());
+    }
+}
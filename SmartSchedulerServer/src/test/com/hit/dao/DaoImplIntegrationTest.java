@@ -2,12 +2,21 @@ package hit.dao;
 
 import com.hit.dao.DaoFactory;
 import com.hit.dao.IDao;
+import com.hit.dao.IStatsDao;
+import com.hit.dao.ITransactionManager;
+import com.hit.dao.InMemoryStatsDaoImpl;
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.dao.SQLiteStatsDaoImpl;
+import com.hit.dao.Versioned;
 import com.hit.model.Assignment;
 import com.hit.model.Task;
 import com.hit.model.TeamMember;
 import org.junit.*;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -217,4 +226,193 @@ public class DaoImplIntegrationTest {
         assertEquals(fromFile.getPriority(), fromDb.getPriority());
         assertEquals(fromFile.getRequiredSkills(), fromDb.getRequiredSkills());
     }
+
+    @Test
+    public void testSqliteCreatedAtPersistedAndScheduleOrder() throws Exception {
+        Task late = new Task("O1", "Late", 2, 2, List.of("java"));
+        late.setCreatedAt(Instant.parse("2025-01-02T00:00:00Z"));
+        Task early = new Task("O2", "Early", 2, 2, List.of("java"));
+        early.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        Task urgent = new Task("O3", "Urgent", 2, 1, List.of("java"));
+        urgent.setCreatedAt(Instant.parse("2025-01-03T00:00:00Z"));
+        sqliteTaskDao.save(List.of(late, early, urgent));
+
+        assertEquals(early.getCreatedAt(), sqliteTaskDao.findById("O2").getCreatedAt());
+
+        List<String> ordered = sqliteTaskDao.loadInScheduleOrder().stream().map(Task::getId).toList();
+        assertEquals(List.of("O3", "O2", "O1"), ordered);
+        List<String> fileOrdered = fileTaskDao.loadInScheduleOrder().stream().map(Task::getId).toList();
+        assertTrue(fileOrdered.isEmpty());
+    }
+
+    @Test
+    public void testSqlStatsMatchInMemoryStats() throws Exception {
+        sqliteTaskDao.save(List.of(sampleTask("A1"), sampleTask("A2"), sampleTask("A3")));
+        sqliteMemberDao.save(List.of(sampleMember("AM1"), sampleMember("AM2")));
+        sqliteAssignmentDao.save(List.of(
+                sampleAssignment("A1", "AM1"),
+                sampleAssignment("A1", "AM2"),
+                sampleAssignment("A2", "AM1")));
+
+        IStatsDao sqlStats = new SQLiteStatsDaoImpl();
+        IStatsDao memoryStats = new InMemoryStatsDaoImpl(sqliteTaskDao, sqliteMemberDao, sqliteAssignmentDao);
+
+        assertEquals(3, sqlStats.countTasks());
+        assertEquals(2, sqlStats.countTeamMembers());
+        assertEquals(1, sqlStats.countUnassignedTasks());
+        assertEquals(1.5, sqlStats.averageLoad(), 0.0001);
+
+        assertEquals(memoryStats.countTasks(), sqlStats.countTasks());
+        assertEquals(memoryStats.countTeamMembers(), sqlStats.countTeamMembers());
+        assertEquals(memoryStats.countUnassignedTasks(), sqlStats.countUnassignedTasks());
+        assertEquals(memoryStats.averageLoad(), sqlStats.averageLoad(), 0.0001);
+    }
+
+    @Test
+    public void testSqliteNormalizedSkills() throws Exception {
+        sqliteMemberDao.save(new TeamMember("SK1", "Alice", List.of("java", "c, c++", "sql"), 8, 1.0));
+        sqliteMemberDao.save(new TeamMember("SK2", "Bob", List.of("sql"), 6, 1.0));
+        sqliteMemberDao.save(new TeamMember("SK3", "Carol", List.of("ml"), 6, 1.0));
+
+        // Skills containing commas survive the round trip, in order
+        assertEquals(List.of("java", "c, c++", "sql"), sqliteMemberDao.findById("SK1").getSkills());
+
+        List<String> withSql = sqliteMemberDao.findBySkill("sql").stream().map(TeamMember::getId).sorted().toList();
+        assertEquals(List.of("SK1", "SK2"), withSql);
+        assertEquals(List.of("java", "c, c++", "sql"),
+                sqliteMemberDao.findBySkill("c, c++").getFirst().getSkills());
+
+        // Updating replaces the links; deleting removes them
+        sqliteMemberDao.update(new TeamMember("SK2", "Bob", List.of("ml"), 6, 1.0));
+        assertEquals(1, sqliteMemberDao.findBySkill("sql").size());
+        sqliteMemberDao.deleteById("SK3");
+        assertEquals(List.of("SK2"), sqliteMemberDao.findBySkill("ml").stream().map(TeamMember::getId).toList());
+
+        sqliteTaskDao.save(sampleTask("SKT1"));
+        assertEquals(sampleTask("SKT1").getRequiredSkills(), sqliteTaskDao.findBySkill(
+                sampleTask("SKT1").getRequiredSkills().getFirst()).getFirst().getRequiredSkills());
+    }
+
+    @Test
+    public void testReplaceMatchingWritesOnlyTheDiff() throws Exception {
+        sqliteAssignmentDao.save(List.of(
+                sampleAssignment("R1", "RM1"),
+                sampleAssignment("R2", "RM1"),
+                sampleAssignment("R3", "RM2")));
+
+        // Same set again: nothing to write
+        assertEquals(0, sqliteAssignmentDao.replaceMatching(_ -> true, sqliteAssignmentDao.load()));
+
+        // Keep R1, change R2's hours, drop R3, add R4
+        Assignment changed = sampleAssignment("R2", "RM1");
+        changed.setAssignedHours(changed.getAssignedHours() + 1);
+        int writes = sqliteAssignmentDao.replaceMatching(_ -> true,
+                List.of(sampleAssignment("R1", "RM1"), changed, sampleAssignment("R4", "RM2")));
+        assertEquals(3, writes);
+        assertNull(sqliteAssignmentDao.findById("R3-RM2"));
+        assertNotNull(sqliteAssignmentDao.findById("R4-RM2"));
+        assertEquals(changed.getAssignedHours(), sqliteAssignmentDao.findById("R2-RM1").getAssignedHours());
+
+        // A scoped replace leaves other members' assignments alone
+        assertEquals(1, sqliteAssignmentDao.replaceMatching(a -> a.getMemberId().equals("RM2"), List.of()));
+        assertEquals(2, sqliteAssignmentDao.load().size());
+    }
+
+    @Test
+    public void testSqliteUnitOfWorkCommitsOrRollsBackAllTables() throws Exception {
+        ITransactionManager transactions = DaoFactory.createTransactionManager("sqlite");
+
+        transactions.inTransaction(() -> {
+            sqliteTaskDao.save(sampleTask("U1"));
+            sqliteMemberDao.save(sampleMember("UM1"));
+            sqliteAssignmentDao.save(sampleAssignment("U1", "UM1"));
+            // Reads inside the unit of work see its own writes
+            assertNotNull(sqliteAssignmentDao.findById("U1-UM1"));
+            return null;
+        });
+        assertNotNull(sqliteTaskDao.findById("U1"));
+        assertNotNull(sqliteAssignmentDao.findById("U1-UM1"));
+
+        try {
+            transactions.inTransaction(() -> {
+                sqliteAssignmentDao.deleteById("U1-UM1");
+                sqliteTaskDao.deleteById("U1");
+                throw new IllegalStateException("crash between tables");
+            });
+            fail("Expected the unit of work to fail");
+        } catch (IllegalStateException expected) {
+            // rolled back
+        }
+        assertNotNull(sqliteTaskDao.findById("U1"));
+        assertNotNull(sqliteAssignmentDao.findById("U1-UM1"));
+    }
+
+    @Test
+    public void testConditionalUpdateDetectsConcurrentWrites() throws Exception {
+        for (IDao<Task> dao : List.of(sqliteTaskDao, fileTaskDao)) {
+            dao.save(sampleTask("V1"));
+            Versioned<Task> read = dao.findVersionedById("V1");
+            assertNotNull(read);
+
+            Task first = sampleTask("V1");
+            first.setName("first writer");
+            assertTrue(dao.updateIfVersion(first, read.version()));
+            long afterFirst = dao.findVersionedById("V1").version();
+            assertNotEquals(read.version(), afterFirst);
+
+            // A second writer still holding the old version must not overwrite the first one
+            Task second = sampleTask("V1");
+            second.setName("second writer");
+            assertFalse(dao.updateIfVersion(second, read.version()));
+            assertEquals("first writer", dao.findById("V1").getName());
+
+            assertTrue(dao.updateIfVersion(second, afterFirst));
+            assertEquals("second writer", dao.findById("V1").getName());
+            assertFalse(dao.updateIfVersion(sampleTask("missing"), afterFirst));
+        }
+    }
+
+    @Test
+    public void testConditionalUpdateMismatchKeepsTheUnitOfWork() throws Exception {
+        ITransactionManager transactions = DaoFactory.createTransactionManager("sqlite");
+        sqliteTaskDao.save(sampleTask("V2"));
+        long stale = sqliteTaskDao.findVersionedById("V2").version();
+        sqliteTaskDao.save(sampleTask("V2"));
+
+        transactions.inTransaction(() -> {
+            sqliteMemberDao.save(sampleMember("VM2"));
+            // The mismatch only reports false; the rest of the unit of work still commits
+            assertFalse(sqliteTaskDao.updateIfVersion(sampleTask("V2"), stale));
+            sqliteAssignmentDao.save(sampleAssignment("V2", "VM2"));
+            return null;
+        });
+        assertNotNull(sqliteMemberDao.findById("VM2"));
+        assertNotNull(sqliteAssignmentDao.findById("V2-VM2"));
+    }
+
+    @Test
+    public void testAssignmentLookupsByMemberAndTask() throws Exception {
+        // SQLite (memberId index / primary key), memory (secondary indexes) and file (default scan) agree
+        for (IDao<Assignment> dao : List.of(sqliteAssignmentDao, new MemoryDaoImpl<>(Assignment.class), fileAssignmentDao)) {
+            dao.save(List.of(sampleAssignment("I_T1", "I_M1"), sampleAssignment("I_T2", "I_M1"),
+                    sampleAssignment("I_T1", "I_M2")));
+            assertEquals(Set.of("I_T1", "I_T2"),
+                    dao.findByMember("I_M1").stream().map(Assignment::getTaskId).collect(Collectors.toSet()));
+            assertEquals(Set.of("I_M1", "I_M2"),
+                    dao.findByTask("I_T1").stream().map(Assignment::getMemberId).collect(Collectors.toSet()));
+            assertTrue(dao.findByMember("nobody").isEmpty());
+
+            assertTrue(dao.deleteByTask("I_T1"));
+            assertFalse(dao.deleteByTask("I_T1"));
+            assertEquals(1, dao.findByMember("I_M1").size());
+            assertTrue(dao.findByMember("I_M2").isEmpty());
+
+            // Writes through other paths keep the lookups current
+            dao.save(sampleAssignment("I_T3", "I_M2"));
+            assertTrue(dao.deleteIf(a -> a.getTaskId().equals("I_T2")));
+            assertTrue(dao.findByMember("I_M1").isEmpty());
+            assertTrue(dao.deleteByMember("I_M2"));
+            assertTrue(dao.load().isEmpty());
+        }
+    }
 }
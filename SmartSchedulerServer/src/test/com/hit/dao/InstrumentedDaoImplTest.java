@@ -0,0 +1,54 @@
+package hit.dao;
+
+import com.hit.dao.DaoMetrics;
+import com.hit.dao.IDao;
+import com.hit.dao.InstrumentedDaoImpl;
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Task;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the instrumentation decorator: per-method latency counts and row counts.
+ */
+public class InstrumentedDaoImplTest {
+
+    @Test
+    public void testRecordsCallsAndRows() throws Exception {
+        DaoMetrics metrics = new DaoMetrics();
+        IDao<Task> dao = new InstrumentedDaoImpl<>(new MemoryDaoImpl<>(Task.class), Task.class, metrics);
+
+        dao.save(List.of(new Task("T1", "A", 4, 1, List.of("java")),
+                new Task("T2", "B", 4, 2, List.of("java")),
+                new Task("T3", "C", 4, 3, List.of("ml"))));
+        dao.load();
+        dao.load();
+        dao.findById("T1");
+        dao.findById("missing");
+        assertTrue(dao.deleteIf(t -> t.getRequiredSkills().contains("java")));
+        try {
+            dao.update(new Task("missing", "X", 1, 1, List.of()));
+            fail("Expected the update to fail");
+        } catch (IllegalArgumentException expected) {
+            // failed calls are still timed
+        }
+
+        DaoMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.operations().get("Task.load").count());
+        assertEquals(2, snapshot.operations().get("Task.findById").count());
+        assertEquals(1, snapshot.operations().get("Task.update").count());
+        assertEquals(Long.valueOf(3 + 3 + 1), snapshot.rowsRead().get("Task"));
+        assertEquals(Long.valueOf(3 + 2), snapshot.rowsWritten().get("Task"));
+
+        DaoMetrics.OperationStats load = snapshot.operations().get("Task.load");
+        assertTrue(load.p50Millis() <= load.p99Millis());
+        assertTrue(load.p99Millis() <= load.maxMillis());
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().operations().isEmpty());
+        assertEquals(0, metrics.snapshot().connectionAcquire().count());
+    }
+}
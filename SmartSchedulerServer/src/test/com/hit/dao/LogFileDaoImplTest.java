@@ -0,0 +1,159 @@
+package hit.dao;
+
+import com.hit.dao.LogFileDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the append-only log file DAO: CRUD, index rebuild on reopen,
+ * torn-tail recovery and compaction.
+ */
+public class LogFileDaoImplTest {
+
+    private File logFile;
+
+    @Before
+    public void setUp() throws Exception {
+        logFile = File.createTempFile("tasks", ".log");
+        assertTrue(logFile.delete());
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        logFile.delete();
+    }
+
+    private Task sampleTask(String id) {
+        return new Task(id, "Task_" + id, 4, 1, List.of("java", "sql"));
+    }
+
+    @Test
+    public void testCrudAndReopen() throws Exception {
+        LogFileDaoImpl<Task> dao = new LogFileDaoImpl<>(logFile.getPath());
+        dao.save(List.of(sampleTask("T1"), sampleTask("T2"), sampleTask("T3")));
+
+        Task t2 = sampleTask("T2");
+        t2.setName("Updated");
+        dao.update(t2);
+        assertTrue(dao.deleteById("T3"));
+        assertFalse(dao.deleteById("T3"));
+        dao.close();
+
+        LogFileDaoImpl<Task> reopened = new LogFileDaoImpl<>(logFile.getPath());
+        List<Task> all = reopened.load();
+        assertEquals(2, all.size());
+        assertEquals("T1", all.get(0).getId());
+        assertEquals("Updated", reopened.findById("T2").getName());
+        assertNull(reopened.findById("T3"));
+        reopened.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateMissingEntityFails() throws Exception {
+        LogFileDaoImpl<Task> dao = new LogFileDaoImpl<>(logFile.getPath());
+        try {
+            dao.update(sampleTask("missing"));
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    public void testTornTailIsTruncatedOnOpen() throws Exception {
+        LogFileDaoImpl<Assignment> dao = new LogFileDaoImpl<>(logFile.getPath());
+        dao.save(new Assignment("T1", "M1", 3));
+        dao.save(new Assignment("T2", "M1", 2));
+        dao.close();
+
+        // Simulate a crash in the middle of the last append
+        long fullLength = logFile.length();
+        try (RandomAccessFile raf = new RandomAccessFile(logFile, "rw")) {
+            raf.setLength(fullLength - 7);
+        }
+
+        LogFileDaoImpl<Assignment> recovered = new LogFileDaoImpl<>(logFile.getPath());
+        assertNotNull(recovered.findById("T1-M1"));
+        assertNull(recovered.findById("T2-M1"));
+
+        // Appends after recovery must be readable again
+        recovered.save(new Assignment("T3", "M2", 1));
+        recovered.close();
+        LogFileDaoImpl<Assignment> again = new LogFileDaoImpl<>(logFile.getPath());
+        assertEquals(2, again.load().size());
+        again.close();
+    }
+
+    @Test
+    public void testCompactionKeepsOnlyLiveRecords() throws Exception {
+        LogFileDaoImpl<Task> dao = new LogFileDaoImpl<>(logFile.getPath());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) tasks.add(sampleTask("T" + i));
+        dao.save(tasks);
+        for (int round = 0; round < 5; round++) {
+            for (Task t : tasks) dao.update(t);
+        }
+        dao.deleteIf(t -> t.getId().endsWith("7"));
+
+        // A background compaction may already have run; an explicit one must leave no garbage
+        dao.compact();
+        assertEquals(0, dao.getGarbageBytes());
+        assertEquals(45, dao.load().size());
+        dao.close();
+
+        LogFileDaoImpl<Task> reopened = new LogFileDaoImpl<>(logFile.getPath());
+        assertEquals(45, reopened.load().size());
+        assertNotNull(reopened.findById("T0"));
+        assertNull(reopened.findById("T17"));
+        reopened.close();
+    }
+
+    @Test
+    public void testWritesDuringCompactionAreKept() throws Exception {
+        LogFileDaoImpl<Task> dao = new LogFileDaoImpl<>(logFile.getPath());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) tasks.add(sampleTask("T" + i));
+        dao.save(tasks);
+        for (Task t : tasks) dao.update(t);
+
+        CompletableFuture<Void> compaction = CompletableFuture.runAsync(() -> {
+            try {
+                for (int round = 0; round < 20; round++) dao.compact();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+        for (int i = 0; i < 200; i++) {
+            Task renamed = sampleTask("T" + i);
+            renamed.setName("Renamed_" + i);
+            dao.update(renamed);
+            if (i % 10 == 0) dao.deleteById("T" + i);
+            dao.save(sampleTask("N" + i));
+        }
+        compaction.get(30, TimeUnit.SECONDS);
+
+        dao.compact();
+        assertEquals(0, dao.getGarbageBytes());
+        dao.close();
+        LogFileDaoImpl<Task> reopened = new LogFileDaoImpl<>(logFile.getPath());
+        assertEquals(180 + 200, reopened.load().size());
+        assertNull(reopened.findById("T10"));
+        assertEquals("Renamed_11", reopened.findById("T11").getName());
+        assertNotNull(reopened.findById("N199"));
+        reopened.close();
+    }
+}
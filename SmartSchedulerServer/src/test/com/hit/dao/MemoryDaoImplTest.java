@@ -0,0 +1,86 @@
+package hit.dao;
+
+import com.hit.dao.DaoFactory;
+import com.hit.dao.IDao;
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the in-memory DAO: copy semantics, ordering, snapshot/restore and a service flow.
+ */
+public class MemoryDaoImplTest {
+
+    private Task sampleTask(String id) {
+        return new Task(id, "Task_" + id, 4, 1, List.of("java"));
+    }
+
+    @Test
+    public void testCopyOnReadAndWrite() {
+        MemoryDaoImpl<Task> dao = new MemoryDaoImpl<>(Task.class);
+        Task t = sampleTask("T1");
+        dao.save(t);
+        t.setName("changed after save");
+
+        Task loaded = dao.findById("T1");
+        assertEquals("Task_T1", loaded.getName());
+        loaded.setRemainingHours(0);
+        assertEquals(4, dao.findById("T1").getRemainingHours());
+    }
+
+    @Test
+    public void testLoadKeepsCreationOrder() {
+        MemoryDaoImpl<Task> dao = new MemoryDaoImpl<>(Task.class);
+        dao.save(List.of(sampleTask("T3"), sampleTask("T1"), sampleTask("T2")));
+        dao.update(sampleTask("T3"));
+        List<String> ids = dao.load().stream().map(Task::getId).toList();
+        assertEquals(List.of("T3", "T1", "T2"), ids);
+
+        assertTrue(dao.deleteIf(task -> task.getId().equals("T1")));
+        assertFalse(dao.deleteById("T1"));
+        assertEquals(2, dao.size());
+    }
+
+    @Test
+    public void testSnapshotAndRestore() throws Exception {
+        File snapshot = File.createTempFile("members", ".bin");
+        try {
+            MemoryDaoImpl<TeamMember> dao = new MemoryDaoImpl<>(TeamMember.class, snapshot.getPath());
+            dao.save(new TeamMember("M1", "Alice", List.of("java"), 8, 1.0));
+            dao.save(new TeamMember("M2", "Bob", List.of("ml"), 6, 1.0));
+            dao.snapshotAsync().get(5, TimeUnit.SECONDS);
+
+            MemoryDaoImpl<TeamMember> restored = new MemoryDaoImpl<>(TeamMember.class, snapshot.getPath());
+            assertEquals(2, restored.size());
+            assertEquals("Bob", restored.findById("M2").getName());
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            snapshot.delete();
+        }
+    }
+
+    @Test
+    public void testServiceFlowOnMemoryBackend() throws Exception {
+        IDao<Task> taskDao = DaoFactory.create("memory", Task.class);
+        IDao<TeamMember> memberDao = DaoFactory.create("memory", TeamMember.class);
+        IDao<Assignment> assignmentDao = DaoFactory.create("memory", Assignment.class);
+        TaskAssignmentService service = new TaskAssignmentService(taskDao, memberDao, assignmentDao);
+        service.clearAll();
+
+        service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        assertTrue(service.assignTasks("greedy"));
+        assertEquals(1, service.getAllAssignments().size());
+        assertEquals(0, service.countUnassignedTasks());
+        service.clearAll();
+    }
+}
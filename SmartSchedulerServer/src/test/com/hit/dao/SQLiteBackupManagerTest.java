@@ -0,0 +1,85 @@
+package hit.dao;
+
+import com.hit.dao.SQLiteBackupManager;
+import com.hit.dao.SQLiteDaoImpl;
+import com.hit.model.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for online backups: consistent snapshot while writers keep writing, progress and failures.
+ */
+public class SQLiteBackupManagerTest {
+
+    private Path directory;
+    private String dbUrl;
+    private SQLiteDaoImpl<Task> taskDao;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("backup");
+        dbUrl = "jdbc:sqlite:" + directory.resolve("source.db");
+        taskDao = new SQLiteDaoImpl<>(Task.class, dbUrl);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) tasks.add(new Task("T" + i, "Task " + i, 4, 1, List.of("java")));
+        taskDao.save(tasks);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SQLiteDaoImpl.closeConnections(dbUrl);
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testBackupIsSnapshotWhileWritersContinue() throws Exception {
+        SQLiteBackupManager backups = new SQLiteBackupManager(dbUrl, 4, 1);
+        Path target = directory.resolve("out").resolve("backup.db");
+        CompletableFuture<SQLiteBackupManager.Status> done = backups.start(target);
+
+        // Writes keep succeeding during the backup
+        int written = 0;
+        while (!done.isDone() && written < 200) {
+            taskDao.save(new Task("W" + written, "Written during backup", 1, 1, List.of("sql")));
+            written++;
+        }
+
+        SQLiteBackupManager.Status status = done.get(30, TimeUnit.SECONDS);
+        assertEquals(SQLiteBackupManager.State.COMPLETED, status.state());
+        assertEquals(100.0, status.percent(), 0.0001);
+        assertTrue(status.totalPages() > 0);
+        assertFalse(Files.exists(directory.resolve("out").resolve("backup.db.part")));
+
+        String backupUrl = "jdbc:sqlite:" + target;
+        try {
+            List<Task> restored = new SQLiteDaoImpl<>(Task.class, backupUrl).load();
+            assertEquals(2_000, restored.size());
+        } finally {
+            SQLiteDaoImpl.closeConnections(backupUrl);
+        }
+        assertEquals(2_000 + written, taskDao.load().size());
+    }
+
+    @Test
+    public void testOnlyOneBackupAtATime() throws Exception {
+        SQLiteBackupManager backups = new SQLiteBackupManager(dbUrl, 1, 20);
+        CompletableFuture<SQLiteBackupManager.Status> first = backups.start(directory.resolve("a.db"));
+        assertThrows(IllegalStateException.class, () -> backups.start(directory.resolve("b.db")));
+        assertEquals(SQLiteBackupManager.State.COMPLETED, first.get(60, TimeUnit.SECONDS).state());
+    }
+}
@@ -0,0 +1,35 @@
+package hit.server;
+
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.server.Server;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for server lifecycle.
+ */
+public class ServerTest {
+
+    @Test
+    public void testShutdownFlushesPendingReassignment() throws Exception {
+        MemoryDaoImpl<Assignment> assignmentDao = new MemoryDaoImpl<>(Assignment.class);
+        TaskAssignmentService service = new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), assignmentDao);
+        Server server = new Server(0, 1, service);
+        service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        // Leaves a debounced reassignment pending
+        assertTrue(service.updateTask(task.getId(), new Task(null, "Build API v2", 4, 1, List.of("java")), "greedy"));
+
+        server.shutdown();
+
+        assertEquals(1, assignmentDao.load().size());
+    }
+}
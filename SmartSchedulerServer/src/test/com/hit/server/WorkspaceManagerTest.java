@@ -0,0 +1,154 @@
+package hit.server;
+
+import com.hit.controller.ApiResponse;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.server.Request;
+import com.hit.server.WorkspaceManager;
+import com.hit.service.TaskAssignmentService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for workspace routing: separate database files, lazy opening and idle eviction.
+ */
+public class WorkspaceManagerTest {
+
+    private Path directory;
+    private WorkspaceManager workspaces;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("workspaces");
+        workspaces = new WorkspaceManager(directory.toString(), Duration.ZERO);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        workspaces.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private ApiResponse<?> createTask(String workspace, String name) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", name);
+        body.put("durationHours", 4);
+        body.put("priority", 2);
+        body.put("requiredSkills", List.of("java"));
+        return workspaces.dispatch(workspace, "task/create", new Request(Map.of("action", "task/create"), body));
+    }
+
+    private Object count(String workspace) {
+        return workspaces.dispatch(workspace, "task/count", new Request(Map.of("action", "task/count"), Map.of())).getData();
+    }
+
+    @Test
+    public void testWorkspacesAreIsolated() {
+        assertTrue(createTask("alpha", "A1").isSuccess());
+        assertTrue(createTask("alpha", "A2").isSuccess());
+        assertTrue(createTask("beta", "B1").isSuccess());
+
+        assertEquals(2, count("alpha"));
+        assertEquals(1, count("beta"));
+        assertEquals(Set.of("alpha", "beta"), workspaces.getOpenWorkspaces());
+        assertTrue(Files.exists(directory.resolve("alpha.db")));
+        assertTrue(Files.exists(directory.resolve("beta.db")));
+    }
+
+    @Test
+    public void testIdleWorkspacesAreEvictedAndReopened() {
+        assertTrue(createTask("gamma", "G1").isSuccess());
+        assertEquals(1, workspaces.evictIdle());
+        assertTrue(workspaces.getOpenWorkspaces().isEmpty());
+
+        // Reopened from its file; new ids continue after the stored ones
+        ApiResponse<?> created = createTask("gamma", "G2");
+        assertTrue(created.isSuccess());
+        assertEquals(2, count("gamma"));
+    }
+
+    @Test
+    public void testEvictionDrainsPendingReassignment() throws Exception {
+        workspaces.withService("delta", service -> {
+            service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+            Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+            // Leaves a debounced reassignment pending
+            return service.updateTask(task.getId(), new Task(null, "Build API v2", 4, 1, List.of("java")), "greedy");
+        });
+        assertEquals(1, workspaces.evictIdle());
+
+        // The reopened service sees the assignments the drained run stored
+        assertEquals(Integer.valueOf(1), workspaces.withService("delta", service -> service.getAllAssignments().size()));
+    }
+
+    @Test
+    public void testRequestDuringEvictionSeesDrainedWrites() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            String name = "race" + round;
+            workspaces.withService(name, service -> {
+                service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+                Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+                return service.updateTask(task.getId(), new Task(null, "Build API v2", 4, 1, List.of("java")), "greedy");
+            });
+            CompletableFuture<Integer> eviction = CompletableFuture.supplyAsync(workspaces::evictIdle);
+            // Either the old service (whose pending run is awaited) or one opened after the drain
+            int seen = workspaces.withService(name, service -> {
+                service.awaitLatestPlan().get(10, TimeUnit.SECONDS);
+                return service.getAllAssignments().size();
+            });
+            eviction.get(30, TimeUnit.SECONDS);
+            assertEquals(1, seen);
+        }
+    }
+
+    @Test
+    public void testConcurrentFirstRequestsShareOneService() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<TaskAssignmentService>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    return workspaces.withService("epsilon", service -> service);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        start.countDown();
+        Set<TaskAssignmentService> services = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CompletableFuture<TaskAssignmentService> call : calls) services.add(call.get(30, TimeUnit.SECONDS));
+        assertEquals(1, services.size());
+    }
+
+    @Test
+    public void testInvalidWorkspaceNameIsRejected() {
+        ApiResponse<?> resp = createTask("../etc", "X");
+        assertFalse(resp.isSuccess());
+        assertTrue(resp.getMessage().contains("Invalid workspace"));
+        assertFalse(workspaces.dispatch("alpha", "no/such", new Request(Map.of(), Map.of())).isSuccess());
+    }
+}
@@ -0,0 +1,87 @@
+package hit.service;
+
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.AssignmentJobManager;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class AssignmentJobManagerTest {
+
+    /** Assignment DAO whose replaceMatching blocks until released, to keep a job in its SAVING phase. */
+    private static class BlockingAssignmentDao extends MemoryDaoImpl<Assignment> {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingAssignmentDao() {
+            super(Assignment.class);
+        }
+
+        @Override
+        public synchronized int replaceMatching(Predicate<Assignment> scope, List<Assignment> replacement) throws Exception {
+            entered.countDown();
+            release.await();
+            return super.replaceMatching(scope, replacement);
+        }
+    }
+
+    private static AssignmentJobManager.JobStatus awaitFinished(AssignmentJobManager jobs, String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        AssignmentJobManager.JobStatus status = jobs.getStatus(id);
+        while (!status.phase().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = jobs.getStatus(id);
+        }
+        return status;
+    }
+
+    @Test
+    public void testBoundedQueueAndProgress() throws Exception {
+        BlockingAssignmentDao assignmentDao = new BlockingAssignmentDao();
+        TaskAssignmentService service = new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), assignmentDao);
+        service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+
+        try (AssignmentJobManager jobs = new AssignmentJobManager(service, 1, 1, Duration.ofMinutes(1))) {
+            AssignmentJobManager.JobStatus running = jobs.submit("greedy");
+            assertTrue(assignmentDao.entered.await(5, TimeUnit.SECONDS));
+            assertEquals(AssignmentJobManager.Phase.SAVING, jobs.getStatus(running.id()).phase());
+            assertNull("No result before completion", jobs.getResult(running.id()));
+
+            AssignmentJobManager.JobStatus queued = jobs.submit("balanced");
+            assertEquals(AssignmentJobManager.Phase.QUEUED, jobs.getStatus(queued.id()).phase());
+            assertThrows(RejectedExecutionException.class, () -> jobs.submit("greedy"));
+
+            assignmentDao.release.countDown();
+            assertEquals(AssignmentJobManager.Phase.COMPLETED, awaitFinished(jobs, running.id()).phase());
+            assertEquals(AssignmentJobManager.Phase.COMPLETED, awaitFinished(jobs, queued.id()).phase());
+            assertEquals(1, jobs.getResult(queued.id()).size());
+        }
+    }
+
+    @Test
+    public void testFinishedJobsExpire() throws Exception {
+        TaskAssignmentService service = new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+        try (AssignmentJobManager jobs = new AssignmentJobManager(service, 1, 4, Duration.ofMillis(50))) {
+            String id = jobs.submit(null).id();
+            AssignmentJobManager.JobStatus status = awaitFinished(jobs, id);
+            assertEquals(AssignmentJobManager.Phase.COMPLETED, status.phase());
+            assertEquals("greedy", status.strategy());
+            Thread.sleep(100);
+            assertNull("Finished jobs are dropped after the TTL", jobs.getStatus(id));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package hit.service;
+
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.ChangeFeed;
+import com.hit.service.StateSnapshot;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hit.service.ChangeFeed.Type.*;
+import static org.junit.Assert.*;
+
+public class ChangeFeedTest {
+
+    private static TaskAssignmentService newService() throws Exception {
+        return new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+    }
+
+    @Test
+    public void testServiceWritesEmitVersionedEvents() throws Exception {
+        TaskAssignmentService service = newService();
+        ChangeFeed.Subscription ui = service.getChangeFeed().subscribe();
+        ChangeFeed.Subscription cache = service.getChangeFeed().subscribe();
+
+        Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        TeamMember member = service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        service.assignTasks("greedy");
+        service.deleteTask(task.getId());
+
+        ChangeFeed.Batch batch = ui.poll(100);
+        assertFalse(batch.resyncRequired());
+        List<ChangeFeed.Type> types = new ArrayList<>();
+        for (ChangeFeed.ChangeEvent e : batch.events()) types.add(e.type());
+        assertEquals(List.of(TASK_CREATED, MEMBER_CREATED, ASSIGNMENTS_REPLACED, TASK_DELETED), types);
+        assertEquals(List.of(task.getId()), batch.events().get(0).ids());
+        assertEquals(List.of(member.getId()), batch.events().get(1).ids());
+        for (int i = 0; i < 4; i++) assertEquals(i + 1, batch.events().get(i).version());
+        assertEquals("Event versions match snapshot versions", service.getSnapshot().getVersion(), ui.getPosition());
+        assertTrue(ui.poll(100).events().isEmpty());
+
+        // Subscribers are independent
+        assertEquals(2, cache.poll(2).events().size());
+        assertEquals(2, cache.poll(100).events().size());
+    }
+
+    @Test
+    public void testDeletingUnknownIdsPublishesNothing() throws Exception {
+        TaskAssignmentService service = newService();
+        service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        long version = service.getSnapshot().getVersion();
+
+        assertFalse(service.deleteTask("no-such-task"));
+        assertFalse(service.deleteTeamMember("no-such-member"));
+
+        assertEquals(version, service.getSnapshot().getVersion());
+        assertEquals(version, service.getChangeFeed().getVersion());
+    }
+
+    @Test
+    public void testSlowSubscriberMustResync() throws Exception {
+        TaskAssignmentService service = newService();
+        ChangeFeed feed = service.getChangeFeed();
+        ChangeFeed.Subscription slow = feed.subscribe();
+        for (int i = 0; i <= feed.getCapacity(); i++)
+            service.createNewTask(new Task(null, "Task " + i, 1, 1, List.of("java")));
+
+        ChangeFeed.Batch batch = slow.poll(10);
+        assertTrue(batch.resyncRequired());
+        assertEquals(0, slow.getPosition());
+
+        // Resync: reload the snapshot and continue after its version
+        StateSnapshot snapshot = service.getSnapshot();
+        assertEquals(feed.getCapacity() + 1, snapshot.getTasks().size());
+        slow.seek(snapshot.getVersion());
+        service.createNewTeamMember(new TeamMember(null, "Bob", List.of("java"), 8, 1.0));
+        batch = slow.poll(10);
+        assertFalse(batch.resyncRequired());
+        assertEquals(MEMBER_CREATED, batch.events().get(0).type());
+    }
+
+    @Test
+    public void testReadersSeeGaplessVersionsWhileWriting() throws Exception {
+        TaskAssignmentService service = newService();
+        ChangeFeed feed = service.getChangeFeed();
+        int total = 5_000;
+        List<CompletableFuture<Long>> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            ChangeFeed.Subscription sub = feed.subscribe();
+            readers.add(CompletableFuture.supplyAsync(() -> {
+                long expected = 1;
+                long resyncs = 0;
+                while (expected <= total) {
+                    ChangeFeed.Batch batch = sub.poll(64);
+                    if (batch.resyncRequired()) {
+                        resyncs++;
+                        sub.seek(batch.latestVersion());
+                        expected = batch.latestVersion() + 1;
+                        continue;
+                    }
+                    for (ChangeFeed.ChangeEvent e : batch.events()) {
+                        if (e.version() != expected)
+                            throw new AssertionError("Expected version " + expected + " but got " + e.version());
+                        expected++;
+                    }
+                }
+                return resyncs;
+            }));
+        }
+        for (int i = 0; i < total; i++)
+            service.createNewTask(new Task(null, "Task " + i, 1, 1, List.of("java")));
+        for (CompletableFuture<Long> reader : readers) reader.get(30, TimeUnit.SECONDS);
+        assertEquals(total, feed.getVersion());
+        assertEquals(total, service.getSnapshot().getVersion());
+    }
+}
@@ -0,0 +1,159 @@
+package hit.service;
+
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.LockManager;
+import com.hit.service.TaskAssignmentService;
+import com.hit.service.VersionConflictException;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hit.service.LockManager.Resource.*;
+import static org.junit.Assert.*;
+
+public class LockManagerTest {
+
+    @Test
+    public void testOrderViolationFailsFast() {
+        LockManager locks = new LockManager();
+        try (LockManager.Guard _ = locks.write(ASSIGNMENTS)) {
+            assertThrows(IllegalStateException.class, () -> locks.read(TASKS));
+        }
+        // Nothing stays held after a rejected request
+        assertFalse(locks.isHeldByCurrentThread(ASSIGNMENTS));
+        assertFalse(locks.isHeldByCurrentThread(TASKS));
+    }
+
+    @Test
+    public void testReentrantAndNoUpgrade() {
+        LockManager locks = new LockManager();
+        try (LockManager.Guard outer = locks.lock(EnumSet.of(TASKS), EnumSet.of(ASSIGNMENTS))) {
+            // Re-entering held tables (even one ordered before another held one) is allowed
+            try (LockManager.Guard inner = locks.read(TASKS, ASSIGNMENTS)) {
+                assertTrue(locks.isHeldByCurrentThread(TASKS));
+            }
+            assertTrue("Inner guard must not release the outer locks", locks.isHeldByCurrentThread(TASKS));
+            assertThrows(IllegalStateException.class, () -> locks.write(TASKS));
+        }
+        assertFalse(locks.isHeldByCurrentThread(TASKS));
+    }
+
+    @Test
+    public void testOptimisticReadFallsBackWhenWriterInterferes() throws Exception {
+        LockManager locks = new LockManager();
+        assertEquals(Integer.valueOf(1), locks.readOptimistically(() -> 1, TASKS));
+        assertEquals(1, locks.getOptimisticReadCount());
+
+        // A writer commits while the query runs: the result is discarded and recomputed under the read lock
+        AtomicInteger calls = new AtomicInteger();
+        int result = locks.readOptimistically(() -> {
+            if (calls.incrementAndGet() == 1) {
+                CompletableFuture.runAsync(() -> {
+                    try (LockManager.Guard _ = locks.write(TASKS)) {
+                        // write
+                    }
+                }).join();
+            }
+            return calls.get();
+        }, TASKS);
+        assertEquals(2, result);
+        assertEquals(1, locks.getOptimisticFallbackCount());
+    }
+
+    /**
+     * Stress harness: many threads run every kind of service write and statistic against one service.
+     * With inconsistent lock orders this used to hang; now every thread must finish before the deadline.
+     */
+    @Test(timeout = 120_000)
+    public void testNoDeadlockUnderConcurrentLoad() throws Exception {
+        TaskAssignmentService service = new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+        for (int i = 0; i < 20; i++) {
+            service.createNewTask(new Task(null, "Task " + i, 1 + i % 5, 1 + i % 3, List.of(i % 2 == 0 ? "java" : "sql")));
+            if (i % 2 == 0)
+                service.createNewTeamMember(new TeamMember(null, "Dev " + i, List.of("java", "sql"), 8, 1.0));
+        }
+
+        int threads = 32;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        AtomicLong operations = new AtomicLong();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    try {
+                        runRandomOperation(service, random);
+                        operations.incrementAndGet();
+                    } catch (IllegalArgumentException | VersionConflictException expected) {
+                        // Entity deleted or changed by another thread in the meantime
+                    } catch (Throwable e) {
+                        failures.add(e);
+                        return;
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(60, TimeUnit.SECONDS)) {
+            StringBuilder dump = new StringBuilder("Workers did not finish (deadlock?):\n");
+            for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(true, true))
+                if (info.getThreadName().startsWith("pool-")) dump.append(info);
+            pool.shutdownNow();
+            fail(dump.toString());
+        }
+        if (!failures.isEmpty()) throw new AssertionError("Worker failed", failures.peek());
+        assertTrue(operations.get() > 0);
+
+        // The service is still consistent: no assignment references a deleted task or member
+        List<String> taskIds = new ArrayList<>();
+        for (Task t : service.getAllTasks()) taskIds.add(t.getId());
+        List<String> memberIds = new ArrayList<>();
+        for (TeamMember m : service.getAllTeamMembers()) memberIds.add(m.getId());
+        for (Assignment a : service.getAllAssignments()) {
+            assertTrue(taskIds.contains(a.getTaskId()));
+            assertTrue(memberIds.contains(a.getMemberId()));
+        }
+    }
+
+    private static void runRandomOperation(TaskAssignmentService service, ThreadLocalRandom random) throws Exception {
+        List<Task> tasks = service.getAllTasks();
+        List<TeamMember> members = service.getAllTeamMembers();
+        String taskId = tasks.isEmpty() ? "T0" : tasks.get(random.nextInt(tasks.size())).getId();
+        String memberId = members.isEmpty() ? "M0" : members.get(random.nextInt(members.size())).getId();
+        switch (random.nextInt(11)) {
+            case 0 -> service.createNewTask(new Task(null, "New", 2, 1, List.of("java")));
+            case 1 -> service.deleteTask(taskId);
+            case 2 -> service.updateTask(taskId, new Task(null, "Updated", 3, 2, List.of("sql")), "greedy");
+            case 3 -> service.createNewTeamMember(new TeamMember(null, "New Dev", List.of("java"), 6, 1.0));
+            case 4 -> service.deleteTeamMember(memberId);
+            case 5 -> service.assignTasks(random.nextBoolean() ? "greedy" : "balanced");
+            case 6 -> service.assignTasksToTeamMember(memberId, "greedy");
+            case 7 -> {
+                List<Assignment> assignments = service.getAllAssignments();
+                if (!assignments.isEmpty()) {
+                    Assignment a = assignments.get(random.nextInt(assignments.size()));
+                    service.deleteAssignment(a.getTaskId(), a.getMemberId());
+                }
+            }
+            case 8 -> service.countUnassignedTasks();
+            case 9 -> service.averageLoad();
+            default -> {
+                service.countTasks();
+                service.countTeamMembers();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package hit.service;
+
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.ReassignmentScheduler;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ReassignmentSchedulerTest {
+
+    @Test
+    public void testBurstIsCollapsedIntoOneRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        AtomicReference<String> strategy = new AtomicReference<>();
+        ReassignmentScheduler scheduler = new ReassignmentScheduler(s -> {
+            runs.incrementAndGet();
+            strategy.set(s);
+        }, 200, 2_000);
+
+        long last = 0;
+        for (int i = 0; i < 20; i++) last = scheduler.request(i == 19 ? "balanced" : "greedy");
+        assertEquals(20, last);
+        assertEquals("Nothing runs during the quiet period", 0, scheduler.getPlanVersion());
+
+        assertEquals(Long.valueOf(20), scheduler.await(last).get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertEquals("The latest request's strategy wins", "balanced", strategy.get());
+        assertTrue("Already computed versions complete immediately", scheduler.await(5).isDone());
+    }
+
+    @Test
+    public void testMaxDelayBoundsAContinuousStream() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ReassignmentScheduler scheduler = new ReassignmentScheduler(s -> runs.incrementAndGet(), 100, 300);
+        long start = System.nanoTime();
+        // A request every 20 ms never leaves a quiet period, but the max delay still forces runs
+        while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1_000)) {
+            scheduler.request("greedy");
+            Thread.sleep(20);
+        }
+        assertTrue("Expected runs while requests kept coming, got " + runs.get(), runs.get() >= 2);
+        scheduler.awaitLatest().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRequestsDuringARunAreNotLost() throws Exception {
+        CountDownLatch firstRunStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRun = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ReassignmentScheduler scheduler = new ReassignmentScheduler(s -> {
+            if (runs.incrementAndGet() == 1) {
+                firstRunStarted.countDown();
+                releaseFirstRun.await();
+            }
+        }, 0, 0);
+
+        long first = scheduler.request("greedy");
+        assertTrue(firstRunStarted.await(5, TimeUnit.SECONDS));
+        long second = scheduler.request("greedy");
+        CompletableFuture<Long> secondDone = scheduler.await(second);
+        releaseFirstRun.countDown();
+
+        assertEquals(Long.valueOf(second), secondDone.get(5, TimeUnit.SECONDS));
+        assertTrue(scheduler.await(first).get(5, TimeUnit.SECONDS) >= first);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testFailureIsReportedToWaiters() throws Exception {
+        ReassignmentScheduler scheduler = new ReassignmentScheduler(s -> {
+            throw new IllegalStateException("boom");
+        }, 0, 0);
+        CompletableFuture<Long> done = scheduler.await(scheduler.request("greedy"));
+        try {
+            done.get(5, TimeUnit.SECONDS);
+            fail("Expected the run's failure");
+        } catch (ExecutionException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+        assertNotNull(scheduler.getLastFailure());
+    }
+
+    @Test
+    public void testServiceUpdatesDoNotWaitForAssignment() throws Exception {
+        TaskAssignmentService service = new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+        service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        assertTrue(service.getAllAssignments().isEmpty());
+
+        for (int i = 1; i <= 10; i++) {
+            Task edit = new Task(null, "Build API v" + i, 4, 1, List.of("java"));
+            assertTrue(service.updateTask(task.getId(), edit, "greedy"));
+        }
+        assertTrue(service.getRequestedPlanVersion() > service.getPlanVersion());
+
+        long plan = service.awaitLatestPlan().get(10, TimeUnit.SECONDS);
+        assertEquals(service.getRequestedPlanVersion(), plan);
+        assertEquals(1, service.getAllAssignments().size());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateTask(task.getId(), new Task(null, "X", 1, 1, List.of("java")), "nope"));
+        assertEquals("Unknown strategies are rejected before the write", "Build API v10",
+                service.getTaskById(task.getId()).getName());
+    }
+
+    @Test
+    public void testCloseRunsPendingRequestAndRejectsNewOnes() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ReassignmentScheduler scheduler = new ReassignmentScheduler(s -> runs.incrementAndGet(), 10_000, 60_000);
+        long version = scheduler.request("greedy");
+        assertEquals("Still in the quiet period", 0, runs.get());
+
+        assertEquals(Long.valueOf(version), scheduler.close().get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertThrows(IllegalStateException.class, () -> scheduler.request("greedy"));
+    }
+}
@@ -0,0 +1,228 @@
+package hit.service;
+
+import com.hit.controller.ApiResponse;
+import com.hit.controller.AssignmentController;
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.server.Request;
+import com.hit.service.AssignmentPreview;
+import com.hit.service.StateSnapshot;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class StateSnapshotTest {
+
+    /** Task DAO whose save blocks until released, to hold a writer inside its critical section. */
+    private static class BlockingTaskDao extends MemoryDaoImpl<Task> {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean block;
+
+        BlockingTaskDao() {
+            super(Task.class);
+        }
+
+        @Override
+        public void save(Task entity) {
+            if (block) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.save(entity);
+        }
+    }
+
+    private BlockingTaskDao taskDao;
+    private MemoryDaoImpl<TeamMember> memberDao;
+    private MemoryDaoImpl<Assignment> assignmentDao;
+    private TaskAssignmentService service;
+
+    @Before
+    public void setup() throws Exception {
+        taskDao = new BlockingTaskDao();
+        memberDao = new MemoryDaoImpl<>(TeamMember.class);
+        assignmentDao = new MemoryDaoImpl<>(Assignment.class);
+        service = new TaskAssignmentService(taskDao, memberDao, assignmentDao);
+        service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+    }
+
+    @Test
+    public void testReadsDoNotWaitForWriters() throws Exception {
+        taskDao.block = true;
+        CompletableFuture<Task> create = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.createNewTask(new Task(null, "Slow Task", 2, 1, List.of("java")));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue("Writer never reached the DAO", taskDao.entered.await(5, TimeUnit.SECONDS));
+        try {
+            // The writer holds the task write lock; reads are served from the last snapshot
+            CompletableFuture<List<Task>> read = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return service.getAllTasks();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertEquals(1, read.get(2, TimeUnit.SECONDS).size());
+            assertEquals(1, service.searchTasksByName("api").size());
+        } finally {
+            taskDao.release.countDown();
+        }
+        Task created = create.get(5, TimeUnit.SECONDS);
+        assertNotNull("Committed task must be visible", service.getTaskById(created.getId()));
+        assertEquals(2, service.getAllTasks().size());
+    }
+
+    @Test
+    public void testEveryWriteIsPublished() throws Exception {
+        long before = service.getSnapshot().getVersion();
+        assertTrue(service.assignTasks("greedy"));
+        assertEquals(1, service.getAllAssignments().size());
+        assertTrue(service.getSnapshot().getVersion() > before);
+
+        Assignment a = service.getAllAssignments().getFirst();
+        int taskHours = service.getTaskById(a.getTaskId()).getRemainingHours();
+        assertTrue(service.deleteAssignment(a.getTaskId(), a.getMemberId()));
+        assertTrue(service.getAllAssignments().isEmpty());
+        assertEquals(taskHours + a.getAssignedHours(), service.getTaskById(a.getTaskId()).getRemainingHours());
+
+        String memberId = service.getAllTeamMembers().getFirst().getId();
+        assertTrue(service.assignTasks("greedy"));
+        assertTrue(service.deleteTeamMember(memberId));
+        assertNull(service.getTeamMemberById(memberId));
+        assertTrue("Assignments of a deleted member must go with it", service.getAllAssignments().isEmpty());
+
+        service.clearAll();
+        assertTrue(service.getAllTasks().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() throws Exception {
+        StateSnapshot old = service.getSnapshot();
+        Task read = service.getAllTasks().getFirst();
+        read.setName("Changed by caller");
+        assertEquals("Build API", service.getTaskById(read.getId()).getName());
+
+        service.createNewTask(new Task(null, "Another", 1, 2, List.of("sql")));
+        assertEquals("Published snapshots never change", 1, old.getTasks().size());
+        assertEquals(2, service.getSnapshot().getTasks().size());
+    }
+
+    @Test
+    public void testRefreshPicksUpDirectDaoWrites() throws Exception {
+        memberDao.save(new TeamMember("M99", "Direct", List.of("go"), 4, 1.0));
+        assertNull(service.getTeamMemberById("M99"));
+        service.refreshSnapshot();
+        assertNotNull(service.getTeamMemberById("M99"));
+    }
+
+    @Test
+    public void testAssignmentsByMemberAndTask() throws Exception {
+        Task task = service.getAllTasks().getFirst();
+        TeamMember alice = service.getAllTeamMembers().getFirst();
+        service.assignTasks("greedy");
+        assertEquals(1, service.getAssignmentsForTeamMember(alice.getId()).size());
+        assertEquals(alice.getId(), service.getAssignmentsForTask(task.getId()).getFirst().getMemberId());
+        assertNull("Unknown members are not an empty list", service.getAssignmentsForTeamMember("M999"));
+
+        // A task-only write keeps the index; deleting the task drops its assignments from it
+        Task other = service.createNewTask(new Task(null, "Write docs", 2, 2, List.of("docs")));
+        assertTrue(service.getAssignmentsForTask(other.getId()).isEmpty());
+        assertTrue(service.deleteTask(task.getId()));
+        assertTrue(service.getAssignmentsForTeamMember(alice.getId()).isEmpty());
+        assertTrue(assignmentDao.findByMember(alice.getId()).isEmpty());
+    }
+
+    /** Assignment DAO that counts the lookups by member, by task and of the whole table. */
+    private static class ReadCountingAssignmentDao extends MemoryDaoImpl<Assignment> {
+        final AtomicInteger reads = new AtomicInteger();
+
+        ReadCountingAssignmentDao() {
+            super(Assignment.class);
+        }
+
+        @Override
+        public List<Assignment> load() {
+            reads.incrementAndGet();
+            return super.load();
+        }
+
+        @Override
+        public List<Assignment> findByMember(String memberId) {
+            reads.incrementAndGet();
+            return super.findByMember(memberId);
+        }
+
+        @Override
+        public List<Assignment> findByTask(String taskId) {
+            reads.incrementAndGet();
+            return super.findByTask(taskId);
+        }
+    }
+
+    @Test
+    public void testAssignmentLookupEndpointsAreServedFromTheIndexes() throws Exception {
+        ReadCountingAssignmentDao assignments = new ReadCountingAssignmentDao();
+        TaskAssignmentService indexed = new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), assignments);
+        Task task = indexed.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        TeamMember alice = indexed.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        indexed.assignTasks("greedy");
+        AssignmentController controller = new AssignmentController(indexed);
+
+        int before = assignments.reads.get();
+        ApiResponse<List<Assignment>> forMember = controller.getAssignmentsForTeamMember(
+                new Request(Map.of("action", "assignment/forMember"), Map.of("memberId", alice.getId())));
+        ApiResponse<List<Assignment>> forTask = controller.getAssignmentsForTask(
+                new Request(Map.of("action", "assignment/forTask"), Map.of("taskId", task.getId())));
+
+        assertEquals(1, forMember.getData().size());
+        assertEquals(alice.getId(), forTask.getData().getFirst().getMemberId());
+        assertEquals("Lookups must not go to the DAO", before, assignments.reads.get());
+    }
+
+    @Test
+    public void testPreviewRunsOnTheSnapshotAndIsCachedPerVersion() throws Exception {
+        AssignmentPreview first = service.previewAssignments(null, null, null);
+        assertEquals("greedy", first.strategy());
+        assertEquals(1, first.assignments().size());
+        assertEquals(1, first.summary().changedAssignments());
+        assertTrue("Previews are not stored", assignmentDao.load().isEmpty());
+        assertTrue(service.previewAssignments("greedy", List.of(), List.of()).cached());
+
+        // Overrides are part of the key; so is the snapshot version, which every write bumps
+        TeamMember alice = service.getAllTeamMembers().getFirst();
+        TeamMember tired = new TeamMember(alice.getId(), "Alice", List.of("docs"), 8, 1.0);
+        AssignmentPreview reskilled = service.previewAssignments("greedy", null, List.of(tired));
+        assertFalse(reskilled.cached());
+        assertTrue(reskilled.assignments().isEmpty());
+        assertEquals(1, reskilled.summary().unassignedTasks());
+
+        service.createNewTask(new Task(null, "Write tests", 2, 1, List.of("java")));
+        AssignmentPreview afterWrite = service.previewAssignments("greedy", null, null);
+        assertFalse(afterWrite.cached());
+        assertTrue(afterWrite.snapshotVersion() > first.snapshotVersion());
+        assertEquals(2, afterWrite.summary().assignedTasks());
+        assertThrows(IllegalArgumentException.class, () -> service.previewAssignments("nope", null, null));
+    }
+}
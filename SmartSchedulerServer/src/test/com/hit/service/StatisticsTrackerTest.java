@@ -0,0 +1,118 @@
+package hit.service;
+
+import com.hit.dao.MemoryDaoImpl;
+import com.hit.model.Assignment;
+import com.hit.model.Task;
+import com.hit.model.TeamMember;
+import com.hit.service.BatchResult;
+import com.hit.service.StatisticsTracker;
+import com.hit.service.TaskAssignmentService;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StatisticsTrackerTest {
+
+    private static TaskAssignmentService newService() throws Exception {
+        return new TaskAssignmentService(new MemoryDaoImpl<>(Task.class),
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+    }
+
+    @Test
+    public void testCountersFollowEveryWrite() throws Exception {
+        TaskAssignmentService service = newService();
+        Task api = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        service.createNewTask(new Task(null, "Train model", 4, 1, List.of("ml")));
+        TeamMember alice = service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        service.createNewTeamMember(new TeamMember(null, "Bob", List.of("sql"), 8, 1.0));
+        assertEquals(2, service.countUnassignedTasks());
+        assertEquals(0.0, service.averageLoad(), 0.0);
+
+        service.assignTasks("greedy");
+        assertEquals(2, service.countTasks());
+        assertEquals(1, service.countUnassignedTasks());
+        assertEquals(0.5, service.averageLoad(), 1e-9);
+        assertEquals(new StatisticsTracker.MemberLoad(1, 4), service.getStatistics().getMemberLoad(alice.getId()));
+        assertTrue(service.verifyStatistics());
+
+        service.deleteAssignment(api.getId(), alice.getId());
+        assertEquals(2, service.countUnassignedTasks());
+        assertEquals(new StatisticsTracker.MemberLoad(0, 0), service.getStatistics().getMemberLoad(alice.getId()));
+
+        service.assignTasks("greedy");
+        service.deleteTeamMember(alice.getId());
+        assertEquals(1, service.countTeamMembers());
+        assertEquals("Deleting a member drops their assignments", 2, service.countUnassignedTasks());
+        assertTrue(service.verifyStatistics());
+
+        service.clearAll();
+        assertEquals(0, service.countTasks());
+        assertEquals(0, service.countUnassignedTasks());
+        assertTrue(service.verifyStatistics());
+    }
+
+    @Test
+    public void testBatchWritesMatchTheStatsDao() throws Exception {
+        TaskAssignmentService service = newService();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            tasks.add(new Task(null, "Task " + i, 1 + i % 4, 1, List.of(i % 2 == 0 ? "java" : "sql")));
+        service.importTasks(tasks);
+        service.importTeamMembers(List.of(new TeamMember(null, "Alice", List.of("java"), 8, 1.0),
+                new TeamMember(null, "Bob", List.of("sql"), 8, 1.0)));
+        assertEquals(20, service.countUnassignedTasks());
+
+        service.assignTasks("greedy");
+        assertTrue(service.verifyStatistics());
+
+        service.deleteTasks(List.of(tasks.get(0).getId(), tasks.get(1).getId(), "T-unknown"));
+        assertEquals(18, service.countTasks());
+        assertTrue(service.verifyStatistics());
+
+        Task renamed = service.getTaskById(tasks.get(2).getId());
+        renamed.setName("Renamed");
+        service.updateTasks(List.of(new BatchResult.Update<>(0, renamed.getId(), renamed, null)), "greedy");
+        service.deleteTeamMember(service.getAllTeamMembers().getFirst().getId());
+        assertTrue(service.verifyStatistics());
+
+        service.assignTasks("balanced");
+        assertTrue(service.verifyStatistics());
+    }
+
+    @Test
+    public void testRandomWritesMatchTheStatsDao() throws Exception {
+        TaskAssignmentService service = newService();
+        Random random = new Random(42);
+        String[] skills = {"java", "sql", "ml"};
+        for (int i = 0; i < 300; i++) {
+            List<Task> tasks = service.getAllTasks();
+            List<TeamMember> members = service.getAllTeamMembers();
+            switch (random.nextInt(7)) {
+                case 0, 1 -> service.createNewTask(new Task(null, "Task " + i, 1 + random.nextInt(6), 1,
+                        List.of(skills[random.nextInt(3)])));
+                case 2 -> service.createNewTeamMember(new TeamMember(null, "Dev " + i,
+                        List.of(skills[random.nextInt(3)]), 4 + random.nextInt(5), 1.0));
+                case 3 -> {
+                    if (!tasks.isEmpty()) service.deleteTask(tasks.get(random.nextInt(tasks.size())).getId());
+                }
+                case 4 -> {
+                    if (!members.isEmpty())
+                        service.assignTasksToTeamMember(members.get(random.nextInt(members.size())).getId(), "greedy");
+                }
+                case 5 -> service.assignTasks(random.nextBoolean() ? "greedy" : "balanced");
+                default -> {
+                    List<Assignment> assignments = service.getAllAssignments();
+                    if (!assignments.isEmpty()) {
+                        Assignment a = assignments.get(random.nextInt(assignments.size()));
+                        service.deleteAssignment(a.getTaskId(), a.getMemberId());
+                    }
+                }
+            }
+            assertTrue("Counters diverged after step " + i, service.verifyStatistics());
+        }
+    }
+}
@@ -2,11 +2,13 @@ package hit.service;
 
 import com.hit.dao.IDao;
 import com.hit.dao.DaoFactory;
+import com.hit.dao.MemoryDaoImpl;
 import com.hit.model.*;
 import com.hit.service.TaskAssignmentService;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -73,6 +75,100 @@ public class TaskAssignmentServiceTest {
         runFullFlow(service, assignmentDaoSQL, taskDaoSQL, memberDaoSQL);
     }
 
+    @Test
+    public void testImportKeepsExistingRowsOnFileBackends() throws Exception {
+        for (String backend : List.of("file", "binfile")) {
+            IDao<Task> taskDao = DaoFactory.create(backend, Task.class);
+            IDao<TeamMember> memberDao = DaoFactory.create(backend, TeamMember.class);
+            IDao<Assignment> assignmentDao = DaoFactory.create(backend, Assignment.class);
+            taskDao.deleteAll();
+            memberDao.deleteAll();
+            assignmentDao.deleteAll();
+            TaskAssignmentService service = new TaskAssignmentService(taskDao, memberDao, assignmentDao);
+
+            Task existingTask = service.createNewTask(new Task(null, "Existing", 2, 1, List.of("java")));
+            TeamMember existingMember = service.createNewTeamMember(
+                    new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+            service.importTasks(new ArrayList<>(List.of(new Task(null, "Imported", 3, 2, List.of("sql")))));
+            service.importTeamMembers(new ArrayList<>(List.of(new TeamMember(null, "Bob", List.of("sql"), 6, 1.0))));
+
+            assertEquals(backend, 2, taskDao.load().size());
+            assertEquals(backend, 2, memberDao.load().size());
+            assertNotNull(backend, taskDao.findById(existingTask.getId()));
+            assertNotNull(backend, memberDao.findById(existingMember.getId()));
+            assertEquals(backend, service.getAllTasks().size(), taskDao.load().size());
+            assertEquals(backend, service.getAllTeamMembers().size(), memberDao.load().size());
+
+            service.close();
+            taskDao.deleteAll();
+            memberDao.deleteAll();
+        }
+    }
+
+    @Test
+    public void testWritesFailWithoutStoringAnythingOnceClosed() throws Exception {
+        IDao<Task> taskDao = new MemoryDaoImpl<>(Task.class);
+        TaskAssignmentService service = new TaskAssignmentService(taskDao,
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+        Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        service.close();
+
+        try {
+            service.updateTask(task.getId(), new Task(null, "Build API v2", 4, 1, List.of("java")), "greedy");
+            fail("Updates should fail once the service is closed");
+        } catch (IllegalStateException expected) {
+            // ok
+        }
+        try {
+            service.createNewTask(new Task(null, "Another", 1, 1, List.of("java")));
+            fail("Creates should fail once the service is closed");
+        } catch (IllegalStateException expected) {
+            // ok
+        }
+        assertEquals("Build API", taskDao.findById(task.getId()).getName());
+        assertEquals(1, taskDao.load().size());
+    }
+
+    @Test
+    public void testDeleteAssignmentKeepsAConcurrentTaskUpdate() throws Exception {
+        RacingTaskDao taskDao = new RacingTaskDao();
+        TaskAssignmentService service = new TaskAssignmentService(taskDao,
+                new MemoryDaoImpl<>(TeamMember.class), new MemoryDaoImpl<>(Assignment.class));
+        service.createNewTeamMember(new TeamMember(null, "Alice", List.of("java"), 8, 1.0));
+        Task task = service.createNewTask(new Task(null, "Build API", 4, 1, List.of("java")));
+        assertTrue(service.assignTasks("greedy"));
+        Assignment assignment = service.getAllAssignments().get(0);
+        double hoursBefore = taskDao.findById(task.getId()).getRemainingHours();
+
+        taskDao.raceOnNextUpdate = true;
+        assertTrue(service.deleteAssignment(assignment.getTaskId(), assignment.getMemberId()));
+
+        Task stored = taskDao.findById(task.getId());
+        assertEquals("Renamed concurrently", stored.getName());
+        assertEquals(hoursBefore + assignment.getAssignedHours(), stored.getRemainingHours(), 0.001);
+        assertEquals("Renamed concurrently", service.getTaskById(task.getId()).getName());
+    }
+
+    /** Task DAO that commits a concurrent rename right before the next conditional write. */
+    private static class RacingTaskDao extends MemoryDaoImpl<Task> {
+        volatile boolean raceOnNextUpdate;
+
+        RacingTaskDao() {
+            super(Task.class);
+        }
+
+        @Override
+        public synchronized boolean updateIfVersion(Task entity, long expectedVersion) {
+            if (raceOnNextUpdate) {
+                raceOnNextUpdate = false;
+                Task renamed = findById(entity.getId());
+                renamed.setName("Renamed concurrently");
+                save(renamed);
+            }
+            return super.updateIfVersion(entity, expectedVersion);
+        }
+    }
+
     /**
      * This method runs a full flow on the provided TaskAssignmentService and DAOs.
      * All reads are fresh from the DAO; nothing is cached.
@@ -83,9 +179,10 @@ public class TaskAssignmentServiceTest {
         boolean assigned = service.assignTasks("greedy");
         assertTrue("Assignment failed!", assigned);
 
-        // Verify assignments exist
+        // Verify assignments exist (the greedy strategy may split a task over members, so count tasks)
         List<Assignment> allAssignments = assignmentDao.load();
-        assertEquals("All tasks should be assigned.", 3, allAssignments.size());
+        assertEquals("All tasks should be assigned.", 3,
+                allAssignments.stream().map(Assignment::getTaskId).distinct().count());
         assertTrue(allAssignments.stream().anyMatch(a -> a.getTaskId().equals("T1") && a.getMemberId() != null));
 
         // Get all tasks and members from DAO
@@ -101,6 +198,8 @@ public class TaskAssignmentServiceTest {
         toUpdate.setName("API Builder");
         boolean updated = service.updateTask(toUpdate.getId(), toUpdate, "greedy");
         assertTrue(updated);
+        // Assignments are recalculated in the background
+        service.awaitLatestPlan().get(10, java.util.concurrent.TimeUnit.SECONDS);
 
         Task updatedTask = service.getTaskById(toUpdate.getId());
         assertEquals("API Builder", updatedTask.getName());
@@ -127,7 +226,7 @@ public class TaskAssignmentServiceTest {
         assertTrue("Assignment was not deleted!", deleted);
 
         List<Assignment> assignmentsAfterDelete = assignmentDao.load();
-        assertEquals("One assignment should be deleted", 2, assignmentsAfterDelete.size());
+        assertEquals("One assignment should be deleted", beforeDelete.size() - 1, assignmentsAfterDelete.size());
 
         // Test that hours were restored (if model implements it)
         Task taskAfter = service.getTaskById(toDelete.getTaskId());
@@ -0,0 +1,100 @@
+package hit.service;
+
+import com.hit.dao.IIdBlockDao;
+import com.hit.dao.InMemoryIdBlockDaoImpl;
+import com.hit.dao.SQLiteDaoImpl;
+import com.hit.dao.SQLiteIdBlockDaoImpl;
+import com.hit.service.UniqueIdGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class UniqueIdGeneratorTest {
+
+    private Path directory;
+    private String dbUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ids");
+        dbUrl = "jdbc:sqlite:" + directory.resolve("ids.db");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SQLiteDaoImpl.closeConnections(dbUrl);
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testIdsStayUniqueAcrossRestarts() {
+        Set<String> seen = new HashSet<>();
+        // Each "restart" is a new generator over the same database; the old one's unused block is lost
+        for (int restart = 0; restart < 3; restart++) {
+            UniqueIdGenerator ids = new UniqueIdGenerator("T", new SQLiteIdBlockDaoImpl(dbUrl), 10);
+            for (int i = 0; i < 15; i++) assertTrue(seen.add(ids.nextId()));
+            for (String id : ids.nextIds(5)) assertTrue(seen.add(id));
+        }
+        assertEquals(60, seen.size());
+    }
+
+    @Test
+    public void testOneRoundTripPerBlockAndAdvancePast() {
+        AtomicInteger reservations = new AtomicInteger();
+        IIdBlockDao memory = new InMemoryIdBlockDaoImpl();
+        IIdBlockDao counting = (sequence, size, atLeast) -> {
+            reservations.incrementAndGet();
+            return memory.reserveBlock(sequence, size, atLeast);
+        };
+        UniqueIdGenerator ids = new UniqueIdGenerator("M", counting, 100);
+        assertEquals("M1", ids.nextId());
+        for (int i = 0; i < 99; i++) ids.nextId();
+        assertEquals(1, reservations.get());
+        assertEquals("M101", ids.nextId());
+        assertEquals(2, reservations.get());
+
+        // An id stored by someone else inside the current block is skipped
+        ids.advancePast("M150");
+        assertEquals("M151", ids.nextId());
+        ids.advancePast("X999");
+        ids.advancePast("Mabc");
+        assertEquals("M152", ids.nextId());
+    }
+
+    @Test
+    public void testConcurrentGeneratorsNeverCollide() throws Exception {
+        // Two services (e.g. two server processes) sharing one database, many threads each
+        List<UniqueIdGenerator> generators = List.of(
+                new UniqueIdGenerator("T", new SQLiteIdBlockDaoImpl(dbUrl), 50),
+                new UniqueIdGenerator("T", new SQLiteIdBlockDaoImpl(dbUrl), 50));
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger generated = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            UniqueIdGenerator ids = generators.get(t % 2);
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    seen.add(ids.nextId());
+                    generated.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        assertEquals(4_000, generated.get());
+        assertEquals("Every generated id is unique", 4_000, seen.size());
+    }
+}